@@ -0,0 +1,201 @@
+package system.score.vms.resilience;
+
+import system.score.vms.utils.ClientMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Learns how many requests the bridge can have in flight before it starts queueing.
+ * The limit follows the latency gradient: a slowly rising baseline RTT is compared with the
+ * RTT of the most recent window of samples. While they match the limit grows by a small
+ * queue allowance; when recent latency climbs above the long-term average the limit shrinks
+ * in proportion. Dropped requests (503s, timeouts, connection failures) cut the limit
+ * multiplicatively, as in AIMD. Calls above the limit wait in a bounded queue.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private static final int WINDOW_SAMPLES = 10;
+    private static final double LONG_RTT_WINDOWS = 500;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AsyncSemaphore semaphore;
+
+    private double limit;
+    private double longRttNanos;
+    private long windowRttNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private int windowDrops;
+
+    /**
+     * Constructor for AdaptiveConcurrencyLimiter.
+     *
+     * @param initialLimit Starting in-flight limit
+     * @param minLimit Lowest limit the limiter will shrink to
+     * @param maxLimit Highest limit the limiter will grow to
+     * @param maxQueued Maximum number of calls waiting for a slot before calls are rejected
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueued) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+        this.semaphore = new AsyncSemaphore("bridge", (int) limit, maxQueued, "CONCURRENCY_LIMIT_EXCEEDED");
+        ClientMetrics.registerGauge("limiter.bridge.limit", this::getLimit);
+        ClientMetrics.registerGauge("limiter.bridge.longRttMillis",
+                () -> TimeUnit.NANOSECONDS.toMillis((long) getLongRttNanos()));
+    }
+
+    /**
+     * Waits for an in-flight slot.
+     *
+     * @return Future completing with a permit once the call may be sent; cancelling it
+     *         gives up the place in the queue
+     */
+    public CompletableFuture<Permit> acquire() {
+        return acquire(false);
+    }
+
+    /**
+     * Waits for an in-flight slot, optionally ahead of every ordinary waiter.
+     *
+     * @param priority true to be granted a slot before queued ordinary calls
+     * @return Future completing with a permit once the call may be sent; cancelling it
+     *         gives up the place in the queue
+     */
+    public CompletableFuture<Permit> acquire(boolean priority) {
+        CompletableFuture<Void> slot = semaphore.acquire(priority);
+        CompletableFuture<Permit> permit = slot.thenApply(ignored -> new Permit());
+        permit.whenComplete((granted, error) -> {
+            if (permit.isCancelled() && !slot.cancel(false) && !slot.isCompletedExceptionally()) {
+                semaphore.release(); // Granted just as the caller gave up
+            }
+        });
+        return permit;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return semaphore.getInUse();
+    }
+
+    public int getQueued() {
+        return semaphore.getQueued();
+    }
+
+    private synchronized double getLongRttNanos() {
+        return longRttNanos;
+    }
+
+    private void onSample(long rttNanos, int inFlight, boolean dropped) {
+        int newLimit;
+        synchronized (this) {
+            windowSamples++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+            if (dropped) {
+                windowDrops++;
+            } else {
+                windowRttNanos += rttNanos;
+            }
+            if (windowSamples < WINDOW_SAMPLES) {
+                return;
+            }
+            double shortRtt = windowRttNanos / (double) Math.max(1, windowSamples - windowDrops);
+            boolean dropsInWindow = windowDrops > 0;
+            int maxInFlight = windowMaxInFlight;
+            windowSamples = 0;
+            windowRttNanos = 0;
+            windowMaxInFlight = 0;
+            windowDrops = 0;
+
+            if (dropsInWindow) {
+                limit = Math.max(minLimit, limit * DROP_BACKOFF);
+            } else {
+                if (longRttNanos == 0 || shortRtt < longRttNanos) {
+                    // Faster windows reset the baseline straight away
+                    longRttNanos = shortRtt;
+                } else {
+                    // Slower windows only raise it gradually, so sustained queueing shows up as a gradient
+                    longRttNanos += (shortRtt - longRttNanos) / LONG_RTT_WINDOWS;
+                }
+                // Not enough traffic to learn anything about the limit
+                if (maxInFlight < limit / 2) {
+                    return;
+                }
+                double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / shortRtt));
+                double target = limit * gradient + Math.sqrt(limit);
+                limit = limit * (1 - SMOOTHING) + target * SMOOTHING;
+                limit = Math.max(minLimit, Math.min(maxLimit, limit));
+            }
+            newLimit = (int) limit;
+        }
+        if (newLimit != semaphore.getPermits()) {
+            logger.debug("Bridge concurrency limit changed to {}", newLimit);
+            semaphore.setPermits(newLimit);
+        }
+    }
+
+    /**
+     * An in-flight slot. Exactly one of onSuccess, onDropped or onIgnore must be called
+     * once the request completes; only the first call has any effect.
+     */
+    public final class Permit {
+
+        private final long startNanos = System.nanoTime();
+        private final int inFlight = semaphore.getInUse();
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        /**
+         * The bridge answered normally; its latency is fed into the limit.
+         */
+        public void onSuccess() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+                onSample(System.nanoTime() - startNanos, inFlight, false);
+            }
+        }
+
+        /**
+         * The bridge shed the request or failed to answer; the limit is cut.
+         */
+        public void onDropped() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+                ClientMetrics.increment("limiter.bridge.dropped");
+                onSample(System.nanoTime() - startNanos, inFlight, true);
+            }
+        }
+
+        /**
+         * The outcome says nothing about bridge capacity, e.g. the call was cancelled.
+         */
+        public void onIgnore() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveConcurrencyLimiter{" +
+                "limit=" + getLimit() +
+                ", minLimit=" + minLimit +
+                ", maxLimit=" + maxLimit +
+                ", inFlight=" + getInFlight() +
+                ", queued=" + getQueued() +
+                '}';
+    }
+}
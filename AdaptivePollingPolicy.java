@@ -0,0 +1,106 @@
+package system.score.vms.service;
+
+import java.time.Duration;
+
+/**
+ * Chooses the polling interval of a numeric metric from how fast its value is changing.
+ * The interval aims for about one {@code resolution} of change between polls: a stable value
+ * is polled less and less often, up to the maximum interval, while a changing value is polled
+ * faster, down to the minimum. Near an alarm threshold the interval is cut further, so the
+ * value is sampled at least twice before it can cross the threshold at its current rate, and
+ * a value within one resolution of a threshold or beyond it is polled at the minimum interval.
+ * The interval at most doubles per poll, so a value that starts moving again is not missed
+ * for long.
+ */
+public final class AdaptivePollingPolicy {
+
+    private final Duration minInterval;
+    private final Duration maxInterval;
+    private final double resolution;
+    private final double alarmLow;
+    private final double alarmHigh;
+
+    /**
+     * Constructor for AdaptivePollingPolicy.
+     *
+     * @param minInterval Shortest interval, used for fast-changing or alarming values
+     * @param maxInterval Longest interval, reached by stable values
+     * @param resolution Change of the value, in its own unit, worth one poll
+     * @param alarmLow Lower alarm threshold, or NaN for none
+     * @param alarmHigh Upper alarm threshold, or NaN for none
+     */
+    public AdaptivePollingPolicy(Duration minInterval, Duration maxInterval, double resolution,
+                                 double alarmLow, double alarmHigh) {
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval.compareTo(minInterval) < 0 ? minInterval : maxInterval;
+        this.resolution = resolution > 0 ? resolution : 1;
+        this.alarmLow = alarmLow;
+        this.alarmHigh = alarmHigh;
+    }
+
+    /**
+     * Gets the interval until the next poll.
+     *
+     * @param current Interval used for the poll that produced the value
+     * @param value Latest value
+     * @param ratePerSecond Recent rate of change of the value, as an absolute value per second
+     * @return Next interval, between the minimum and maximum
+     */
+    public Duration nextInterval(Duration current, double value, double ratePerSecond) {
+        double distance = Math.min(distanceTo(alarmLow, value, true), distanceTo(alarmHigh, value, false));
+        if (distance <= resolution) {
+            return minInterval;
+        }
+        double seconds = ratePerSecond > 0 ? resolution / ratePerSecond : Double.MAX_VALUE;
+        if (ratePerSecond > 0 && distance < Double.MAX_VALUE) {
+            seconds = Math.min(seconds, distance / ratePerSecond / 2);
+        }
+        long nanos = seconds >= Long.MAX_VALUE / 1e9 ? Long.MAX_VALUE : (long) (seconds * 1e9);
+        long ceiling = current.toNanos() > Long.MAX_VALUE / 2 ? Long.MAX_VALUE : current.toNanos() * 2;
+        nanos = Math.min(nanos, ceiling);
+        nanos = Math.max(minInterval.toNanos(), Math.min(maxInterval.toNanos(), nanos));
+        return Duration.ofNanos(nanos);
+    }
+
+    /**
+     * Gets how far a value is inside a threshold, 0 if at or beyond it, or Double.MAX_VALUE if
+     * the threshold is not set.
+     */
+    private static double distanceTo(double threshold, double value, boolean low) {
+        if (Double.isNaN(threshold)) {
+            return Double.MAX_VALUE;
+        }
+        return Math.max(0, low ? value - threshold : threshold - value);
+    }
+
+    public Duration getMinInterval() {
+        return minInterval;
+    }
+
+    public Duration getMaxInterval() {
+        return maxInterval;
+    }
+
+    public double getResolution() {
+        return resolution;
+    }
+
+    public double getAlarmLow() {
+        return alarmLow;
+    }
+
+    public double getAlarmHigh() {
+        return alarmHigh;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptivePollingPolicy{" +
+                "minInterval=" + minInterval +
+                ", maxInterval=" + maxInterval +
+                ", resolution=" + resolution +
+                ", alarmLow=" + alarmLow +
+                ", alarmHigh=" + alarmHigh +
+                '}';
+    }
+}
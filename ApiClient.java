@@ -1,6 +1,7 @@
 package system.score.vms.client;
 
 import system.score.vms.config.ClientConfiguration;
+import system.score.vms.config.HttpClientRegistry;
 import system.score.vms.exception.ApiException;
 import system.score.vms.exception.RestClientException;
 import system.score.vms.utils.JsonUtil;
@@ -14,6 +15,7 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Generic API client for REST operations using Java HTTP Client
@@ -26,14 +28,24 @@ public class ApiClient {
     private final ClientConfiguration config;
     private final JsonUtil jsonUtil;
     private final ResponseHandler responseHandler;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
     
     public ApiClient(ClientConfiguration config) {
         this.config = config;
-        this.httpClient = HttpClientFactory.createHttpClient(config);
+        this.httpClient = HttpClientRegistry.acquire(config);
         this.jsonUtil = new JsonUtil();
         this.responseHandler = new ResponseHandler(jsonUtil);
     }
     
+    /**
+     * Release the shared HTTP client held by this API client
+     */
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            HttpClientRegistry.release(config);
+        }
+    }
+    
     /**
      * Perform GET request
      */
@@ -56,9 +68,9 @@ public class ApiClient {
             HttpRequest request = requestBuilder.build();
             
             logger.debug("Sending GET request to: {}", url);
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<T> response = httpClient.send(request, responseHandler.bodyHandler(responseType));
             
-            return responseHandler.handleResponse(response, responseType);
+            return response.body();
             
         } catch (Exception e) {
             logger.error("GET request failed for endpoint: {}", endpoint, e);
@@ -91,9 +103,9 @@ public class ApiClient {
             HttpRequest request = requestBuilder.build();
             
             logger.debug("Sending POST request to: {} with body: {}", url, jsonBody);
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<T> response = httpClient.send(request, responseHandler.bodyHandler(responseType));
             
-            return responseHandler.handleResponse(response, responseType);
+            return response.body();
             
         } catch (Exception e) {
             logger.error("POST request failed for endpoint: {}", endpoint, e);
@@ -126,9 +138,9 @@ public class ApiClient {
             HttpRequest request = requestBuilder.build();
             
             logger.debug("Sending PUT request to: {} with body: {}", url, jsonBody);
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<T> response = httpClient.send(request, responseHandler.bodyHandler(responseType));
             
-            return responseHandler.handleResponse(response, responseType);
+            return response.body();
             
         } catch (Exception e) {
             logger.error("PUT request failed for endpoint: {}", endpoint, e);
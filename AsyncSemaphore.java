@@ -0,0 +1,174 @@
+package system.score.vms.resilience;
+
+import system.score.vms.exception.RestClientException;
+import system.score.vms.utils.ClientMetrics;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Semaphore whose permits are handed out through futures, so waiting for a permit never
+ * blocks a thread. Callers beyond the permit count wait in a bounded FIFO queue; once the
+ * queue is full further callers fail immediately. Priority callers wait in a separate lane
+ * that is always served first. The number of permits can be changed at runtime, which lets
+ * limiters resize it as they learn.
+ */
+public class AsyncSemaphore {
+
+    private final String name;
+    private final int maxQueued;
+    private final String rejectionCode;
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private final Deque<CompletableFuture<Void>> priorityWaiters = new ArrayDeque<>();
+    private int permits;
+    private int inUse;
+
+    /**
+     * Constructor for AsyncSemaphore.
+     *
+     * @param name Name used in metrics ({@code semaphore.<name>.*}) and error messages
+     * @param permits Initial number of permits
+     * @param maxQueued Maximum number of callers waiting for a permit
+     * @param rejectionCode Error code of the exception raised when the queue is full
+     */
+    public AsyncSemaphore(String name, int permits, int maxQueued, String rejectionCode) {
+        this.name = name;
+        this.permits = Math.max(1, permits);
+        this.maxQueued = Math.max(0, maxQueued);
+        this.rejectionCode = rejectionCode;
+        ClientMetrics.registerGauge("semaphore." + name + ".inUse", this::getInUse);
+        ClientMetrics.registerGauge("semaphore." + name + ".queued", this::getQueued);
+    }
+
+    /**
+     * Acquires a permit. The future completes once the permit is granted; every granted
+     * permit must be given back with release. Cancelling the future while it is queued
+     * withdraws the request.
+     *
+     * @return Future completing when the permit is granted, or failing if the queue is full
+     */
+    public CompletableFuture<Void> acquire() {
+        return acquire(false);
+    }
+
+    /**
+     * Acquires a permit, optionally ahead of every ordinary waiter.
+     * Priority callers share the queue bound but are granted permits first, so a backlog of
+     * ordinary calls never delays them by more than the calls already in flight.
+     *
+     * @param priority true to wait in the priority lane
+     * @return Future completing when the permit is granted, or failing if the queue is full
+     */
+    public CompletableFuture<Void> acquire(boolean priority) {
+        CompletableFuture<Void> waiter;
+        Deque<CompletableFuture<Void>> lane = priority ? priorityWaiters : waiters;
+        synchronized (this) {
+            if (inUse < permits && (priority || waiters.isEmpty()) && priorityWaiters.isEmpty()) {
+                inUse++;
+                return CompletableFuture.completedFuture(null);
+            }
+            int queued = getQueued();
+            if (queued >= maxQueued) {
+                ClientMetrics.increment("semaphore." + name + ".rejected");
+                return CompletableFuture.failedFuture(new RestClientException(
+                        "Too many concurrent requests for " + name + " (" + inUse + " in flight, " +
+                                queued + " queued)", rejectionCode));
+            }
+            waiter = new CompletableFuture<>();
+            lane.addLast(waiter);
+        }
+        waiter.whenComplete((ignored, error) -> {
+            if (waiter.isCancelled()) {
+                synchronized (this) {
+                    lane.remove(waiter);
+                }
+            }
+        });
+        return waiter;
+    }
+
+    /**
+     * Acquires a permit only if one is free right now.
+     *
+     * @return true if a permit was acquired
+     */
+    public synchronized boolean tryAcquire() {
+        if (inUse < permits && waiters.isEmpty() && priorityWaiters.isEmpty()) {
+            inUse++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gives back a permit and hands it to the next waiter, if any.
+     */
+    public void release() {
+        synchronized (this) {
+            inUse--;
+        }
+        grantWaiters();
+    }
+
+    /**
+     * Changes the number of permits. Shrinking never revokes permits already granted.
+     *
+     * @param permits New number of permits, at least 1
+     */
+    public void setPermits(int permits) {
+        synchronized (this) {
+            this.permits = Math.max(1, permits);
+        }
+        grantWaiters();
+    }
+
+    public synchronized int getPermits() {
+        return permits;
+    }
+
+    public synchronized int getInUse() {
+        return inUse;
+    }
+
+    public synchronized int getQueued() {
+        return waiters.size() + priorityWaiters.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Grants free permits to queued callers, priority lane first. Futures are completed
+     * outside the lock so their continuations never run while it is held.
+     */
+    private void grantWaiters() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                if (inUse >= permits || (waiters.isEmpty() && priorityWaiters.isEmpty())) {
+                    return;
+                }
+                next = priorityWaiters.isEmpty() ? waiters.pollFirst() : priorityWaiters.pollFirst();
+                inUse++;
+            }
+            if (!next.complete(null)) {
+                // Cancelled while queued
+                synchronized (this) {
+                    inUse--;
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "AsyncSemaphore{" +
+                "name='" + name + '\'' +
+                ", permits=" + permits +
+                ", inUse=" + inUse +
+                ", queued=" + getQueued() +
+                '}';
+    }
+}
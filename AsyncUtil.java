@@ -0,0 +1,181 @@
+package system.score.vms.utils;
+
+import system.score.vms.exception.RestClientException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Utility class for working with CompletableFuture based client calls.
+ * Bridges the asynchronous client API back to the checked RestClientException model.
+ */
+public class AsyncUtil {
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private AsyncUtil() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Waits for the future to complete and returns its result.
+     * Failures are rethrown as RestClientException; interruption cancels the future.
+     *
+     * @param future The future to wait for
+     * @param <T> The result type
+     * @return The result of the future
+     * @throws RestClientException If the future completed exceptionally or the wait was interrupted
+     */
+    public static <T> T await(CompletableFuture<T> future) throws RestClientException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RestClientException("Request interrupted", e);
+        } catch (ExecutionException e) {
+            throw toRestClientException(e.getCause());
+        } catch (CancellationException e) {
+            throw new RestClientException("Request cancelled", e);
+        }
+    }
+
+    /**
+     * Strips CompletionException/ExecutionException wrappers added by the future pipeline.
+     *
+     * @param error The error a future completed with
+     * @return The underlying cause
+     */
+    public static Throwable unwrap(Throwable error) {
+        Throwable current = error;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    /**
+     * Runs {@code count} asynchronous tasks with at most {@code maxConcurrent} in flight at once.
+     * A new task starts as soon as a running one completes. Tasks that complete immediately,
+     * e.g. cache hits, are drained in a loop rather than by recursion.
+     * If a task fails, the returned future fails with its error and no further tasks start;
+     * cancelling the returned future also stops further tasks from starting.
+     *
+     * @param count Number of tasks
+     * @param maxConcurrent Largest number of tasks in flight at once
+     * @param task Starts the task with the given index
+     * @param <T> Result type
+     * @return Future completing with the tasks' results, in index order
+     */
+    public static <T> CompletableFuture<List<T>> mapBounded(int count, int maxConcurrent,
+                                                            IntFunction<CompletableFuture<T>> task) {
+        BoundedFanOut<T> fanOut = new BoundedFanOut<>(count, task);
+        if (count == 0) {
+            fanOut.result.complete(new ArrayList<>());
+            return fanOut.result;
+        }
+        for (int i = Math.min(count, Math.max(1, maxConcurrent)); i > 0; i--) {
+            fanOut.run();
+        }
+        return fanOut.result;
+    }
+
+    /**
+     * State of one mapBounded call. Each worker takes the next index, starts its task and, when
+     * the task completes, moves on to the next index until none are left.
+     */
+    private static final class BoundedFanOut<T> {
+
+        private final int count;
+        private final IntFunction<CompletableFuture<T>> task;
+        private final AtomicReferenceArray<T> results;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final CompletableFuture<List<T>> result = new CompletableFuture<>();
+
+        BoundedFanOut(int count, IntFunction<CompletableFuture<T>> task) {
+            this.count = count;
+            this.task = task;
+            this.results = new AtomicReferenceArray<>(count);
+            this.remaining = new AtomicInteger(count);
+        }
+
+        void run() {
+            while (!result.isDone()) {
+                int index = next.getAndIncrement();
+                if (index >= count) {
+                    return;
+                }
+                CompletableFuture<T> future;
+                try {
+                    future = task.apply(index);
+                } catch (RuntimeException e) {
+                    future = CompletableFuture.failedFuture(e);
+                }
+                if (!future.isDone()) {
+                    future.whenComplete((value, error) -> {
+                        if (complete(index, value, error)) {
+                            run();
+                        }
+                    });
+                    return;
+                }
+                T value = null;
+                Throwable error = null;
+                try {
+                    value = future.join();
+                } catch (CompletionException | CancellationException e) {
+                    error = e;
+                }
+                if (!complete(index, value, error)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Records a task's outcome.
+         *
+         * @return true if the worker should start another task
+         */
+        private boolean complete(int index, T value, Throwable error) {
+            if (error != null) {
+                result.completeExceptionally(unwrap(error));
+                return false;
+            }
+            results.set(index, value);
+            if (remaining.decrementAndGet() == 0) {
+                List<T> values = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    values.add(results.get(i));
+                }
+                result.complete(values);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Converts the error a future completed with into a RestClientException.
+     *
+     * @param error The error a future completed with
+     * @return The matching RestClientException
+     */
+    public static RestClientException toRestClientException(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof RestClientException) {
+            return (RestClientException) cause;
+        }
+        return new RestClientException("Request failed: " + cause.getMessage(), cause);
+    }
+}
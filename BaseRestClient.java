@@ -1,42 +1,119 @@
 package system.score.vms.client;
 
-import system.score.vms.config.HttpClientConfig;
+import system.score.vms.config.HttpClientRegistry;
 import system.score.vms.config.RestClientConfig;
 import system.score.vms.exception.ApiException;
+import system.score.vms.exception.NetworkException;
 import system.score.vms.exception.RestClientException;
+import system.score.vms.resilience.AdaptiveConcurrencyLimiter;
+import system.score.vms.resilience.BridgeBalancer;
+import system.score.vms.resilience.Bulkhead;
+import system.score.vms.resilience.BulkheadRegistry;
+import system.score.vms.resilience.CircuitBreaker;
+import system.score.vms.resilience.CircuitBreakerRegistry;
+import system.score.vms.resilience.HedgingPolicy;
+import system.score.vms.resilience.RateLimiterRegistry;
+import system.score.vms.resilience.RetryBudget;
+import system.score.vms.utils.AsyncUtil;
+import system.score.vms.utils.ClientMetrics;
+import system.score.vms.utils.Deadline;
+import system.score.vms.utils.HttpCompression;
+import system.score.vms.utils.JsonBodyHandler;
 import system.score.vms.utils.JsonUtil;
+import system.score.vms.utils.ProtocolMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileReader;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
 
 /**
  * Base REST client providing common functionality for all API clients.
  * Handles HTTP operations, error handling, and request/response processing.
+ * Every call is executed with HttpClient.sendAsync; the blocking methods simply
+ * wait on the asynchronous variants, so retries never sleep on the caller's thread.
  */
 public abstract class BaseRestClient {
     
     private static final Logger logger = LoggerFactory.getLogger(BaseRestClient.class);
+
+    /**
+     * Upper bound on cached request prototypes per endpoint (one per hub).
+     */
+    private static final int MAX_CACHED_REQUESTS_PER_ENDPOINT = 4096;
     
     protected final RestClientConfig config;
     protected final HttpClient httpClient;
     protected final JsonUtil jsonUtil;
+    private final String[] defaultHeaders;
+    private final Map<EndpointTemplate<?>, CompiledEndpoint<?>> compiledEndpoints = new ConcurrentHashMap<>();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
     
     /**
      * Constructor initializing the base client with configuration.
+     * The HttpClient is shared gateway-wide with every other client talking to the same bridge.
      * 
      * @param config REST client configuration
      */
     protected BaseRestClient(RestClientConfig config) {
         this.config = config;
-        this.httpClient = HttpClientConfig.createHttpClient(config);
+        this.httpClient = HttpClientRegistry.acquire(config);
         this.jsonUtil = new JsonUtil();
+        this.defaultHeaders = config.isCompressionEnabled()
+                ? new String[]{
+                        "Content-Type", "application/json",
+                        "Accept", "application/json",
+                        "Accept-Encoding", HttpCompression.ACCEPT_ENCODING,
+                        "Authorization", "Bearer " + config.getApiKey()}
+                : new String[]{
+                        "Content-Type", "application/json",
+                        "Accept", "application/json",
+                        "Authorization", "Bearer " + config.getApiKey()};
+    }
+
+    /**
+     * Gets the configuration this client was created with.
+     *
+     * @return REST client configuration
+     */
+    public RestClientConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Starts a deadline for a call made without one, from the configured default.
+     *
+     * @return Deadline, unbounded if no default is configured
+     */
+    public Deadline newDeadline() {
+        Duration timeout = config.getDefaultDeadline();
+        return timeout != null ? Deadline.after(timeout) : Deadline.none();
+    }
+
+    /**
+     * Releases this client's reference to the shared HttpClient.
+     * Safe to call more than once.
+     */
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            HttpClientRegistry.release(config);
+        }
     }
     
     /**
@@ -64,8 +141,7 @@ public abstract class BaseRestClient {
      */
     protected <T> T get(String endpoint, Class<T> responseType, Map<String, String> headers) 
             throws RestClientException {
-        String response = get(endpoint, headers);
-        return jsonUtil.fromJson(response, responseType);
+        return AsyncUtil.await(getAsync(endpoint, responseType, headers));
     }
     
     /**
@@ -97,8 +173,7 @@ public abstract class BaseRestClient {
      */
     protected <T> T post(String endpoint, Object requestBody, Class<T> responseType, 
                         Map<String, String> headers) throws RestClientException {
-        String response = post(endpoint, requestBody, headers);
-        return jsonUtil.fromJson(response, responseType);
+        return AsyncUtil.await(postAsync(endpoint, requestBody, responseType, headers));
     }
     
     /**
@@ -122,8 +197,7 @@ public abstract class BaseRestClient {
      */
     protected <T> T put(String endpoint, Object requestBody, Class<T> responseType, 
                        Map<String, String> headers) throws RestClientException {
-        String response = put(endpoint, requestBody, headers);
-        return jsonUtil.fromJson(response, responseType);
+        return AsyncUtil.await(putAsync(endpoint, requestBody, responseType, headers));
     }
     
     /**
@@ -138,7 +212,481 @@ public abstract class BaseRestClient {
         HttpRequest request = buildRequest("DELETE", endpoint, null, headers);
         return executeRequest(request);
     }
+
+    /**
+     * Executes a GET request asynchronously and returns the response as a string.
+     *
+     * @param endpoint The API endpoint (relative to base URL)
+     * @param headers Additional headers to include
+     * @return Future completing with the response body, or exceptionally with a RestClientException
+     */
+    protected CompletableFuture<String> getAsync(String endpoint, Map<String, String> headers) {
+        HttpRequest request = buildRequest("GET", endpoint, null, headers);
+        return executeRequestAsync(request);
+    }
+
+    /**
+     * Executes a GET request asynchronously and deserializes the response to the specified type.
+     * The body is streamed straight into the JSON parser.
+     *
+     * @param endpoint The API endpoint
+     * @param responseType Class type for deserialization
+     * @param headers Additional headers
+     * @param <T> Response type
+     * @return Future completing with the deserialized response object
+     */
+    protected <T> CompletableFuture<T> getAsync(String endpoint, Class<T> responseType,
+                                                Map<String, String> headers) {
+        HttpRequest request = buildRequest("GET", endpoint, null, headers);
+        return executeRequestAsync(request, JsonBodyHandler.of(jsonUtil, responseType));
+    }
+
+    /**
+     * Executes a POST request with JSON body asynchronously.
+     *
+     * @param endpoint The API endpoint
+     * @param requestBody Object to serialize as JSON body
+     * @param headers Additional headers
+     * @return Future completing with the response body
+     */
+    protected CompletableFuture<String> postAsync(String endpoint, Object requestBody,
+                                                  Map<String, String> headers) {
+        try {
+            String jsonBody = jsonUtil.toJson(requestBody);
+            HttpRequest request = buildRequest("POST", endpoint, jsonBody, headers);
+            return executeRequestAsync(request);
+        } catch (RestClientException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Executes a POST request asynchronously and deserializes the response.
+     *
+     * @param endpoint The API endpoint
+     * @param requestBody Object to serialize as JSON body
+     * @param responseType Class type for deserialization
+     * @param headers Additional headers
+     * @param <T> Response type
+     * @return Future completing with the deserialized response object
+     */
+    protected <T> CompletableFuture<T> postAsync(String endpoint, Object requestBody, Class<T> responseType,
+                                                 Map<String, String> headers) {
+        try {
+            String jsonBody = jsonUtil.toJson(requestBody);
+            HttpRequest request = buildRequest("POST", endpoint, jsonBody, headers);
+            return executeRequestAsync(request, JsonBodyHandler.of(jsonUtil, responseType));
+        } catch (RestClientException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Executes a PUT request with JSON body asynchronously.
+     *
+     * @param endpoint The API endpoint
+     * @param requestBody Object to serialize as JSON body
+     * @param headers Additional headers
+     * @return Future completing with the response body
+     */
+    protected CompletableFuture<String> putAsync(String endpoint, Object requestBody,
+                                                 Map<String, String> headers) {
+        try {
+            String jsonBody = jsonUtil.toJson(requestBody);
+            HttpRequest request = buildRequest("PUT", endpoint, jsonBody, headers);
+            return executeRequestAsync(request);
+        } catch (RestClientException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Executes a PUT request asynchronously and deserializes the response.
+     */
+    protected <T> CompletableFuture<T> putAsync(String endpoint, Object requestBody, Class<T> responseType,
+                                                Map<String, String> headers) {
+        try {
+            String jsonBody = jsonUtil.toJson(requestBody);
+            HttpRequest request = buildRequest("PUT", endpoint, jsonBody, headers);
+            return executeRequestAsync(request, JsonBodyHandler.of(jsonUtil, responseType));
+        } catch (RestClientException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Executes a DELETE request asynchronously.
+     *
+     * @param endpoint The API endpoint
+     * @param headers Additional headers
+     * @return Future completing with the response body
+     */
+    protected CompletableFuture<String> deleteAsync(String endpoint, Map<String, String> headers) {
+        HttpRequest request = buildRequest("DELETE", endpoint, null, headers);
+        return executeRequestAsync(request);
+    }
+
+    /**
+     * Opens a long-lived GET whose body is read line by line, such as a Server-Sent Events stream.
+     * The request skips retries and the resilience layers, since it is held open indefinitely; the
+     * caller reconnects when it ends. Only the wait for the response headers is timed: the HTTP
+     * client stops applying the request timeout once they arrive, so the body may stay open.
+     *
+     * With more than one bridge the stream is opened on the bridge holding the given hub's session.
+     *
+     * @param endpoint The API endpoint (relative to base URL)
+     * @param hubId ID of Hub whose bridge serves the stream
+     * @param headers Additional headers
+     * @param headersTimeout How long to wait for the response headers before failing the stream
+     * @param onStatus Called with the response status as soon as the headers arrive
+     * @param lines Receives the body line by line; only subscribed for status 200
+     * @return Future completing when the stream ends
+     */
+    protected CompletableFuture<HttpResponse<Void>> openStream(String endpoint, int hubId, Map<String, String> headers,
+                                                               Duration headersTimeout, IntConsumer onStatus,
+                                                               Flow.Subscriber<String> lines) {
+        BridgeBalancer balancer = config.getBridgeBalancer();
+        String baseUrl = balancer != null ? balancer.select(hubId).getBaseUrl() : config.getBaseUrl();
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + endpoint))
+                .header("Accept", "text/event-stream")
+                .header("Cache-Control", "no-cache")
+                .header("Authorization", "Bearer " + config.getApiKey())
+                .timeout(headersTimeout)
+                .GET();
+        if (headers != null) {
+            headers.forEach(builder::header);
+        }
+        return httpClient.sendAsync(builder.build(), responseInfo -> {
+            onStatus.accept(responseInfo.statusCode());
+            return responseInfo.statusCode() == 200
+                    ? HttpResponse.BodySubscribers.fromLineSubscriber(lines)
+                    : HttpResponse.BodySubscribers.replacing(null);
+        });
+    }
     
+    /**
+     * Executes a templated operation for a hub and returns the deserialized response.
+     * Used for GET operations and operations with a constant body.
+     *
+     * @param endpoint The endpoint template
+     * @param hubId ID of Hub
+     * @param <T> Response type
+     * @return Deserialized response object
+     * @throws RestClientException If the request fails
+     */
+    protected <T> T execute(EndpointTemplate<T> endpoint, int hubId) throws RestClientException {
+        return AsyncUtil.await(executeAsync(endpoint, hubId));
+    }
+
+    /**
+     * Executes a templated operation with a JSON body and returns the deserialized response.
+     *
+     * @param endpoint The endpoint template
+     * @param requestBody Object to serialize as JSON body
+     * @param <T> Response type
+     * @return Deserialized response object
+     * @throws RestClientException If the request fails
+     */
+    protected <T> T execute(EndpointTemplate<T> endpoint, Object requestBody) throws RestClientException {
+        return AsyncUtil.await(executeAsync(endpoint, EndpointTemplate.NO_HUB, requestBody));
+    }
+
+    /**
+     * Executes a templated operation for a hub with a JSON body and returns the deserialized response.
+     *
+     * @param endpoint The endpoint template
+     * @param hubId ID of Hub the call is about
+     * @param requestBody Object to serialize as JSON body
+     * @param <T> Response type
+     * @return Deserialized response object
+     * @throws RestClientException If the request fails
+     */
+    protected <T> T execute(EndpointTemplate<T> endpoint, int hubId, Object requestBody) throws RestClientException {
+        return AsyncUtil.await(executeAsync(endpoint, hubId, requestBody));
+    }
+
+    /**
+     * Executes a templated operation for a hub asynchronously.
+     *
+     * @param endpoint The endpoint template
+     * @param hubId ID of Hub
+     * @param <T> Response type
+     * @return Future completing with the deserialized response object
+     */
+    protected <T> CompletableFuture<T> executeAsync(EndpointTemplate<T> endpoint, int hubId) {
+        return executeAsync(endpoint, hubId, null, newDeadline());
+    }
+
+    /**
+     * Executes a templated operation for a hub asynchronously within a deadline.
+     *
+     * @param endpoint The endpoint template
+     * @param hubId ID of Hub
+     * @param deadline Deadline for the call, including retries
+     * @param <T> Response type
+     * @return Future completing with the deserialized response object
+     */
+    protected <T> CompletableFuture<T> executeAsync(EndpointTemplate<T> endpoint, int hubId, Deadline deadline) {
+        return executeAsync(endpoint, hubId, null, deadline);
+    }
+
+    /**
+     * Executes a templated operation with a JSON body asynchronously.
+     *
+     * @param endpoint The endpoint template
+     * @param requestBody Object to serialize as JSON body
+     * @param <T> Response type
+     * @return Future completing with the deserialized response object
+     */
+    protected <T> CompletableFuture<T> executeAsync(EndpointTemplate<T> endpoint, Object requestBody) {
+        return executeAsync(endpoint, EndpointTemplate.NO_HUB, requestBody, newDeadline());
+    }
+
+    /**
+     * Executes a templated operation for a hub with a JSON body asynchronously, within the
+     * configured default deadline.
+     *
+     * @param endpoint The endpoint template
+     * @param hubId ID of Hub the call is about, or EndpointTemplate.NO_HUB
+     * @param requestBody Object to serialize as JSON body, ignored for fixed-body operations
+     * @param <T> Response type
+     * @return Future completing with the deserialized response object
+     */
+    protected <T> CompletableFuture<T> executeAsync(EndpointTemplate<T> endpoint, int hubId, Object requestBody) {
+        return executeAsync(endpoint, hubId, requestBody, newDeadline());
+    }
+
+    /**
+     * Executes a templated operation for a hub with a JSON body asynchronously.
+     * GET and constant-body requests are built once per hub and reused.
+     * The call first takes a token from the operation's rate limiter, if one is configured,
+     * then waits for a slot in its operation class's bulkhead, and is finally guarded by the
+     * hub's and the operation's circuit breakers; while either is open it fails fast with a
+     * NetworkException of type CIRCUIT_OPEN.
+     * The whole call, queueing and retries included, is bounded by the deadline: once it
+     * expires the call fails with DEADLINE_EXCEEDED and any queued or in-flight work is abandoned.
+     * With more than one bridge each attempt is sent where the template's routing says.
+     *
+     * @param endpoint The endpoint template
+     * @param hubId ID of Hub the call is about, or EndpointTemplate.NO_HUB
+     * @param requestBody Object to serialize as JSON body, ignored for fixed-body operations
+     * @param deadline Deadline for the call, including retries
+     * @param <T> Response type
+     * @return Future completing with the deserialized response object
+     */
+    protected <T> CompletableFuture<T> executeAsync(EndpointTemplate<T> endpoint, int hubId, Object requestBody,
+                                                    Deadline deadline) {
+        BridgeBalancer balancer = config.getBridgeBalancer();
+        if (balancer == null || balancer.size() == 1
+                || endpoint.getRouting() != EndpointTemplate.Routing.EVERY_BRIDGE) {
+            return executeAsync(endpoint, hubId, requestBody, deadline, null);
+        }
+        List<CompletableFuture<T>> calls = new ArrayList<>(balancer.size());
+        for (BridgeBalancer.Bridge bridge : balancer.getBridges()) {
+            calls.add(executeAsync(endpoint, hubId, requestBody, deadline, bridge));
+        }
+        return CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> calls.get(0).join());
+    }
+
+    /**
+     * Executes a templated operation on the given bridge, whatever the template's routing,
+     * e.g. to send a batch of reads to the bridge holding those hubs' sessions.
+     *
+     * @param bridge Bridge of the configured BridgeBalancer
+     * @param endpoint The endpoint template
+     * @param requestBody Object to serialize as JSON body, ignored for fixed-body operations
+     * @param deadline Deadline for the call, including retries
+     * @param <T> Response type
+     * @return Future completing with the deserialized response object
+     */
+    protected <T> CompletableFuture<T> executeOnBridgeAsync(BridgeBalancer.Bridge bridge, EndpointTemplate<T> endpoint,
+                                                            Object requestBody, Deadline deadline) {
+        return executeAsync(endpoint, EndpointTemplate.NO_HUB, requestBody, deadline, bridge);
+    }
+
+    private <T> CompletableFuture<T> executeAsync(EndpointTemplate<T> endpoint, int hubId, Object requestBody,
+                                                  Deadline deadline, BridgeBalancer.Bridge pinned) {
+        if (deadline.isExpired()) {
+            return CompletableFuture.failedFuture(deadline.exceeded(endpoint.getOperation() + " not started"));
+        }
+        CompiledEndpoint<T> compiled = compile(endpoint);
+        HttpRequest request;
+        try {
+            request = compiled.request(hubId, requestBody);
+        } catch (RestClientException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        HttpResponse.BodyHandler<T> bodyHandler = compiled.bodyHandler(hubId);
+        Route<T> route = new Route<>(endpoint.getRouting() == EndpointTemplate.Routing.HUB
+                ? hubId : EndpointTemplate.NO_HUB, pinned, endpoint.getSessionHubOf());
+
+        CompletableFuture<T> result;
+        RateLimiterRegistry rateLimiters = config.getRateLimiterRegistry();
+        CompletableFuture<Void> token = rateLimiters != null ? rateLimiters.acquire(endpoint.getOperation()) : null;
+        if (token == null || token.isDone() && !token.isCompletedExceptionally()) {
+            result = deadline.bound(isolated(endpoint, hubId, request, bodyHandler, route, deadline));
+        } else {
+            result = deadline.bound(token.thenCompose(ignored -> deadline.isExpired()
+                    ? CompletableFuture.failedFuture(deadline.exceeded(endpoint.getOperation() + " rate limited"))
+                    : isolated(endpoint, hubId, request, bodyHandler, route, deadline)));
+        }
+        BridgeBalancer balancer = config.getBridgeBalancer();
+        if (balancer != null && endpoint.isClosingSession()) {
+            result.thenRun(() -> balancer.unbind(hubId));
+        }
+        return result;
+    }
+
+    /**
+     * Runs a templated request inside its operation class's bulkhead, if one is configured.
+     */
+    private <T> CompletableFuture<T> isolated(EndpointTemplate<T> endpoint, int hubId, HttpRequest request,
+                                              HttpResponse.BodyHandler<T> bodyHandler, Route<T> route,
+                                              Deadline deadline) {
+        BulkheadRegistry bulkheads = config.getBulkheadRegistry();
+        Bulkhead bulkhead = bulkheads != null ? bulkheads.get(endpoint.getOperationClass()) : null;
+        if (bulkhead == null) {
+            return guarded(endpoint, hubId, request, bodyHandler, route, deadline);
+        }
+        return bulkhead.execute(() -> guarded(endpoint, hubId, request, bodyHandler, route, deadline));
+    }
+
+    /**
+     * Sends a templated request through the hub's and the operation's circuit breakers.
+     */
+    private <T> CompletableFuture<T> guarded(EndpointTemplate<T> endpoint, int hubId, HttpRequest request,
+                                             HttpResponse.BodyHandler<T> bodyHandler, Route<T> route,
+                                             Deadline deadline) {
+        CircuitBreakerRegistry breakers = config.getCircuitBreakerRegistry();
+        if (breakers == null) {
+            return send(endpoint, request, bodyHandler, route, deadline);
+        }
+        CircuitBreaker endpointBreaker = breakers.forEndpoint(endpoint.getOperation());
+        CircuitBreaker hubBreaker = hubId != EndpointTemplate.NO_HUB ? breakers.forHub(hubId) : null;
+        if (hubBreaker != null && !hubBreaker.tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(circuitOpen("hub " + hubId));
+        }
+        if (!endpointBreaker.tryAcquirePermission()) {
+            if (hubBreaker != null) {
+                hubBreaker.releasePermission();
+            }
+            return CompletableFuture.failedFuture(circuitOpen("operation " + endpoint.getOperation()));
+        }
+
+        CompletableFuture<T> result = send(endpoint, request, bodyHandler, route, deadline);
+        result.whenComplete((response, error) -> {
+            recordOutcome(endpointBreaker, error);
+            if (hubBreaker != null) {
+                recordOutcome(hubBreaker, error);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Sends a templated request, hedging it when the operation is idempotent and a
+     * HedgingPolicy is configured. Anything other than a telemetry read is let through the
+     * concurrency limiter ahead of queued telemetry.
+     */
+    private <T> CompletableFuture<T> send(EndpointTemplate<T> endpoint, HttpRequest request,
+                                          HttpResponse.BodyHandler<T> bodyHandler, Route<T> route, Deadline deadline) {
+        boolean priority = endpoint.getOperationClass() != OperationClass.TELEMETRY;
+        HedgingPolicy hedging = config.getHedgingPolicy();
+        if (hedging == null || !endpoint.isIdempotent()) {
+            return executeRequestAsync(request, bodyHandler, route, priority, deadline);
+        }
+        String operation = endpoint.getOperation();
+        hedging.recordRequest();
+        CompletableFuture<T> primary = timed(hedging, operation,
+                executeRequestAsync(request, bodyHandler, route, priority, deadline));
+        long hedgeDelay = hedging.hedgeDelayMillis(operation);
+        if (hedgeDelay < 0 || hedgeDelay >= deadline.remainingMillis()) {
+            return primary;
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        primary.whenComplete((response, error) -> completeHedged(result, outstanding, response, error));
+        CompletableFuture.delayedExecutor(hedgeDelay, TimeUnit.MILLISECONDS).execute(() -> {
+            if (result.isDone() || !hedging.tryAcquireHedge()) {
+                return;
+            }
+            outstanding.incrementAndGet();
+            ClientMetrics.increment("hedge." + operation + ".sent");
+            logger.debug("No response for {} after {}ms, sending hedged request", request.uri(), hedgeDelay);
+            CompletableFuture<T> hedge = timed(hedging, operation,
+                    startExchange(request, bodyHandler, route, priority, deadline));
+            hedge.whenComplete((response, error) -> {
+                if (error == null && !primary.isDone()) {
+                    ClientMetrics.increment("hedge." + operation + ".won");
+                }
+                completeHedged(result, outstanding, response, error);
+            });
+            result.whenComplete((response, error) -> hedge.cancel(true));
+        });
+        // Whichever request finishes first cancels the other
+        result.whenComplete((response, error) -> primary.cancel(true));
+        return result;
+    }
+
+    /**
+     * Completes a hedged call with the first success, or with the last failure once
+     * every outstanding request has failed.
+     */
+    private static <T> void completeHedged(CompletableFuture<T> result, AtomicInteger outstanding,
+                                           T response, Throwable error) {
+        if (error == null) {
+            result.complete(response);
+        } else if (outstanding.decrementAndGet() == 0) {
+            result.completeExceptionally(AsyncUtil.unwrap(error));
+        }
+    }
+
+    private static <T> CompletableFuture<T> timed(HedgingPolicy hedging, String operation,
+                                                  CompletableFuture<T> future) {
+        long start = System.nanoTime();
+        future.whenComplete((response, error) -> {
+            if (error == null) {
+                hedging.recordLatency(operation, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        });
+        return future;
+    }
+
+    private static NetworkException circuitOpen(String target) {
+        return new NetworkException("Circuit breaker open for " + target + ", failing fast",
+                "CIRCUIT_OPEN", false, null);
+    }
+
+    /**
+     * Records a call's outcome on a breaker. Only failures that say something about the
+     * bridge or hub being unhealthy count: network errors and 5xx responses.
+     */
+    private static void recordOutcome(CircuitBreaker breaker, Throwable error) {
+        if (error == null) {
+            breaker.onSuccess();
+            return;
+        }
+        Throwable cause = AsyncUtil.unwrap(error);
+        if (cause instanceof CancellationException) {
+            breaker.releasePermission();
+        } else if (cause instanceof ApiException && !((ApiException) cause).isServerError()) {
+            breaker.onSuccess(); // The bridge answered; the request itself was rejected
+        } else if (cause instanceof RestClientException
+                && "JSON_DESERIALIZATION_ERROR".equals(((RestClientException) cause).getErrorCode())) {
+            breaker.onSuccess();
+        } else {
+            breaker.onFailure();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompiledEndpoint<T> compile(EndpointTemplate<T> endpoint) {
+        return (CompiledEndpoint<T>) compiledEndpoints.computeIfAbsent(endpoint, key -> new CompiledEndpoint<>(endpoint));
+    }
+
     /**
      * Builds an HTTP request with common headers and configuration.
      */
@@ -149,9 +697,7 @@ public abstract class BaseRestClient {
         HttpRequest.Builder builder = HttpRequest.newBuilder()
                 .uri(uri)
                 .timeout(config.getRequestTimeout())
-                .header("Content-Type", "application/json")
-                .header("Accept", "application/json")
-                .header("Authorization", "Bearer " + config.getApiKey());
+                .headers(defaultHeaders);
         
         // Add custom headers
         if (headers != null) {
@@ -164,10 +710,8 @@ public abstract class BaseRestClient {
                 builder.GET();
                 break;
             case "POST":
-                builder.POST(HttpRequest.BodyPublishers.ofString(body != null ? body : ""));
-                break;
             case "PUT":
-                builder.PUT(HttpRequest.BodyPublishers.ofString(body != null ? body : ""));
+                HttpCompression.setBody(builder, method.toUpperCase(), body, config.getRequestCompressionThreshold());
                 break;
             case "DELETE":
                 builder.DELETE();
@@ -180,56 +724,475 @@ public abstract class BaseRestClient {
     }
     
     /**
-     * Executes the HTTP request with retry logic and error handling.
+     * Executes the HTTP request with retry logic and error handling, blocking until it completes.
      */
     private String executeRequest(HttpRequest request) throws RestClientException {
-        Exception lastException = null;
-        
-        for (int attempt = 1; attempt <= config.getMaxRetries(); attempt++) {
-            try {
-                if (config.isLoggingEnabled()) {
-                    logger.debug("Executing {} request to {}, attempt {}/{}", 
-                            request.method(), request.uri(), attempt, config.getMaxRetries());
-                }
-                
-                HttpResponse<String> response = httpClient.send(request, 
-                        HttpResponse.BodyHandlers.ofString());
-                
+        return AsyncUtil.await(executeRequestAsync(request));
+    }
+
+    /**
+     * Executes the HTTP request asynchronously and returns the body as a string.
+     */
+    private CompletableFuture<String> executeRequestAsync(HttpRequest request) {
+        return executeRequestAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private <B> CompletableFuture<B> executeRequestAsync(HttpRequest request, HttpResponse.BodyHandler<B> bodyHandler) {
+        Deadline deadline = newDeadline();
+        return deadline.bound(executeRequestAsync(request, bodyHandler, Route.balanced(), false, deadline));
+    }
+
+    /**
+     * Executes the HTTP request asynchronously with retry logic and error handling.
+     * Retries are scheduled on a timer instead of sleeping on a thread, spaced by the
+     * configured RetryPolicy and only sent while the shared RetryBudget allows it.
+     * Priority requests are granted concurrency limiter slots before queued ordinary ones.
+     * Each attempt's timeout is capped to the time left before the deadline, and a retry
+     * whose backoff would end past the deadline is not sent. With more than one bridge each
+     * attempt picks its bridge afresh, so a retry of a balanced call can go to another bridge.
+     * Each call counts as one request towards the RetryBudget.
+     */
+    private <B> CompletableFuture<B> executeRequestAsync(HttpRequest request, HttpResponse.BodyHandler<B> bodyHandler,
+                                                         Route<B> route, boolean priority, Deadline deadline) {
+        RetryBudget retryBudget = config.getRetryBudget();
+        if (retryBudget != null) {
+            retryBudget.recordRequest();
+        }
+        return startExchange(request, bodyHandler, route, priority, deadline);
+    }
+
+    /**
+     * Starts an exchange without counting it towards the RetryBudget, as for a hedged copy of a
+     * request that has already been counted.
+     */
+    private <B> CompletableFuture<B> startExchange(HttpRequest request, HttpResponse.BodyHandler<B> bodyHandler,
+                                                   Route<B> route, boolean priority, Deadline deadline) {
+        Exchange<B> exchange = new Exchange<>(request, bodyHandler, route, priority, deadline);
+        sendAttempt(exchange, 1, 0L);
+        return exchange.result;
+    }
+
+    /**
+     * Sends a single attempt and either completes the result or schedules the next attempt.
+     */
+    private <B> void sendAttempt(Exchange<B> exchange, int attempt, long previousDelayMillis) {
+        CompletableFuture<B> result = exchange.result;
+        if (result.isDone()) {
+            return; // Cancelled by the caller
+        }
+        if (exchange.deadline.isExpired()) {
+            result.completeExceptionally(exchange.deadline.exceeded("no time left for attempt " + attempt));
+            return;
+        }
+        int maxAttempts = Math.max(1, config.getMaxRetries());
+
+        if (config.isLoggingEnabled()) {
+            logger.debug("Executing {} request to {}, attempt {}/{}",
+                    exchange.request.method(), exchange.request.uri(), attempt, maxAttempts);
+        }
+
+        AdaptiveConcurrencyLimiter limiter = config.getConcurrencyLimiter();
+        if (limiter == null) {
+            dispatch(exchange, attempt, maxAttempts, previousDelayMillis, null);
+            return;
+        }
+        // Wait for an in-flight slot at the bridge; a queued caller can still cancel
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> slot = limiter.acquire(exchange.priority);
+        result.whenComplete((response, error) -> slot.cancel(false));
+        slot.whenComplete((permit, error) -> {
+            if (error != null) {
+                result.completeExceptionally(AsyncUtil.unwrap(error));
+            } else if (result.isDone()) {
+                permit.onIgnore();
+            } else {
+                dispatch(exchange, attempt, maxAttempts, previousDelayMillis, permit);
+            }
+        });
+    }
+
+    /**
+     * Sends one attempt on the wire and handles its outcome.
+     */
+    private <B> void dispatch(Exchange<B> exchange, int attempt, int maxAttempts, long previousDelayMillis,
+                              AdaptiveConcurrencyLimiter.Permit permit) {
+        CompletableFuture<B> result = exchange.result;
+        BridgeBalancer balancer = config.getBridgeBalancer();
+        BridgeBalancer.Bridge bridge = balancer != null ? exchange.route.select(balancer) : null;
+        HttpRequest request = exchange.attemptRequest(bridge);
+        ProtocolMetrics.onSend();
+        if (bridge != null) {
+            balancer.onSend(bridge);
+        }
+        long sentAt = System.nanoTime();
+        // Gzip and deflate bodies are inflated as they stream in, before the JSON parser sees them
+        CompletableFuture<HttpResponse<B>> inFlight = httpClient.sendAsync(request,
+                HttpCompression.decoding(exchange.bodyHandler));
+        // Abort the exchange if the caller, a winning hedge or the deadline ends the result early
+        result.whenComplete((response, error) -> {
+            if (error != null) {
+                inFlight.cancel(true);
+            }
+        });
+        inFlight.whenComplete((response, error) -> {
+            ProtocolMetrics.onComplete(response);
+            if (permit != null) {
+                releasePermit(permit, response, error);
+            }
+            if (bridge != null) {
+                recordBridgeOutcome(balancer, bridge, response, error, System.nanoTime() - sentAt);
+            }
+            if (error == null) {
                 if (config.isLoggingEnabled()) {
                     logger.debug("Received response with status code: {}", response.statusCode());
                 }
-                
-                // Check for successful status codes (2xx)
-                if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                    return response.body();
-                }
-                
-                // Handle error status codes
-                throw new ApiException(
-                        "API request failed with status code: " + response.statusCode(),
-                        response.statusCode(),
-                        response.body()
-                );
-                
-            } catch (IOException e) {
-                lastException = e;
-                logger.warn("Request attempt {}/{} failed: {}", attempt, config.getMaxRetries(), 
-                        e.getMessage());
-                
-                if (attempt < config.getMaxRetries()) {
-                    try {
-                        Thread.sleep(1000 * attempt); // Simple exponential backoff
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new RestClientException("Request interrupted", ie);
+
+                // Check for successful status codes (2xx), or 304 to a revalidation
+                if (response.statusCode() >= 200 && response.statusCode() < 300
+                        || response.statusCode() == 304 && isConditional(request)) {
+                    if (bridge != null && exchange.route.sessionHubOf != null && response.body() != null) {
+                        int hubId = exchange.route.sessionHubOf.applyAsInt(response.body());
+                        if (hubId != EndpointTemplate.NO_HUB) {
+                            balancer.bind(hubId, bridge);
+                        }
                     }
+                    result.complete(response.body());
+                } else {
+                    // Handle error status codes
+                    result.completeExceptionally(new ApiException(
+                            "API request failed with status code: " + response.statusCode(),
+                            response.statusCode(),
+                            String.valueOf(response.body())
+                    ));
                 }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RestClientException("Request interrupted", e);
+                return;
             }
+
+            Throwable cause = AsyncUtil.unwrap(error);
+            if (cause instanceof RestClientException) {
+                // Raised by the body handler, e.g. ApiException for an error status
+                result.completeExceptionally(cause);
+                return;
+            }
+            if (!(cause instanceof IOException)) {
+                result.completeExceptionally(new RestClientException("Request failed", cause));
+                return;
+            }
+
+            logger.warn("Request attempt {}/{} failed: {}", attempt, maxAttempts, cause.getMessage());
+
+            if (attempt >= maxAttempts) {
+                result.completeExceptionally(new RestClientException("All retry attempts failed", cause));
+                return;
+            }
+            long delayMillis = config.getRetryPolicy().nextDelayMillis(attempt, previousDelayMillis);
+            if (delayMillis >= exchange.deadline.remainingMillis()) {
+                RestClientException exceeded = exchange.deadline.exceeded(
+                        "retry after attempt " + attempt + " cannot finish in time");
+                exceeded.initCause(cause);
+                result.completeExceptionally(exceeded);
+            } else if (!acquireRetry()) {
+                result.completeExceptionally(new RestClientException(
+                        "Retry budget exhausted after " + attempt + " attempts", "RETRY_BUDGET_EXHAUSTED", cause));
+            } else {
+                logger.debug("Retrying {} {} in {}ms", request.method(), request.uri(), delayMillis);
+                CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS)
+                        .execute(() -> sendAttempt(exchange, attempt + 1, delayMillis));
+            }
+        });
+    }
+
+    /**
+     * Feeds an attempt's outcome back to the concurrency limiter. Responses that show the
+     * bridge is saturated (503, 429) and transport failures count as drops.
+     */
+    private static void releasePermit(AdaptiveConcurrencyLimiter.Permit permit, HttpResponse<?> response,
+                                      Throwable error) {
+        int statusCode;
+        if (error == null) {
+            statusCode = response.statusCode();
+        } else {
+            Throwable cause = AsyncUtil.unwrap(error);
+            if (cause instanceof IOException) {
+                permit.onDropped();
+                return;
+            }
+            if (!(cause instanceof ApiException)) {
+                if (cause instanceof RestClientException) {
+                    permit.onSuccess(); // The bridge answered, the body did not bind
+                } else {
+                    permit.onIgnore();
+                }
+                return;
+            }
+            statusCode = ((ApiException) cause).getStatusCode();
+        }
+        if (statusCode == 503 || statusCode == 429) {
+            permit.onDropped();
+        } else if (statusCode >= 200 && statusCode < 300 || statusCode == 304) {
+            permit.onSuccess();
+        } else {
+            permit.onIgnore();
+        }
+    }
+
+    /**
+     * Feeds an attempt's outcome back to the bridge balancer. Like for the concurrency limiter,
+     * transport failures, 5xx and 429 count against the bridge; any other answer shows it is healthy.
+     */
+    private static void recordBridgeOutcome(BridgeBalancer balancer, BridgeBalancer.Bridge bridge,
+                                            HttpResponse<?> response, Throwable error, long latencyNanos) {
+        int statusCode;
+        if (error == null) {
+            statusCode = response.statusCode();
+        } else {
+            Throwable cause = AsyncUtil.unwrap(error);
+            if (cause instanceof IOException) {
+                balancer.onFailure(bridge);
+                return;
+            }
+            if (!(cause instanceof ApiException)) {
+                if (cause instanceof RestClientException) {
+                    balancer.onSuccess(bridge, latencyNanos);
+                } else {
+                    balancer.onIgnore(bridge);
+                }
+                return;
+            }
+            statusCode = ((ApiException) cause).getStatusCode();
+        }
+        if (statusCode >= 500 || statusCode == 429) {
+            balancer.onFailure(bridge);
+        } else {
+            balancer.onSuccess(bridge, latencyNanos);
+        }
+    }
+
+    /**
+     * Moves a request built against the first bridge's base URL to the given bridge.
+     */
+    private URI rebase(URI uri, BridgeBalancer.Bridge bridge) {
+        String baseUrl = config.getBaseUrl();
+        if (bridge.getBaseUrl().equals(baseUrl)) {
+            return uri;
+        }
+        String target = uri.toString();
+        return target.startsWith(baseUrl) ? URI.create(bridge.getBaseUrl() + target.substring(baseUrl.length())) : uri;
+    }
+
+    private static boolean isConditional(HttpRequest request) {
+        return request.headers().firstValue("If-None-Match").isPresent()
+                || request.headers().firstValue("If-Modified-Since").isPresent();
+    }
+
+    /**
+     * Withdraws one retry from the shared budget, if one is configured.
+     */
+    private boolean acquireRetry() {
+        RetryBudget retryBudget = config.getRetryBudget();
+        if (retryBudget != null && !retryBudget.tryAcquireRetry()) {
+            return false;
+        }
+        ClientMetrics.increment("retry.attempts");
+        return true;
+    }
+
+    /**
+     * State shared by every attempt of one logical request.
+     */
+    private final class Exchange<B> {
+
+        private final HttpRequest request;
+        private final HttpResponse.BodyHandler<B> bodyHandler;
+        private final Route<B> route;
+        private final boolean priority;
+        private final Deadline deadline;
+        private final CompletableFuture<B> result = new CompletableFuture<>();
+
+        Exchange(HttpRequest request, HttpResponse.BodyHandler<B> bodyHandler, Route<B> route, boolean priority,
+                 Deadline deadline) {
+            this.request = request;
+            this.bodyHandler = bodyHandler;
+            this.route = route;
+            this.priority = priority;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Gets the request for the next attempt, sent to the given bridge if any, with its
+         * timeout capped to the time left.
+         */
+        HttpRequest attemptRequest(BridgeBalancer.Bridge bridge) {
+            Duration timeout = request.timeout().orElse(config.getRequestTimeout());
+            Duration capped = deadline.cap(timeout);
+            URI uri = bridge != null ? rebase(request.uri(), bridge) : request.uri();
+            if (capped.equals(timeout) && uri == request.uri()) {
+                return request;
+            }
+            HttpRequest.Builder builder = HttpRequest.newBuilder(request, (name, value) -> true).uri(uri);
+            if (!capped.equals(timeout)) {
+                builder.timeout(capped.isZero() ? Duration.ofMillis(1) : capped);
+            }
+            return builder.build();
+        }
+    }
+
+    /**
+     * Where the attempts of one logical request are sent when there is more than one bridge.
+     */
+    private static final class Route<B> {
+
+        private static final Route<?> BALANCED = new Route<>(EndpointTemplate.NO_HUB, null, null);
+
+        private final int hubId;
+        private final BridgeBalancer.Bridge pinned;
+        private final ToIntFunction<? super B> sessionHubOf;
+
+        /**
+         * @param hubId Hub whose bridge the attempts go to, or NO_HUB to balance them
+         * @param pinned Bridge every attempt goes to, overriding the hub
+         * @param sessionHubOf Reads the hub whose session a response opened on the answering bridge
+         */
+        Route(int hubId, BridgeBalancer.Bridge pinned, ToIntFunction<? super B> sessionHubOf) {
+            this.hubId = hubId;
+            this.pinned = pinned;
+            this.sessionHubOf = sessionHubOf;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <B> Route<B> balanced() {
+            return (Route<B>) BALANCED;
+        }
+
+        BridgeBalancer.Bridge select(BridgeBalancer balancer) {
+            if (pinned != null) {
+                return pinned;
+            }
+            if (sessionHubOf != null) {
+                return balancer.selectForSession();
+            }
+            return hubId != EndpointTemplate.NO_HUB ? balancer.select(hubId) : balancer.select();
+        }
+    }
+
+    /**
+     * An endpoint template bound to this client's base URL, headers and timeout.
+     * Holds the prebuilt body handler and, for fixed-body operations, one immutable
+     * HttpRequest per hub that is reused for every call. For conditional operations it also
+     * holds each hub's last response with its validators, and the request that revalidates it.
+     */
+    private final class CompiledEndpoint<T> {
+
+        private final EndpointTemplate<T> endpoint;
+        private final String constantJson;
+        private final HttpResponse.BodyHandler<T> bodyHandler;
+        private final Map<Integer, HttpRequest> prototypes = new ConcurrentHashMap<>();
+        private final boolean conditional;
+        private final Map<Integer, Validated<T>> validated = new ConcurrentHashMap<>();
+
+        CompiledEndpoint(EndpointTemplate<T> endpoint) {
+            this.endpoint = endpoint;
+            this.bodyHandler = JsonBodyHandler.of(jsonUtil, endpoint.getResponseType());
+            this.conditional = endpoint.isConditional() && config.isConditionalRequestsEnabled();
+            try {
+                this.constantJson = endpoint.hasConstantBody() ? jsonUtil.toJson(endpoint.getConstantBody()) : null;
+            } catch (RestClientException e) {
+                throw new IllegalArgumentException("Constant body for " + endpoint.getOperation() +
+                        " cannot be serialized", e);
+            }
+        }
+
+        HttpRequest request(int hubId, Object requestBody) throws RestClientException {
+            if (!endpoint.hasFixedBody()) {
+                return build(hubId, jsonUtil.toJson(requestBody));
+            }
+            Validated<T> current = conditional ? validated.get(hubId) : null;
+            if (current != null) {
+                return current.request;
+            }
+            HttpRequest prototype = prototypes.get(hubId);
+            if (prototype == null) {
+                prototype = build(hubId, constantJson);
+                if (prototypes.size() < MAX_CACHED_REQUESTS_PER_ENDPOINT) {
+                    prototypes.putIfAbsent(hubId, prototype);
+                }
+            }
+            return prototype;
+        }
+
+        private HttpRequest build(int hubId, String jsonBody) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder()
+                    .uri(URI.create(config.getBaseUrl() + endpoint.expand(hubId)))
+                    .timeout(config.getRequestTimeout())
+                    .headers(defaultHeaders);
+            if ("GET".equals(endpoint.getMethod())) {
+                builder.GET();
+            } else {
+                HttpCompression.setBody(builder, endpoint.getMethod(), jsonBody,
+                        config.getRequestCompressionThreshold());
+            }
+            return builder.build();
+        }
+
+        HttpResponse.BodyHandler<T> bodyHandler(int hubId) {
+            return conditional ? responseInfo -> revalidated(hubId, responseInfo) : bodyHandler;
+        }
+
+        /**
+         * Answers a 304 with the response already held for the hub, and remembers a full
+         * response together with its validators once it has been bound.
+         */
+        private HttpResponse.BodySubscriber<T> revalidated(int hubId, HttpResponse.ResponseInfo responseInfo) {
+            String counter = "conditional." + endpoint.getOperation();
+            if (responseInfo.statusCode() == 304) {
+                Validated<T> current = validated.get(hubId);
+                if (current != null) {
+                    ClientMetrics.increment(counter + ".not_modified");
+                    return HttpResponse.BodySubscribers.replacing(current.value);
+                }
+            }
+            HttpResponse.BodySubscriber<T> subscriber = bodyHandler.apply(responseInfo);
+            if (responseInfo.statusCode() < 200 || responseInfo.statusCode() >= 300) {
+                return subscriber;
+            }
+            ClientMetrics.increment(counter + ".modified");
+            String etag = responseInfo.headers().firstValue("ETag").orElse(null);
+            String lastModified = responseInfo.headers().firstValue("Last-Modified").orElse(null);
+            return HttpResponse.BodySubscribers.mapping(subscriber, value -> {
+                remember(hubId, etag, lastModified, value);
+                return value;
+            });
+        }
+
+        private void remember(int hubId, String etag, String lastModified, T value) {
+            if (value == null || etag == null && lastModified == null) {
+                validated.remove(hubId);
+                return;
+            }
+            if (validated.size() >= MAX_CACHED_REQUESTS_PER_ENDPOINT && !validated.containsKey(hubId)) {
+                return;
+            }
+            HttpRequest.Builder builder = HttpRequest.newBuilder(build(hubId, constantJson), (name, headerValue) -> true);
+            if (etag != null) {
+                builder.header("If-None-Match", etag);
+            }
+            if (lastModified != null) {
+                builder.header("If-Modified-Since", lastModified);
+            }
+            validated.put(hubId, new Validated<>(value, builder.build()));
+        }
+    }
+
+    /**
+     * Last response of a conditional operation for one hub, with the request carrying its validators.
+     */
+    private static final class Validated<T> {
+
+        private final T value;
+        private final HttpRequest request;
+
+        Validated(T value, HttpRequest request) {
+            this.value = value;
+            this.request = request;
         }
-        
-        throw new RestClientException("All retry attempts failed", lastException);
     }
 }
@@ -0,0 +1,96 @@
+package system.score.vms.model.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Objects;
+
+public class BatchOperationRequest {
+
+    @JsonProperty("id")
+    private int id;
+
+    @JsonProperty("operation")
+    private String operation;
+
+    @JsonProperty("hubId")
+    private int hubId;
+
+    @JsonProperty("method")
+    private String method;
+
+    @JsonProperty("path")
+    private String path;
+
+    public BatchOperationRequest() {}
+
+    public BatchOperationRequest(int id, String operation, int hubId, String method, String path) {
+        this.id = id;
+        this.operation = operation;
+        this.hubId = hubId;
+        this.method = method;
+        this.path = path;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public int getHubId() {
+        return hubId;
+    }
+
+    public void setHubId(int hubId) {
+        this.hubId = hubId;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchOperationRequest{" +
+                "id=" + id +
+                ", operation='" + operation + '\'' +
+                ", hubId=" + hubId +
+                ", method='" + method + '\'' +
+                ", path='" + path + '\'' +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchOperationRequest that = (BatchOperationRequest) o;
+        return id == that.id && hubId == that.hubId && Objects.equals(operation, that.operation) && Objects.equals(method, that.method) && Objects.equals(path, that.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, operation, hubId, method, path);
+    }
+}
@@ -0,0 +1,87 @@
+package system.score.vms.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Objects;
+
+public class BatchOperationResponse {
+
+    @JsonProperty("id")
+    private int id;
+
+    @JsonProperty("status")
+    private Integer status;
+
+    @JsonProperty("success")
+    private Boolean success;
+
+    @JsonProperty("error")
+    private String error;
+
+    @JsonProperty("body")
+    private JsonNode body;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+
+    public Boolean getSuccess() {
+        return success;
+    }
+
+    public void setSuccess(Boolean success) {
+        this.success = success;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public JsonNode getBody() {
+        return body;
+    }
+
+    public void setBody(JsonNode body) {
+        this.body = body;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchOperationResponse{" +
+                "id=" + id +
+                ", status=" + status +
+                ", success=" + success +
+                ", error='" + error + '\'' +
+                ", body=" + body +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchOperationResponse that = (BatchOperationResponse) o;
+        return id == that.id && Objects.equals(status, that.status) && Objects.equals(success, that.success) && Objects.equals(error, that.error) && Objects.equals(body, that.body);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, status, success, error, body);
+    }
+}
@@ -0,0 +1,45 @@
+package system.score.vms.model.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Objects;
+
+public class BatchRequest {
+
+    @JsonProperty("operations")
+    private List<BatchOperationRequest> operations;
+
+    public BatchRequest() {}
+
+    public BatchRequest(List<BatchOperationRequest> operations) {
+        this.operations = operations;
+    }
+
+    public List<BatchOperationRequest> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<BatchOperationRequest> operations) {
+        this.operations = operations;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchRequest{" +
+                "operations=" + operations +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchRequest that = (BatchRequest) o;
+        return Objects.equals(operations, that.operations);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operations);
+    }
+}
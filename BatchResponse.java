@@ -0,0 +1,39 @@
+package system.score.vms.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Objects;
+
+public class BatchResponse {
+
+    @JsonProperty("results")
+    private List<BatchOperationResponse> results;
+
+    public List<BatchOperationResponse> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchOperationResponse> results) {
+        this.results = results;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResponse{" +
+                "results=" + results +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchResponse that = (BatchResponse) o;
+        return Objects.equals(results, that.results);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(results);
+    }
+}
@@ -0,0 +1,197 @@
+package system.score.vms.mock;
+
+import system.score.vms.client.HubOperation;
+import system.score.vms.client.HubOperationResult;
+import system.score.vms.client.VLiteCommonApiClient;
+import system.score.vms.config.RestClientConfig;
+import system.score.vms.exception.ApiException;
+import system.score.vms.exception.RestClientException;
+import system.score.vms.model.request.BatchOperationRequest;
+import system.score.vms.model.request.BatchRequest;
+import system.score.vms.model.response.VcGetHubTempResponse;
+import system.score.vms.utils.JsonUtil;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks batch execution against a StubBridge: chunking, per-operation errors, and the fallback
+ * to single calls when the bridge answers 404, 405 or 501 to {@code POST /api/vlite/batch}.
+ * Run the main method; it prints each check and exits with status 1 if any failed.
+ */
+public class BatchStubCheck {
+
+    private static final String BATCH = "/api/vlite/batch";
+    private static final String HUB = "/api/vlite/hub/";
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_CONCURRENCY = 4;
+
+    private static final JsonUtil jsonUtil = new JsonUtil();
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        checkChunksAndItemErrors();
+        for (int status : new int[]{404, 405, 501}) {
+            checkFallback(status);
+        }
+        System.out.println(failures == 0 ? "All batch checks passed" : failures + " batch check(s) failed");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * 25 reads with a batch size of 10 go out as three batches, the first one alone. Hub 13's
+     * item fails on the bridge and hub 14's is missing from the response; the rest succeed.
+     */
+    private static void checkChunksAndItemErrors() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        AtomicInteger arrivals = new AtomicInteger();
+        AtomicBoolean firstAnswered = new AtomicBoolean();
+        AtomicInteger sentBeforeFirstAnswered = new AtomicInteger();
+        try (StubBridge bridge = new StubBridge()) {
+            bridge.handle(BATCH, exchange -> {
+                BatchRequest request = parse(StubBridge.readBody(exchange));
+                int arrival = arrivals.incrementAndGet();
+                if (arrival == 1) {
+                    batchSizes.add(0, request.getOperations().size());
+                } else {
+                    batchSizes.add(request.getOperations().size());
+                    if (!firstAnswered.get()) {
+                        sentBeforeFirstAnswered.incrementAndGet();
+                    }
+                }
+                sleep(50);
+                StringJoiner results = new StringJoiner(",", "{\"results\":[", "]}");
+                for (BatchOperationRequest item : request.getOperations()) {
+                    if (item.getHubId() == 13) {
+                        results.add("{\"id\":" + item.getId() + ",\"status\":500,\"success\":false,\"error\":\"hub offline\"}");
+                    } else if (item.getHubId() != 14) {
+                        results.add("{\"id\":" + item.getId() + ",\"status\":200,\"success\":true,\"body\":"
+                                + temperature(item.getHubId()) + "}");
+                    }
+                }
+                if (arrival == 1) {
+                    firstAnswered.set(true);
+                }
+                StubBridge.respond(exchange, 200, results.toString());
+            });
+            VLiteCommonApiClient client = new VLiteCommonApiClient(config(bridge));
+            try {
+                List<HubOperationResult<?>> results = client.executeBatchAsync(hubTemps(1, 25)).join();
+
+                check(bridge.getRequestCount(BATCH) == 3, "25 operations are sent as 3 batches");
+                check(batchSizes.size() == 3 && batchSizes.get(0) == BATCH_SIZE
+                        && batchSizes.stream().mapToInt(Integer::intValue).sum() == 25,
+                        "first batch is full and batches cover every operation, sizes " + batchSizes);
+                check(sentBeforeFirstAnswered.get() == 0, "first batch is sent alone");
+                check(inOrder(results, 1), "results are in operation order");
+                check(results.stream().filter(HubOperationResult::isSuccess).count() == 23,
+                        "23 operations succeed");
+                RestClientException failed = results.get(12).getError();
+                check(failed instanceof ApiException && ((ApiException) failed).getStatusCode() == 500,
+                        "failed item is reported with its status, got " + failed);
+                RestClientException missing = results.get(13).getError();
+                check(missing != null && "BATCH_RESULT_MISSING".equals(missing.getErrorCode()),
+                        "missing item is reported as BATCH_RESULT_MISSING, got " + missing);
+                VcGetHubTempResponse response = (VcGetHubTempResponse) results.get(0).getResponse();
+                check(response != null && response.getVcGetHubTempDataResponse() != null,
+                        "item body is deserialized into the operation's response type");
+            } finally {
+                client.close();
+            }
+        }
+    }
+
+    /**
+     * A bridge without the batch endpoint is probed once; the operations are then sent as single
+     * calls, at most the fan-out concurrency at a time, and so is the next batch.
+     */
+    private static void checkFallback(int status) throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        try (StubBridge bridge = new StubBridge()) {
+            bridge.handle(BATCH, exchange -> StubBridge.respondStatus(exchange, status));
+            bridge.handle(HUB, exchange -> {
+                peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                sleep(20);
+                inFlight.decrementAndGet();
+                String path = exchange.getRequestURI().getPath();
+                int hubId = Integer.parseInt(path.substring(HUB.length(), path.indexOf('/', HUB.length())));
+                StubBridge.respond(exchange, 200, temperature(hubId));
+            });
+            VLiteCommonApiClient client = new VLiteCommonApiClient(config(bridge));
+            try {
+                List<HubOperationResult<?>> results = client.executeBatchAsync(hubTemps(1, 50)).join();
+                check(bridge.getRequestCount(BATCH) == 1, status + ": batch endpoint is probed once");
+                check(bridge.getRequestCount(HUB) == 50, status + ": every operation is sent singly");
+                check(results.stream().allMatch(HubOperationResult::isSuccess) && inOrder(results, 1),
+                        status + ": single calls succeed in operation order");
+                check(peak.get() <= MAX_CONCURRENCY, status + ": at most " + MAX_CONCURRENCY
+                        + " single calls in flight, saw " + peak.get());
+
+                results = client.executeBatchAsync(hubTemps(51, 5)).join();
+                check(bridge.getRequestCount(BATCH) == 1 && bridge.getRequestCount(HUB) == 55
+                                && results.stream().allMatch(HubOperationResult::isSuccess),
+                        status + ": next batch goes singly without probing again");
+            } finally {
+                client.close();
+            }
+        }
+    }
+
+    private static RestClientConfig config(StubBridge bridge) {
+        RestClientConfig config = new RestClientConfig(bridge.getBaseUrl(), "stub-key",
+                Duration.ofSeconds(2), Duration.ofSeconds(5), 1, false);
+        config.setBatchMaxSize(BATCH_SIZE);
+        config.setFanOutMaxConcurrency(MAX_CONCURRENCY);
+        return config;
+    }
+
+    private static List<HubOperation<?>> hubTemps(int firstHubId, int count) {
+        List<HubOperation<?>> operations = new ArrayList<>(count);
+        for (int hubId = firstHubId; hubId < firstHubId + count; hubId++) {
+            operations.add(VLiteCommonApiClient.hubTemp(hubId));
+        }
+        return operations;
+    }
+
+    private static boolean inOrder(List<HubOperationResult<?>> results, int firstHubId) {
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).getOperation().getHubId() != firstHubId + i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String temperature(int hubId) {
+        return "{\"success\":true,\"data\":{\"temperature\":" + (20 + hubId % 10) + ",\"unit\":\"C\"}}";
+    }
+
+    private static BatchRequest parse(String body) {
+        try {
+            return jsonUtil.fromJson(body, BatchRequest.class);
+        } catch (RestClientException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void check(boolean passed, String description) {
+        System.out.println((passed ? "PASS " : "FAIL ") + description);
+        if (!passed) {
+            failures++;
+        }
+    }
+}
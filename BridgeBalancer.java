@@ -0,0 +1,519 @@
+package system.score.vms.resilience;
+
+import system.score.vms.utils.ClientMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spreads calls over several VLite bridge processes and keeps each hub's calls on the bridge
+ * that holds its session.
+ * <p>
+ * A call that is not tied to a hub goes to the better of two bridges picked at random: the one
+ * with fewer calls outstanding or, on a tie, the lower smoothed latency (power of two choices).
+ * This stays close to least-outstanding selection without every caller herding onto the same
+ * bridge. A hub's session lives in the bridge process that answered its connect, so once a hub
+ * is bound its calls go to that bridge whatever its load or health; calls for a hub that is not
+ * bound are balanced like any other. A call that opens a session goes to the bridge holding
+ * fewer sessions of two picked at random, since hub sessions are where the lasting load is.
+ * <p>
+ * Outliers are ejected from balancing: a bridge whose last {@code consecutiveFailures} calls all
+ * failed, whose failure rate over the last {@code windowSize} calls reaches the threshold, or
+ * whose median latency over its last {@code windowSize} answers is {@code latencyFactor} times
+ * the median of the other bridges; a median is not moved by the odd slow call, such as the
+ * first one on a new connection. An ejected bridge is readmitted after the ejection time, which
+ * grows with every ejection up to {@code maxEjection} and shrinks again while it stays healthy.
+ * At most {@code maxEjectedPercent} of the bridges are ejected at once, and never the last one.
+ */
+public class BridgeBalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BridgeBalancer.class);
+
+    /**
+     * Weight of the newest sample in the smoothed latency.
+     */
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final Bridge[] bridges;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final int consecutiveFailures;
+    private final double latencyFactor;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+    private final double maxEjectedPercent;
+    private final Map<Integer, Bridge> owners = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for BridgeBalancer.
+     *
+     * @param baseUrls Base URL of every bridge, e.g. "http://localhost:5000"
+     * @param windowSize Number of recent calls a bridge's failure rate is computed over
+     * @param minimumCalls Calls a bridge must have made before its failure rate or latency can eject it
+     * @param failureRateThreshold Failure percentage (0-100) at which a bridge is ejected
+     * @param consecutiveFailures Failures in a row at which a bridge is ejected, 0 to disable
+     * @param latencyFactor Multiple of the other bridges' median latency at which a bridge is ejected, 0 to disable
+     * @param baseEjection Time a bridge stays ejected the first time; later ejections last longer
+     * @param maxEjection Longest time a bridge stays ejected
+     * @param maxEjectedPercent Largest percentage (0-100) of bridges ejected at once
+     */
+    public BridgeBalancer(List<String> baseUrls, int windowSize, int minimumCalls, double failureRateThreshold,
+                          int consecutiveFailures, double latencyFactor, Duration baseEjection, Duration maxEjection,
+                          double maxEjectedPercent) {
+        if (baseUrls == null || baseUrls.isEmpty()) {
+            throw new IllegalArgumentException("At least one bridge base URL is required");
+        }
+        this.bridges = new Bridge[baseUrls.size()];
+        for (int i = 0; i < bridges.length; i++) {
+            bridges[i] = new Bridge(baseUrls.get(i), Math.max(1, windowSize));
+        }
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, Math.max(1, windowSize)));
+        this.failureRateThreshold = failureRateThreshold;
+        this.consecutiveFailures = consecutiveFailures;
+        this.latencyFactor = latencyFactor;
+        this.baseEjectionNanos = baseEjection.toNanos();
+        this.maxEjectionNanos = Math.max(baseEjectionNanos, maxEjection.toNanos());
+        this.maxEjectedPercent = maxEjectedPercent;
+        for (Bridge bridge : bridges) {
+            String prefix = "bridge." + bridge.name;
+            ClientMetrics.registerGauge(prefix + ".outstanding", bridge.outstanding::get);
+            ClientMetrics.registerGauge(prefix + ".hubs", bridge.hubs::get);
+        }
+        ClientMetrics.registerGauge("bridge.available", this::countAvailable);
+    }
+
+    /**
+     * Picks a bridge for a call that is not tied to a hub.
+     *
+     * @return The less loaded of two available bridges picked at random
+     */
+    public Bridge select() {
+        if (bridges.length == 1) {
+            return bridges[0];
+        }
+        long now = System.nanoTime();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = pick(random, now, -1);
+        if (first < 0) {
+            return leastOutstanding(); // Only while an ejection is being lifted
+        }
+        int second = pick(random, now, first);
+        if (second < 0) {
+            return bridges[first];
+        }
+        return bridges[first].isBetterThan(bridges[second]) ? bridges[first] : bridges[second];
+    }
+
+    /**
+     * Picks a bridge for a call that opens a hub session.
+     *
+     * @return The bridge holding fewer sessions of two available bridges picked at random
+     */
+    public Bridge selectForSession() {
+        if (bridges.length == 1) {
+            return bridges[0];
+        }
+        long now = System.nanoTime();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = pick(random, now, -1);
+        if (first < 0) {
+            return leastOutstanding();
+        }
+        int second = pick(random, now, first);
+        if (second < 0) {
+            return bridges[first];
+        }
+        int hubs = bridges[first].hubs.get();
+        int otherHubs = bridges[second].hubs.get();
+        if (hubs != otherHubs) {
+            return hubs < otherHubs ? bridges[first] : bridges[second];
+        }
+        return bridges[first].isBetterThan(bridges[second]) ? bridges[first] : bridges[second];
+    }
+
+    /**
+     * Picks a bridge for a call about a hub.
+     *
+     * @param hubId ID of Hub
+     * @return The bridge holding the hub's session, or a balanced pick if the hub is not bound
+     */
+    public Bridge select(int hubId) {
+        Bridge owner = owners.get(hubId);
+        return owner != null ? owner : select();
+    }
+
+    /**
+     * Records that a bridge holds a hub's session, so the hub's calls are sent there.
+     *
+     * @param hubId ID of Hub
+     * @param bridge Bridge that answered the hub's connect
+     */
+    public void bind(int hubId, Bridge bridge) {
+        Bridge previous = owners.put(hubId, bridge);
+        if (previous == bridge) {
+            return;
+        }
+        bridge.hubs.incrementAndGet();
+        if (previous != null) {
+            previous.hubs.decrementAndGet();
+            logger.info("Hub {} moved from bridge {} to {}", hubId, previous.name, bridge.name);
+        }
+    }
+
+    /**
+     * Forgets which bridge holds a hub's session, e.g. after a disconnect.
+     *
+     * @param hubId ID of Hub
+     */
+    public void unbind(int hubId) {
+        Bridge previous = owners.remove(hubId);
+        if (previous != null) {
+            previous.hubs.decrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the bridge holding a hub's session.
+     *
+     * @param hubId ID of Hub
+     * @return Owning bridge, or null if the hub is not bound
+     */
+    public Bridge getOwner(int hubId) {
+        return owners.get(hubId);
+    }
+
+    /**
+     * Gets every bridge, in configuration order.
+     *
+     * @return Unmodifiable list of bridges
+     */
+    public List<Bridge> getBridges() {
+        return Collections.unmodifiableList(Arrays.asList(bridges));
+    }
+
+    public int size() {
+        return bridges.length;
+    }
+
+    /**
+     * Records that a call was sent to a bridge. Every call must be followed by exactly one of
+     * onSuccess, onFailure or onIgnore.
+     *
+     * @param bridge Bridge the call was sent to
+     */
+    public void onSend(Bridge bridge) {
+        bridge.outstanding.incrementAndGet();
+    }
+
+    /**
+     * Records a call the bridge answered, whatever the answer, unless it showed the bridge is unhealthy.
+     *
+     * @param bridge Bridge the call was sent to
+     * @param latencyNanos Time from sending the call to its response
+     */
+    public void onSuccess(Bridge bridge, long latencyNanos) {
+        bridge.outstanding.decrementAndGet();
+        record(bridge, false, latencyNanos);
+    }
+
+    /**
+     * Records a call that failed in transport or was answered with 5xx or 429.
+     *
+     * @param bridge Bridge the call was sent to
+     */
+    public void onFailure(Bridge bridge) {
+        bridge.outstanding.decrementAndGet();
+        record(bridge, true, 0L);
+    }
+
+    /**
+     * Records a call that ended without an outcome, e.g. because it was cancelled.
+     *
+     * @param bridge Bridge the call was sent to
+     */
+    public void onIgnore(Bridge bridge) {
+        bridge.outstanding.decrementAndGet();
+    }
+
+    /**
+     * Takes a snapshot of every bridge's state, in configuration order.
+     *
+     * @return Bridge names mapped to their state, outstanding calls, failure rate, latency and hubs
+     */
+    public synchronized Map<String, Map<String, Object>> snapshot() {
+        long now = System.nanoTime();
+        Map<String, Map<String, Object>> snapshot = new LinkedHashMap<>();
+        for (Bridge bridge : bridges) {
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("baseUrl", bridge.baseUrl);
+            state.put("available", bridge.isAvailable(now));
+            state.put("outstanding", bridge.outstanding.get());
+            state.put("failureRate", bridge.getFailureRate());
+            state.put("latencyMillis", bridge.medianLatency() / 1_000_000.0);
+            state.put("ejections", bridge.ejections);
+            state.put("hubs", bridge.hubs.get());
+            snapshot.put(bridge.name, state);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Finds an available bridge other than the excluded one, starting at a random index.
+     */
+    private int pick(ThreadLocalRandom random, long now, int excluded) {
+        int start = random.nextInt(bridges.length);
+        for (int k = 0; k < bridges.length; k++) {
+            int i = (start + k) % bridges.length;
+            if (i != excluded && bridges[i].isAvailable(now)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Bridge leastOutstanding() {
+        Bridge best = bridges[0];
+        for (Bridge bridge : bridges) {
+            if (bridge.isBetterThan(best)) {
+                best = bridge;
+            }
+        }
+        return best;
+    }
+
+    private synchronized void record(Bridge bridge, boolean failure, long latencyNanos) {
+        long now = System.nanoTime();
+        if (bridge.ejected) {
+            if (now - bridge.ejectedUntil < 0) {
+                return; // Calls pinned to an ejected bridge do not count towards its readmission
+            }
+            readmit(bridge);
+        }
+        bridge.record(failure, latencyNanos);
+        String reason = null;
+        if (failure) {
+            if (consecutiveFailures > 0 && bridge.consecutiveFailures >= consecutiveFailures) {
+                reason = bridge.consecutiveFailures + " consecutive failures";
+            } else if (bridge.recorded >= minimumCalls && bridge.getFailureRate() >= failureRateThreshold) {
+                reason = String.format("failure rate %.0f%%", bridge.getFailureRate());
+            }
+        } else if (latencyFactor > 0 && bridge.latencyCount >= minimumCalls) {
+            double latency = bridge.medianLatency();
+            double median = medianLatencyOfOthers(bridge, now);
+            if (median > 0 && latency > latencyFactor * median) {
+                reason = String.format("median latency %.1fms against %.1fms on the other bridges",
+                        latency / 1_000_000.0, median / 1_000_000.0);
+            }
+        }
+        if (reason != null) {
+            eject(bridge, now, reason);
+        } else if (bridge.sinceReadmission++ >= bridge.outcomes.length && bridge.ejections > 0) {
+            // A healthy window earns back one step of the ejection time
+            bridge.ejections--;
+            bridge.sinceReadmission = 0;
+        }
+    }
+
+    private double medianLatencyOfOthers(Bridge bridge, long now) {
+        double[] latencies = new double[bridges.length];
+        int count = 0;
+        for (Bridge other : bridges) {
+            if (other != bridge && other.latencyCount >= minimumCalls && other.isAvailable(now)) {
+                latencies[count++] = other.medianLatency();
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        Arrays.sort(latencies, 0, count);
+        return count % 2 == 1 ? latencies[count / 2] : (latencies[count / 2 - 1] + latencies[count / 2]) / 2;
+    }
+
+    private void eject(Bridge bridge, long now, String reason) {
+        int ejected = 0;
+        for (Bridge other : bridges) {
+            if (other != bridge && !other.isAvailable(now)) {
+                ejected++;
+            }
+        }
+        if (ejected + 1 >= bridges.length || (ejected + 1) * 100.0 > maxEjectedPercent * bridges.length) {
+            ClientMetrics.increment("bridge.ejections.skipped");
+            return;
+        }
+        bridge.ejections++;
+        long duration = Math.min(maxEjectionNanos, baseEjectionNanos * bridge.ejections);
+        bridge.ejected = true;
+        bridge.ejectedUntil = now + duration;
+        ClientMetrics.increment("bridge." + bridge.name + ".ejected");
+        logger.warn("Ejected bridge {} for {}ms: {}", bridge.name, TimeUnit.NANOSECONDS.toMillis(duration), reason);
+    }
+
+    private void readmit(Bridge bridge) {
+        bridge.ejected = false;
+        bridge.reset();
+        ClientMetrics.increment("bridge." + bridge.name + ".readmitted");
+        logger.info("Readmitted bridge {}", bridge.name);
+    }
+
+    private int countAvailable() {
+        long now = System.nanoTime();
+        int available = 0;
+        for (Bridge bridge : bridges) {
+            if (bridge.isAvailable(now)) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public String toString() {
+        List<String> names = new ArrayList<>(bridges.length);
+        for (Bridge bridge : bridges) {
+            names.add(bridge.name);
+        }
+        return "BridgeBalancer{" +
+                "bridges=" + names +
+                ", minimumCalls=" + minimumCalls +
+                ", failureRateThreshold=" + failureRateThreshold +
+                ", consecutiveFailures=" + consecutiveFailures +
+                ", latencyFactor=" + latencyFactor +
+                ", baseEjection=" + Duration.ofNanos(baseEjectionNanos) +
+                ", maxEjection=" + Duration.ofNanos(maxEjectionNanos) +
+                ", maxEjectedPercent=" + maxEjectedPercent +
+                '}';
+    }
+
+    /**
+     * One bridge process. Outcome statistics are guarded by the owning balancer.
+     */
+    public static final class Bridge {
+
+        private final String baseUrl;
+        private final String name;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger hubs = new AtomicInteger();
+        private final boolean[] outcomes;
+        private final long[] latencies;
+        private int latencyCount;
+        private int latencyNext;
+        private int recorded;
+        private int next;
+        private int failures;
+        private int consecutiveFailures;
+        private long samples;
+        private volatile double latencyNanos;
+        private volatile boolean ejected;
+        private volatile long ejectedUntil;
+        private int ejections;
+        private int sinceReadmission;
+
+        private Bridge(String baseUrl, int windowSize) {
+            this.baseUrl = baseUrl;
+            URI uri = URI.create(baseUrl);
+            this.name = uri.getPort() >= 0 ? uri.getHost() + ":" + uri.getPort() : uri.getHost();
+            this.outcomes = new boolean[windowSize];
+            this.latencies = new long[windowSize];
+        }
+
+        /**
+         * Gets the base URL requests to this bridge are resolved against.
+         */
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        /**
+         * Gets the bridge's host and port, used in metric names and logs.
+         */
+        public String getName() {
+            return name;
+        }
+
+        public int getOutstanding() {
+            return outstanding.get();
+        }
+
+        /**
+         * Gets the number of hubs whose session this bridge holds.
+         */
+        public int getHubs() {
+            return hubs.get();
+        }
+
+        private boolean isAvailable(long now) {
+            return !ejected || now - ejectedUntil >= 0;
+        }
+
+        private boolean isBetterThan(Bridge other) {
+            int load = outstanding.get();
+            int otherLoad = other.outstanding.get();
+            return load != otherLoad ? load < otherLoad : latencyNanos <= other.latencyNanos;
+        }
+
+        private double medianLatency() {
+            if (latencyCount == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            return latencyCount % 2 == 1 ? sorted[latencyCount / 2]
+                    : (sorted[latencyCount / 2 - 1] + sorted[latencyCount / 2]) / 2.0;
+        }
+
+        private double getFailureRate() {
+            return recorded == 0 ? 0 : failures * 100.0 / recorded;
+        }
+
+        private void record(boolean failure, long latency) {
+            if (recorded == outcomes.length) {
+                if (outcomes[next]) {
+                    failures--;
+                }
+            } else {
+                recorded++;
+            }
+            outcomes[next] = failure;
+            next = (next + 1) % outcomes.length;
+            if (failure) {
+                failures++;
+                consecutiveFailures++;
+                return;
+            }
+            consecutiveFailures = 0;
+            latencies[latencyNext] = latency;
+            latencyNext = (latencyNext + 1) % latencies.length;
+            latencyCount = Math.min(latencyCount + 1, latencies.length);
+            latencyNanos = samples++ == 0 ? latency : latencyNanos + LATENCY_SMOOTHING * (latency - latencyNanos);
+        }
+
+        private void reset() {
+            recorded = 0;
+            next = 0;
+            failures = 0;
+            consecutiveFailures = 0;
+            samples = 0;
+            latencyNanos = 0;
+            latencyCount = 0;
+            latencyNext = 0;
+            sinceReadmission = 0;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
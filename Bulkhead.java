@@ -0,0 +1,105 @@
+package system.score.vms.resilience;
+
+import system.score.vms.utils.AsyncUtil;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Bounded concurrency pool for one class of operation.
+ * At most {@code maxConcurrent} calls of the class run at once and at most {@code maxQueued}
+ * wait for a slot, so a flood of one kind of call cannot use up the capacity reserved for
+ * the others. Saturation is published as {@code semaphore.bulkhead.<name>.*}.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final AsyncSemaphore semaphore;
+
+    /**
+     * Constructor for Bulkhead.
+     *
+     * @param name Bulkhead name, e.g. "telemetry"
+     * @param maxConcurrent Maximum number of calls running at once
+     * @param maxQueued Maximum number of calls waiting for a slot
+     */
+    public Bulkhead(String name, int maxConcurrent, int maxQueued) {
+        this.name = name;
+        this.semaphore = new AsyncSemaphore("bulkhead." + name, maxConcurrent, maxQueued, "BULKHEAD_FULL");
+    }
+
+    /**
+     * Runs a call once a slot is free. The slot is held until the call's future completes.
+     *
+     * @param call Starts the call
+     * @param <T> Result type
+     * @return Future completing with the call's result, or failing with BULKHEAD_FULL
+     */
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<Void> slot = semaphore.acquire();
+        if (slot.isDone() && !slot.isCompletedExceptionally()) {
+            return run(call);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                slot.cancel(false);
+            }
+        });
+        slot.whenComplete((ignored, error) -> {
+            if (error != null) {
+                result.completeExceptionally(AsyncUtil.unwrap(error));
+            } else if (result.isDone()) {
+                semaphore.release();
+            } else {
+                CompletableFuture<T> running = run(call);
+                result.whenComplete((response, failure) -> {
+                    if (result.isCancelled()) {
+                        running.cancel(true);
+                    }
+                });
+                running.whenComplete((response, failure) -> {
+                    if (failure != null) {
+                        result.completeExceptionally(AsyncUtil.unwrap(failure));
+                    } else {
+                        result.complete(response);
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+    private <T> CompletableFuture<T> run(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> running;
+        try {
+            running = call.get();
+        } catch (RuntimeException e) {
+            semaphore.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        running.whenComplete((response, error) -> semaphore.release());
+        return running;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getActive() {
+        return semaphore.getInUse();
+    }
+
+    public int getQueued() {
+        return semaphore.getQueued();
+    }
+
+    @Override
+    public String toString() {
+        return "Bulkhead{" +
+                "name='" + name + '\'' +
+                ", semaphore=" + semaphore +
+                '}';
+    }
+}
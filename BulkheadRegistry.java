@@ -0,0 +1,54 @@
+package system.score.vms.resilience;
+
+import system.score.vms.client.OperationClass;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Holds one bulkhead per operation class.
+ * Classes without a bulkhead are not isolated.
+ */
+public class BulkheadRegistry {
+
+    private final Map<OperationClass, Bulkhead> bulkheads = new EnumMap<>(OperationClass.class);
+
+    /**
+     * Configures the bulkhead for an operation class.
+     *
+     * @param operationClass Operation class
+     * @param maxConcurrent Maximum number of calls of the class running at once
+     * @param maxQueued Maximum number of calls of the class waiting for a slot
+     */
+    public synchronized void configure(OperationClass operationClass, int maxConcurrent, int maxQueued) {
+        bulkheads.put(operationClass, new Bulkhead(
+                operationClass.name().toLowerCase(), maxConcurrent, maxQueued));
+    }
+
+    /**
+     * Gets the bulkhead for an operation class.
+     *
+     * @param operationClass Operation class
+     * @return Bulkhead, or null if the class is not isolated
+     */
+    public synchronized Bulkhead get(OperationClass operationClass) {
+        return bulkheads.get(operationClass);
+    }
+
+    /**
+     * Gets every configured bulkhead.
+     *
+     * @return Operation classes mapped to their bulkhead
+     */
+    public synchronized Map<OperationClass, Bulkhead> getBulkheads() {
+        return Collections.unmodifiableMap(new EnumMap<>(bulkheads));
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "BulkheadRegistry{" +
+                "bulkheads=" + bulkheads.values() +
+                '}';
+    }
+}
@@ -0,0 +1,194 @@
+package system.score.vms.resilience;
+
+import system.score.vms.utils.ClientMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Count-based circuit breaker.
+ * Tracks the outcome of the last {@code windowSize} calls. Once at least {@code minimumCalls}
+ * have been recorded and the failure rate reaches the threshold, the breaker opens and calls
+ * fail fast for {@code openDuration}. It then lets {@code halfOpenCalls} trial calls through:
+ * if they all succeed it closes again, if any fails it reopens.
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    /**
+     * Circuit breaker states.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final boolean[] outcomes;
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failures;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    /**
+     * Constructor for CircuitBreaker.
+     *
+     * @param name Breaker name, e.g. "hub:3" or "endpoint:vcGetHubTemp"
+     * @param windowSize Number of recent calls the failure rate is computed over
+     * @param minimumCalls Calls required in the window before the breaker may open
+     * @param failureRateThreshold Failure percentage (0-100) at which the breaker opens
+     * @param openDuration Time the breaker stays open before allowing trial calls
+     * @param halfOpenCalls Trial calls allowed while half-open
+     */
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                          Duration openDuration, int halfOpenCalls) {
+        this.name = name;
+        this.outcomes = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, outcomes.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+    }
+
+    /**
+     * Asks for permission to make a call. Every granted permission must be followed by
+     * exactly one of onSuccess, onFailure or releasePermission.
+     *
+     * @return true if the call may proceed, false if it should fail fast
+     */
+    public synchronized boolean tryAcquirePermission() {
+        switch (currentState()) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (halfOpenPermits < halfOpenCalls) {
+                    halfOpenPermits++;
+                    return true;
+                }
+                break;
+            default:
+                break;
+        }
+        ClientMetrics.increment("circuit." + name + ".rejected");
+        return false;
+    }
+
+    /**
+     * Gives back a permission without recording an outcome, e.g. when the call was cancelled.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermits > 0) {
+            halfOpenPermits--;
+        }
+    }
+
+    /**
+     * Records a successful call.
+     */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    /**
+     * Records a failed call.
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumCalls && getFailureRate() >= failureRateThreshold) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    /**
+     * Gets the current state, moving from OPEN to HALF_OPEN once the open duration has passed.
+     *
+     * @return Current state
+     */
+    public synchronized State getState() {
+        return currentState();
+    }
+
+    /**
+     * Gets the failure percentage over the current window.
+     *
+     * @return Failure rate between 0 and 100, or 0 when nothing has been recorded
+     */
+    public synchronized double getFailureRate() {
+        return recorded == 0 ? 0 : failures * 100.0 / recorded;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private State currentState() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+            transitionTo(State.HALF_OPEN);
+        }
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void transitionTo(State newState) {
+        logger.info("Circuit breaker {} changed from {} to {}", name, state, newState);
+        state = newState;
+        halfOpenPermits = 0;
+        halfOpenSuccesses = 0;
+        if (newState == State.OPEN) {
+            openedAt = System.nanoTime();
+            ClientMetrics.increment("circuit." + name + ".opened");
+        } else if (newState == State.CLOSED) {
+            recorded = 0;
+            next = 0;
+            failures = 0;
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CircuitBreaker{" +
+                "name='" + name + '\'' +
+                ", state=" + state +
+                ", failureRate=" + getFailureRate() +
+                '}';
+    }
+}
@@ -0,0 +1,98 @@
+package system.score.vms.resilience;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the circuit breakers for hubs ({@code hub:<id>}) and bridge operations
+ * ({@code endpoint:<operation>}). Breakers are created on first use with the
+ * registry's settings.
+ */
+public class CircuitBreakerRegistry {
+
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+
+    /**
+     * Constructor for CircuitBreakerRegistry.
+     *
+     * @param windowSize Number of recent calls the failure rate is computed over
+     * @param minimumCalls Calls required in the window before a breaker may open
+     * @param failureRateThreshold Failure percentage (0-100) at which a breaker opens
+     * @param openDuration Time a breaker stays open before allowing trial calls
+     * @param halfOpenCalls Trial calls allowed while half-open
+     */
+    public CircuitBreakerRegistry(int windowSize, int minimumCalls, double failureRateThreshold,
+                                  Duration openDuration, int halfOpenCalls) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * Gets the breaker for a hub, creating it if needed.
+     *
+     * @param hubId ID of Hub
+     * @return Circuit breaker
+     */
+    public CircuitBreaker forHub(int hubId) {
+        return get("hub:" + hubId);
+    }
+
+    /**
+     * Gets the breaker for a bridge operation, creating it if needed.
+     *
+     * @param operation Operation name, e.g. "vcGetHubTemp"
+     * @return Circuit breaker
+     */
+    public CircuitBreaker forEndpoint(String operation) {
+        return get("endpoint:" + operation);
+    }
+
+    /**
+     * Gets the state of a hub's breaker without creating one.
+     *
+     * @param hubId ID of Hub
+     * @return Breaker state, CLOSED if the hub has never been called
+     */
+    public CircuitBreaker.State getHubState(int hubId) {
+        CircuitBreaker breaker = breakers.get("hub:" + hubId);
+        return breaker != null ? breaker.getState() : CircuitBreaker.State.CLOSED;
+    }
+
+    /**
+     * Takes a snapshot of every breaker's state, sorted by name.
+     *
+     * @return Breaker names mapped to their current state
+     */
+    public Map<String, CircuitBreaker.State> snapshot() {
+        Map<String, CircuitBreaker.State> snapshot = new TreeMap<>();
+        breakers.forEach((name, breaker) -> snapshot.put(name, breaker.getState()));
+        return snapshot;
+    }
+
+    private CircuitBreaker get(String name) {
+        return breakers.computeIfAbsent(name, key -> new CircuitBreaker(key, windowSize, minimumCalls,
+                failureRateThreshold, openDuration, halfOpenCalls));
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreakerRegistry{" +
+                "windowSize=" + windowSize +
+                ", minimumCalls=" + minimumCalls +
+                ", failureRateThreshold=" + failureRateThreshold +
+                ", openDuration=" + openDuration +
+                ", halfOpenCalls=" + halfOpenCalls +
+                '}';
+    }
+}
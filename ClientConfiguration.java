@@ -1,6 +1,7 @@
 package system.score.vms.config;
 
 import java.net.http.HttpClient;
+import java.util.concurrent.Executor;
 
 /**
  * Client configuration class for API client settings.
@@ -13,6 +14,10 @@ public class ClientConfiguration {
     private final int requestTimeoutSeconds;
     private final String userAgent;
     private final HttpClient.Version httpVersion;
+    private ExecutorMode executorMode = ExecutorMode.DEFAULT;
+    private int executorThreads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    private int executorQueueCapacity = 1000;
+    private Executor customExecutor;
     
     public ClientConfiguration(String baseUrl, String apiKey, int connectionTimeoutSeconds, 
                              int requestTimeoutSeconds, String userAgent) {
@@ -47,4 +52,36 @@ public class ClientConfiguration {
     public HttpClient.Version getHttpVersion() {
         return httpVersion;
     }
+    
+    public ExecutorMode getExecutorMode() {
+        return executorMode;
+    }
+    
+    public void setExecutorMode(ExecutorMode executorMode) {
+        this.executorMode = executorMode != null ? executorMode : ExecutorMode.DEFAULT;
+    }
+    
+    public int getExecutorThreads() {
+        return executorThreads;
+    }
+    
+    public void setExecutorThreads(int executorThreads) {
+        this.executorThreads = executorThreads;
+    }
+    
+    public int getExecutorQueueCapacity() {
+        return executorQueueCapacity;
+    }
+    
+    public void setExecutorQueueCapacity(int executorQueueCapacity) {
+        this.executorQueueCapacity = executorQueueCapacity;
+    }
+    
+    public Executor getCustomExecutor() {
+        return customExecutor;
+    }
+    
+    public void setCustomExecutor(Executor customExecutor) {
+        this.customExecutor = customExecutor;
+    }
 }
\ No newline at end of file
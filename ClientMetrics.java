@@ -0,0 +1,92 @@
+package system.score.vms.utils;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Gateway-wide registry of client metrics.
+ * Holds named counters and gauges that client components publish and scripts can read
+ * through VLiteMain.getClientMetrics().
+ */
+public class ClientMetrics {
+
+    private static final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Supplier<? extends Number>> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ClientMetrics() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Increments the named counter by one.
+     *
+     * @param name Counter name
+     */
+    public static void increment(String name) {
+        add(name, 1);
+    }
+
+    /**
+     * Adds the given amount to the named counter.
+     *
+     * @param name Counter name
+     * @param delta Amount to add
+     */
+    public static void add(String name, long delta) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * Gets the current value of the named counter.
+     *
+     * @param name Counter name
+     * @return Counter value, or 0 if the counter was never incremented
+     */
+    public static long count(String name) {
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    /**
+     * Registers a gauge that is sampled every time a snapshot is taken.
+     *
+     * @param name Gauge name
+     * @param gauge Supplier of the current value
+     */
+    public static void registerGauge(String name, Supplier<? extends Number> gauge) {
+        gauges.put(name, gauge);
+    }
+
+    /**
+     * Removes every gauge whose name starts with the given prefix.
+     *
+     * @param prefix Gauge name prefix
+     */
+    public static void removeGauges(String prefix) {
+        gauges.keySet().removeIf(name -> name.startsWith(prefix));
+    }
+
+    /**
+     * Takes a point-in-time snapshot of all counters and gauges, sorted by name.
+     *
+     * @return Metric names mapped to their current values
+     */
+    public static Map<String, Number> snapshot() {
+        Map<String, Number> snapshot = new TreeMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        gauges.forEach((name, gauge) -> {
+            Number value = gauge.get();
+            if (value != null) {
+                snapshot.put(name, value);
+            }
+        });
+        return snapshot;
+    }
+}
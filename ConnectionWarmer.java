@@ -0,0 +1,123 @@
+package system.score.vms.client;
+
+import system.score.vms.config.RestClientConfig;
+import system.score.vms.exception.ApiException;
+import system.score.vms.utils.AsyncUtil;
+import system.score.vms.utils.ClientMetrics;
+import system.score.vms.utils.ProtocolMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps connections to the bridge open so the first real call does not pay for connection setup.
+ * At startup it sends a burst of concurrent health requests over the shared HttpClient, which
+ * opens that many pooled connections (one multiplexed connection over HTTP/2). Afterwards, while
+ * the bridge sees no other traffic, it re-sends a smaller burst every interval so the pool's idle
+ * timeout never closes the minimum set of connections.
+ * Any HTTP response counts as a warm connection, so the health path need not return 2xx.
+ */
+public class ConnectionWarmer extends BaseRestClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionWarmer.class);
+
+    private final String healthPath;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor for ConnectionWarmer.
+     *
+     * @param config REST client configuration, the same one the API clients use
+     * @param healthPath Path of a cheap request, relative to the base URL
+     */
+    public ConnectionWarmer(RestClientConfig config, String healthPath) {
+        super(config);
+        this.healthPath = healthPath;
+    }
+
+    /**
+     * Opens connections by sending concurrent health requests.
+     *
+     * @param connections Number of concurrent requests
+     * @return Future completing with the number of requests that reached the bridge
+     */
+    public CompletableFuture<Integer> warmUp(int connections) {
+        long start = System.nanoTime();
+        AtomicInteger reached = new AtomicInteger();
+        CompletableFuture<?>[] pings = new CompletableFuture<?>[Math.max(1, connections)];
+        for (int i = 0; i < pings.length; i++) {
+            pings[i] = ping().thenAccept(ok -> {
+                if (ok) {
+                    reached.incrementAndGet();
+                }
+            });
+        }
+        return CompletableFuture.allOf(pings).thenApply(ignored -> {
+            logger.info("Warmed {}/{} connections to {} in {}ms", reached.get(), pings.length,
+                    getConfig().getBaseUrl(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return reached.get();
+        });
+    }
+
+    /**
+     * Starts the background keep-alive. Each run is skipped if any exchange with the bridge
+     * completed since the previous one, since the connections are then already in use.
+     *
+     * @param interval Time between runs; keep it below the HttpClient's idle timeout (30s by default)
+     * @param connections Number of concurrent requests per run
+     */
+    public synchronized void startKeepAlive(Duration interval, int connections) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vlite-keepalive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1000, interval.toMillis());
+        AtomicLong lastSeen = new AtomicLong(ProtocolMetrics.getCompletedExchanges());
+        scheduler.scheduleWithFixedDelay(() -> {
+            long completed = ProtocolMetrics.getCompletedExchanges();
+            if (lastSeen.getAndSet(completed) != completed) {
+                return;
+            }
+            ClientMetrics.increment("keepalive.runs");
+            warmUp(connections).whenComplete((reached, error) ->
+                    lastSeen.set(ProtocolMetrics.getCompletedExchanges()));
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        logger.info("Keeping {} connection(s) to {} alive every {}ms", connections, getConfig().getBaseUrl(),
+                intervalMillis);
+    }
+
+    /**
+     * Stops the keep-alive and releases the shared HttpClient.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        super.close();
+    }
+
+    private CompletableFuture<Boolean> ping() {
+        ClientMetrics.increment("warmup.requests");
+        return getAsync(healthPath, null).handle((body, error) -> {
+            if (error == null || AsyncUtil.unwrap(error) instanceof ApiException) {
+                return true;
+            }
+            ClientMetrics.increment("warmup.failures");
+            logger.debug("Warm-up request to {} failed: {}", healthPath, AsyncUtil.unwrap(error).getMessage());
+            return false;
+        });
+    }
+}
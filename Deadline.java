@@ -0,0 +1,158 @@
+package system.score.vms.utils;
+
+import system.score.vms.exception.RestClientException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Point in time by which a logical call, including all of its retries and sub-calls, must finish.
+ * Created once by the caller and passed down unchanged, so every layer works against the same
+ * remaining budget: per-attempt timeouts are capped to it, retries that cannot finish in time
+ * are skipped, and fan-out sub-calls share it.
+ */
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(0L, false);
+
+    private final long deadlineNanos;
+    private final boolean bounded;
+    private final AtomicBoolean reported = new AtomicBoolean();
+
+    private Deadline(long deadlineNanos, boolean bounded) {
+        this.deadlineNanos = deadlineNanos;
+        this.bounded = bounded;
+    }
+
+    /**
+     * Creates a deadline the given time from now.
+     *
+     * @param timeout Time budget for the call
+     * @return Deadline
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos(), true);
+    }
+
+    /**
+     * Gets the deadline that never expires. Calls are then bounded only by the per-attempt
+     * timeout and the number of retries.
+     *
+     * @return Unbounded deadline
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    /**
+     * Creates a deadline from a configured timeout in milliseconds.
+     *
+     * @param timeoutMillis Time budget in milliseconds; 0 or less means no deadline
+     * @return Deadline
+     */
+    public static Deadline ofMillis(long timeoutMillis) {
+        return timeoutMillis > 0 ? after(Duration.ofMillis(timeoutMillis)) : NONE;
+    }
+
+    /**
+     * Gets the earlier of this deadline and one the given time from now, for sub-calls that
+     * need a tighter bound than their parent.
+     *
+     * @param timeout Time budget for the sub-call
+     * @return Deadline for the sub-call
+     */
+    public Deadline within(Duration timeout) {
+        Deadline other = after(timeout);
+        return !bounded || other.deadlineNanos - deadlineNanos < 0 ? other : this;
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    public boolean isExpired() {
+        return bounded && deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Gets the time left before the deadline.
+     *
+     * @return Remaining time in nanoseconds, 0 once expired, or Long.MAX_VALUE if unbounded
+     */
+    public long remainingNanos() {
+        return bounded ? Math.max(0L, deadlineNanos - System.nanoTime()) : Long.MAX_VALUE;
+    }
+
+    public long remainingMillis() {
+        return bounded ? TimeUnit.NANOSECONDS.toMillis(remainingNanos()) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Caps a timeout to the time left before the deadline.
+     *
+     * @param timeout Configured timeout
+     * @return The shorter of the timeout and the remaining time
+     */
+    public Duration cap(Duration timeout) {
+        if (!bounded) {
+            return timeout;
+        }
+        long remaining = remainingNanos();
+        return timeout.toNanos() <= remaining ? timeout : Duration.ofNanos(remaining);
+    }
+
+    /**
+     * Creates the exception raised when a call runs out of time. The {@code deadline.exceeded}
+     * metric counts each deadline once, however many layers or sub-calls observe it expiring.
+     *
+     * @param what Description of what could not finish in time
+     * @return RestClientException with error code DEADLINE_EXCEEDED
+     */
+    public RestClientException exceeded(String what) {
+        if (reported.compareAndSet(false, true)) {
+            ClientMetrics.increment("deadline.exceeded");
+        }
+        return new RestClientException("Deadline exceeded: " + what, "DEADLINE_EXCEEDED");
+    }
+
+    /**
+     * Bounds a future by this deadline. If the future has not completed when the deadline
+     * expires, the returned future fails with DEADLINE_EXCEEDED and the source is cancelled
+     * so queued or in-flight work is abandoned.
+     *
+     * @param future The future to bound
+     * @param <T> Result type
+     * @return Future completing with the source's result, or failing at the deadline
+     */
+    public <T> CompletableFuture<T> bound(CompletableFuture<T> future) {
+        if (!bounded || future.isDone()) {
+            return future;
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete((response, error) -> {
+            if (error != null) {
+                result.completeExceptionally(AsyncUtil.unwrap(error));
+            } else {
+                result.complete(response);
+            }
+        });
+        CompletableFuture.delayedExecutor(remainingNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+            if (!result.isDone() && result.completeExceptionally(exceeded("no response in time"))) {
+                future.cancel(true);
+            }
+        });
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? "Deadline{remainingMillis=" + remainingMillis() + '}' : "Deadline{none}";
+    }
+}
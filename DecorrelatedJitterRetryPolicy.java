@@ -0,0 +1,51 @@
+package system.score.vms.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with decorrelated jitter.
+ * Each delay is drawn uniformly from [base, previous * 3] and capped, so clients that
+ * failed together spread their retries out instead of hitting the bridge in lockstep.
+ */
+public class DecorrelatedJitterRetryPolicy implements RetryPolicy {
+
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    /**
+     * Constructor for DecorrelatedJitterRetryPolicy.
+     *
+     * @param baseDelay Smallest delay between attempts
+     * @param maxDelay Largest delay between attempts
+     */
+    public DecorrelatedJitterRetryPolicy(Duration baseDelay, Duration maxDelay) {
+        this.baseDelayMillis = Math.max(1, baseDelay.toMillis());
+        this.maxDelayMillis = Math.max(baseDelayMillis, maxDelay.toMillis());
+    }
+
+    @Override
+    public long nextDelayMillis(int attempt, long previousDelayMillis) {
+        long upper = Math.min(maxDelayMillis, Math.max(baseDelayMillis, previousDelayMillis) * 3);
+        if (upper <= baseDelayMillis) {
+            return baseDelayMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(baseDelayMillis, upper + 1);
+    }
+
+    public long getBaseDelayMillis() {
+        return baseDelayMillis;
+    }
+
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "DecorrelatedJitterRetryPolicy{" +
+                "baseDelayMillis=" + baseDelayMillis +
+                ", maxDelayMillis=" + maxDelayMillis +
+                '}';
+    }
+}
@@ -0,0 +1,298 @@
+package system.score.vms.client;
+
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * Describes one bridge operation: its name, HTTP method, path template, response type, the
+ * operation class whose bulkhead it runs in and how it is routed when there are several bridges.
+ * Paths may contain a single {@code {hubId}} placeholder. Templates are declared once as
+ * constants and compiled per client by BaseRestClient into reusable request prototypes.
+ *
+ * @param <T> Response type
+ */
+public final class EndpointTemplate<T> {
+
+    /**
+     * Placeholder for the hub ID in a path template.
+     */
+    public static final String HUB_ID_PLACEHOLDER = "{hubId}";
+
+    /**
+     * Hub ID used for calls that are not scoped to a hub.
+     */
+    public static final int NO_HUB = 0;
+
+    /**
+     * Where calls of an operation are sent when RestClientConfig lists more than one bridge.
+     */
+    public enum Routing {
+
+        /**
+         * To the less loaded of two bridges picked at random.
+         */
+        BALANCED,
+
+        /**
+         * To the bridge holding the hub's session; balanced for a hub that is not bound to one.
+         */
+        HUB,
+
+        /**
+         * To every bridge, e.g. to initialize each bridge process. The call succeeds once it has
+         * succeeded on all of them, with the first bridge's response.
+         */
+        EVERY_BRIDGE
+    }
+
+    private final String operation;
+    private final String method;
+    private final String path;
+    private final Class<T> responseType;
+    private final String pathPrefix;
+    private final String pathSuffix;
+    private final boolean constantBody;
+    private final Object body;
+    private final OperationClass operationClass;
+    private final boolean conditional;
+    private final Routing routing;
+    private final ToIntFunction<? super T> sessionHubOf;
+    private final boolean closesSession;
+
+    private EndpointTemplate(String operation, String method, String path, Class<T> responseType,
+                             boolean constantBody, Object body, OperationClass operationClass, boolean conditional,
+                             Routing routing, ToIntFunction<? super T> sessionHubOf, boolean closesSession) {
+        this.operation = Objects.requireNonNull(operation, "operation");
+        this.method = method;
+        this.path = Objects.requireNonNull(path, "path");
+        this.responseType = Objects.requireNonNull(responseType, "responseType");
+        this.constantBody = constantBody;
+        this.body = body;
+        this.operationClass = Objects.requireNonNull(operationClass, "operationClass");
+        this.conditional = conditional;
+        this.sessionHubOf = sessionHubOf;
+        this.closesSession = closesSession;
+
+        int placeholder = path.indexOf(HUB_ID_PLACEHOLDER);
+        if (placeholder >= 0) {
+            this.pathPrefix = path.substring(0, placeholder);
+            this.pathSuffix = path.substring(placeholder + HUB_ID_PLACEHOLDER.length());
+        } else {
+            this.pathPrefix = path;
+            this.pathSuffix = null;
+        }
+        this.routing = routing != null ? routing : pathSuffix != null ? Routing.HUB : Routing.BALANCED;
+    }
+
+    /**
+     * Declares a GET operation. GET operations are telemetry reads unless declared otherwise.
+     *
+     * @param operation Operation name, e.g. "vcGetHubTemp"
+     * @param path Path template relative to the base URL
+     * @param responseType Class type for deserialization
+     * @param <T> Response type
+     * @return Endpoint template
+     */
+    public static <T> EndpointTemplate<T> get(String operation, String path, Class<T> responseType) {
+        return new EndpointTemplate<>(operation, "GET", path, responseType, false, null, OperationClass.TELEMETRY,
+                false, null, null, false);
+    }
+
+    /**
+     * Declares a POST operation whose JSON body is supplied per call.
+     * POST operations are session control unless declared otherwise.
+     *
+     * @param operation Operation name, e.g. "connect"
+     * @param path Path template relative to the base URL
+     * @param responseType Class type for deserialization
+     * @param <T> Response type
+     * @return Endpoint template
+     */
+    public static <T> EndpointTemplate<T> post(String operation, String path, Class<T> responseType) {
+        return new EndpointTemplate<>(operation, "POST", path, responseType, false, null,
+                OperationClass.SESSION_CONTROL, false, null, null, false);
+    }
+
+    /**
+     * Returns a copy of this template that always sends the given body.
+     * The body is serialized once, so requests for this operation can be cached per hub.
+     *
+     * @param body Body sent with every call
+     * @return Endpoint template with a constant body
+     */
+    public EndpointTemplate<T> withConstantBody(Object body) {
+        return new EndpointTemplate<>(operation, method, path, responseType, true, body, operationClass, conditional,
+                routing, sessionHubOf, closesSession);
+    }
+
+    /**
+     * Returns a copy of this template that runs in the given operation class's bulkhead.
+     *
+     * @param operationClass Operation class
+     * @return Endpoint template in the given class
+     */
+    public EndpointTemplate<T> inClass(OperationClass operationClass) {
+        return new EndpointTemplate<>(operation, method, path, responseType, constantBody, body, operationClass,
+                conditional, routing, sessionHubOf, closesSession);
+    }
+
+    /**
+     * Returns a copy of this template whose calls are revalidated rather than re-downloaded.
+     * The client keeps the ETag and Last-Modified of each hub's last response and sends them
+     * back; a 304 answer returns the response already held, without reading a body.
+     * Only GET operations can be conditional, since a conditional POST is answered with 412.
+     *
+     * @return Conditional endpoint template
+     * @throws IllegalStateException If the operation is not a GET
+     */
+    public EndpointTemplate<T> conditional() {
+        if (!"GET".equals(method)) {
+            throw new IllegalStateException("Only GET operations can be conditional: " + operation);
+        }
+        return new EndpointTemplate<>(operation, method, path, responseType, constantBody, body, operationClass, true,
+                routing, sessionHubOf, closesSession);
+    }
+
+    /**
+     * Returns a copy of this template routed as given. Templates whose path contains the hub ID
+     * are routed by hub, others are balanced, unless declared otherwise.
+     *
+     * @param routing Where calls are sent when there is more than one bridge
+     * @return Endpoint template with the given routing
+     */
+    public EndpointTemplate<T> routed(Routing routing) {
+        return new EndpointTemplate<>(operation, method, path, responseType, constantBody, body, operationClass,
+                conditional, Objects.requireNonNull(routing, "routing"), sessionHubOf, closesSession);
+    }
+
+    /**
+     * Returns a copy of this template whose successful calls open a hub session on the bridge
+     * that answered, so the hub's later calls are routed there.
+     *
+     * @param hubIdOf Reads the hub ID from a response, returning NO_HUB if there is none
+     * @return Endpoint template that binds the returned hub to the answering bridge
+     */
+    public EndpointTemplate<T> opensSession(ToIntFunction<? super T> hubIdOf) {
+        return new EndpointTemplate<>(operation, method, path, responseType, constantBody, body, operationClass,
+                conditional, routing, Objects.requireNonNull(hubIdOf, "hubIdOf"), closesSession);
+    }
+
+    /**
+     * Returns a copy of this template whose successful calls close the hub's session, so the hub
+     * is no longer bound to a bridge.
+     *
+     * @return Endpoint template that unbinds the hub
+     */
+    public EndpointTemplate<T> closesSession() {
+        return new EndpointTemplate<>(operation, method, path, responseType, constantBody, body, operationClass,
+                conditional, routing, sessionHubOf, true);
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Class<T> getResponseType() {
+        return responseType;
+    }
+
+    public OperationClass getOperationClass() {
+        return operationClass;
+    }
+
+    /**
+     * Checks whether the path contains the hub ID placeholder.
+     *
+     * @return true if the path is expanded per hub
+     */
+    public boolean isHubScoped() {
+        return pathSuffix != null;
+    }
+
+    /**
+     * Checks whether the operation is safe to send more than once.
+     *
+     * @return true for GET operations
+     */
+    public boolean isIdempotent() {
+        return "GET".equals(method);
+    }
+
+    /**
+     * Checks whether calls are sent with the validators of the previous response.
+     *
+     * @return true if the operation was declared conditional
+     */
+    public boolean isConditional() {
+        return conditional;
+    }
+
+    public Routing getRouting() {
+        return routing;
+    }
+
+    /**
+     * Gets the function reading the hub whose session a response opened.
+     *
+     * @return Hub ID reader, or null if the operation does not open sessions
+     */
+    public ToIntFunction<? super T> getSessionHubOf() {
+        return sessionHubOf;
+    }
+
+    /**
+     * Checks whether a successful call closes the hub's session.
+     *
+     * @return true if the operation was declared as closing sessions
+     */
+    public boolean isClosingSession() {
+        return closesSession;
+    }
+
+    /**
+     * Checks whether every call sends the same body, if any.
+     *
+     * @return true if the request can be prebuilt per hub
+     */
+    public boolean hasFixedBody() {
+        return constantBody || "GET".equals(method);
+    }
+
+    Object getConstantBody() {
+        return body;
+    }
+
+    boolean hasConstantBody() {
+        return constantBody;
+    }
+
+    /**
+     * Expands the path template for the given hub.
+     *
+     * @param hubId ID of Hub
+     * @return Path relative to the base URL
+     */
+    public String expand(int hubId) {
+        return pathSuffix == null ? pathPrefix : pathPrefix + hubId + pathSuffix;
+    }
+
+    @Override
+    public String toString() {
+        return "EndpointTemplate{" +
+                "operation='" + operation + '\'' +
+                ", method='" + method + '\'' +
+                ", path='" + path + '\'' +
+                ", operationClass=" + operationClass +
+                ", conditional=" + conditional +
+                ", routing=" + routing +
+                '}';
+    }
+}
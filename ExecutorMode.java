@@ -0,0 +1,45 @@
+package system.score.vms.config;
+
+/**
+ * Threading model used by the HTTP transport for asynchronous work.
+ */
+public enum ExecutorMode {
+
+    /**
+     * The JDK default: an unbounded cached thread pool per HttpClient.
+     */
+    DEFAULT,
+
+    /**
+     * One virtual thread per task. Requires a JDK 21+ runtime; falls back to BOUNDED otherwise.
+     */
+    VIRTUAL_THREADS,
+
+    /**
+     * A fixed number of platform threads with a bounded task queue. Tasks arriving while the
+     * queue is full run on the common ForkJoinPool.
+     */
+    BOUNDED,
+
+    /**
+     * An executor supplied by the caller.
+     */
+    CUSTOM;
+
+    /**
+     * Parses an executor mode from configuration, defaulting to DEFAULT for unknown values.
+     *
+     * @param value The configured value
+     * @return The matching executor mode
+     */
+    public static ExecutorMode fromString(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return DEFAULT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return DEFAULT;
+        }
+    }
+}
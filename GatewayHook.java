@@ -7,37 +7,51 @@ import com.inductiveautomation.ignition.gateway.model.AbstractGatewayModuleHook;
 import com.inductiveautomation.ignition.gateway.model.GatewayContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import system.score.vms.config.HttpClientRegistry;
 
 
 public class GatewayHook extends AbstractGatewayModuleHook {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
+    private VLiteMain vLiteMain;
+
     @Override
     public void setup(GatewayContext gatewayContext) {
-
+        // Built here rather than on first script use so the HttpClient exists before startup warms it
+        vLiteMain = new VLiteMain();
 
     }
 
     @Override
     public void startup(LicenseState licenseState) {
       //  Logger.info("ModuleGatewayHook starting up");
+        if (vLiteMain != null) {
+            vLiteMain.warmUp();
+        }
 
     }
 
     @Override
     public void shutdown() {
       //  Logger.info("ModuleGatewayHook shutting down");
-
+        if (vLiteMain != null) {
+            vLiteMain.shutdown();
+            vLiteMain = null;
+        }
+        HttpClientRegistry.shutdown();
     }
 
     @Override
     public void initializeScriptManager(ScriptManager manager) {
         super.initializeScriptManager(manager);
 
+        if (vLiteMain == null) {
+            vLiteMain = new VLiteMain();
+        }
         manager.addScriptModule(
                 "system.score.vms",
-                new VLiteMain(),
+                vLiteMain,
                 new PropertiesFileDocProvider());
     }
 
@@ -0,0 +1,218 @@
+package system.score.vms.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Timer for large numbers of short, non-blocking tasks, e.g. one poll per hub and metric.
+ * Time is divided into ticks; a task is dropped into the bucket of the tick it is due in,
+ * and a single worker thread advances one bucket per tick and runs what is due there.
+ * Scheduling and cancelling are O(1) regardless of how many tasks are pending, and only one
+ * thread exists however many tasks there are. Tasks run at tick resolution, never early.
+ * <p>
+ * Tasks run on the worker thread and must not block; start asynchronous work and return.
+ * The worker thread is started on the first schedule.
+ */
+public class HashedTimerWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashedTimerWheel.class);
+
+    private final String name;
+    private final long tickNanos;
+    private final Queue<Timeout>[] buckets;
+    private final int mask;
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Object lifecycle = new Object();
+    private Thread worker;
+    private volatile boolean stopped;
+    private long startNanos;
+    private long tick;
+
+    /**
+     * Constructor for HashedTimerWheel.
+     *
+     * @param name Name of the worker thread and prefix of the metrics, published as {@code timer.<name>.*}
+     * @param tickDuration Resolution of the timer
+     * @param wheelSize Number of buckets, rounded up to a power of two; one round of the wheel
+     *                  should cover the usual delay so most tasks expire on their first pass
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(String name, Duration tickDuration, int wheelSize) {
+        this.name = name;
+        this.tickNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), tickDuration.toNanos());
+        int size = Integer.highestOneBit(Math.max(2, wheelSize) - 1) << 1;
+        this.buckets = (Queue<Timeout>[]) new ArrayDeque<?>[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.mask = size - 1;
+        ClientMetrics.registerGauge("timer." + name + ".pending", pending::get);
+    }
+
+    /**
+     * Schedules a task.
+     *
+     * @param task Task to run on the worker thread
+     * @param delay Delay before the task runs
+     * @param unit Unit of the delay
+     * @return Handle for cancelling the task
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (stopped) {
+            throw new IllegalStateException("Timer " + name + " has been stopped");
+        }
+        start();
+        Timeout timeout = new Timeout(task, System.nanoTime() + Math.max(0, unit.toNanos(delay)));
+        pending.incrementAndGet();
+        added.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the worker thread. Pending tasks are discarded.
+     */
+    public void stop() {
+        stopped = true;
+        synchronized (lifecycle) {
+            if (worker != null) {
+                worker.interrupt();
+            }
+        }
+        ClientMetrics.removeGauges("timer." + name + ".");
+    }
+
+    /**
+     * Gets the number of tasks scheduled and not yet run or cancelled.
+     *
+     * @return Pending tasks
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    private void start() {
+        synchronized (lifecycle) {
+            if (worker != null) {
+                return;
+            }
+            startNanos = System.nanoTime();
+            worker = new Thread(this::run, "vlite-timer-" + name);
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    private void run() {
+        while (!stopped) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long sleepNanos = deadline - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (stopped) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            transferAdded();
+            expire(buckets[(int) (tick & mask)], System.nanoTime());
+            tick++;
+        }
+    }
+
+    /**
+     * Moves newly scheduled tasks into their buckets. A task due in a tick that has already
+     * passed goes into the current bucket so it runs on this tick.
+     */
+    private void transferAdded() {
+        Timeout timeout;
+        while ((timeout = added.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long dueTick = Math.max(tick, (timeout.deadlineNanos - startNanos + tickNanos - 1) / tickNanos - 1);
+            timeout.remainingRounds = (dueTick - tick) / buckets.length;
+            buckets[(int) (dueTick & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Queue<Timeout> bucket, long now) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.cancelled) {
+                iterator.remove();
+            } else if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+            } else if (timeout.deadlineNanos - now <= 0) {
+                iterator.remove();
+                if (timeout.expire()) {
+                    pending.decrementAndGet();
+                    try {
+                        timeout.task.run();
+                    } catch (RuntimeException e) {
+                        logger.error("Timer task on {} failed", name, e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public final class Timeout {
+
+        private final Runnable task;
+        private final long deadlineNanos;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+        private volatile boolean expired;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Cancels the task if it has not run yet.
+         *
+         * @return true if the task will not run
+         */
+        public boolean cancel() {
+            synchronized (this) {
+                if (expired || cancelled) {
+                    return cancelled;
+                }
+                cancelled = true;
+            }
+            pending.decrementAndGet();
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private boolean expire() {
+            synchronized (this) {
+                if (cancelled) {
+                    return false;
+                }
+                expired = true;
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package system.score.vms.resilience;
+
+import system.score.vms.utils.ClientMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Settings and state for hedged requests on idempotent operations.
+ * A hedge is sent when the first request has not answered within the configured percentile
+ * of the operation's recent latency. Hedges are drawn from their own budget so that at most
+ * {@code maxHedgeRatio} of requests are duplicated, however slow the bridge gets.
+ */
+public class HedgingPolicy {
+
+    private static final int LATENCY_SAMPLES = 256;
+
+    private final double percentile;
+    private final int minSamples;
+    private final long minDelayMillis;
+    private final RetryBudget hedgeBudget;
+    private final ConcurrentMap<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for HedgingPolicy.
+     *
+     * @param percentile Latency percentile after which a hedge is sent, e.g. 95
+     * @param minSamples Samples an operation needs before it is hedged
+     * @param minDelay Smallest delay before a hedge is sent
+     * @param maxHedgeRatio Largest fraction of requests that may be hedged, e.g. 0.05
+     * @param window Window over which the hedge ratio is enforced
+     */
+    public HedgingPolicy(double percentile, int minSamples, Duration minDelay, double maxHedgeRatio,
+                         Duration window) {
+        this.percentile = percentile;
+        this.minSamples = Math.max(1, minSamples);
+        this.minDelayMillis = Math.max(0, minDelay.toMillis());
+        this.hedgeBudget = new RetryBudget("hedge.budget", maxHedgeRatio, 0, window);
+    }
+
+    /**
+     * Records the start of a hedge-eligible call.
+     */
+    public void recordRequest() {
+        hedgeBudget.recordRequest();
+    }
+
+    /**
+     * Gets how long to wait for the first response before hedging.
+     *
+     * @param operation Operation name
+     * @return Delay in milliseconds, or -1 if the operation has too few samples to hedge
+     */
+    public long hedgeDelayMillis(String operation) {
+        LatencyTracker tracker = latencies.get(operation);
+        if (tracker == null || tracker.getSampleCount() < minSamples) {
+            return -1;
+        }
+        return Math.max(minDelayMillis, tracker.percentile(percentile));
+    }
+
+    /**
+     * Tries to take one hedge from the budget.
+     *
+     * @return true if a hedge may be sent
+     */
+    public boolean tryAcquireHedge() {
+        return hedgeBudget.tryAcquireRetry();
+    }
+
+    /**
+     * Records the latency of a successful response.
+     *
+     * @param operation Operation name
+     * @param latencyMillis Latency in milliseconds
+     */
+    public void recordLatency(String operation, long latencyMillis) {
+        latencies.computeIfAbsent(operation, key -> {
+            LatencyTracker tracker = new LatencyTracker(LATENCY_SAMPLES);
+            ClientMetrics.registerGauge("latency." + key + ".p50", () -> tracker.percentile(50));
+            ClientMetrics.registerGauge("latency." + key + ".p99", () -> tracker.percentile(99));
+            return tracker;
+        }).record(latencyMillis);
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    @Override
+    public String toString() {
+        return "HedgingPolicy{" +
+                "percentile=" + percentile +
+                ", minSamples=" + minSamples +
+                ", minDelayMillis=" + minDelayMillis +
+                ", hedgeBudget=" + hedgeBudget +
+                '}';
+    }
+}
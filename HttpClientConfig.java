@@ -1,5 +1,8 @@
 package system.score.vms.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
@@ -7,12 +10,17 @@ import java.net.http.HttpClient;
 import java.security.SecureRandom;
 import java.security.cert.X509Certificate;
 import java.time.Duration;
+import java.util.concurrent.Executor;
 
 /**
  * Configuration factory for HTTP client instances.
  * Provides configured HttpClient instances based on RestClientConfig.
  */
 public class HttpClientConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpClientConfig.class);
+
+    private static SSLContext sslContext;
     
     /**
      * Creates a configured HttpClient instance based on the provided configuration.
@@ -21,30 +29,31 @@ public class HttpClientConfig {
      * @return Configured HttpClient instance
      */
     public static HttpClient createHttpClient(RestClientConfig config) {
-        TrustManager[] trustAllCerts = new TrustManager[]{
-                new X509TrustManager() {
-                    public X509Certificate[] getAcceptedIssuers() {
-                        return new X509Certificate[0]; // Return an empty array
-                    }
-
-                    public void checkClientTrusted(X509Certificate[] certs, String authType) {
-                        // Do nothing - trust all client certificates
-                    }
+        Executor executor = config.getExecutorMode() == ExecutorMode.CUSTOM ? config.getCustomExecutor() : null;
+        return createHttpClient(config, executor);
+    }
 
-                    public void checkServerTrusted(X509Certificate[] certs, String authType) {
-                        // Do nothing - trust all server certificates
-                    }
-                }
-        };
+    /**
+     * Creates a configured HttpClient instance that runs its asynchronous work on the given executor.
+     * 
+     * @param config The REST client configuration
+     * @param executor Executor for the transport, or null for the JDK default
+     * @return Configured HttpClient instance
+     */
+    public static HttpClient createHttpClient(RestClientConfig config, Executor executor) {
         try {
-            SSLContext sslContext = SSLContext.getInstance("TLS");
-            sslContext.init(null, trustAllCerts, new SecureRandom());
+            SSLContext sslContext = getSslContext();
 
             HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(protocolVersion(config))
                 .connectTimeout(config.getConnectTimeout())
                 .followRedirects(HttpClient.Redirect.NORMAL)
                     .sslContext(sslContext);
 
+            if (executor != null) {
+                builder.executor(executor);
+            }
+
         // Add additional configurations as needed
         // For enterprise use, you might want to add:
         // - Custom SSL context
@@ -63,26 +72,8 @@ public class HttpClientConfig {
      * @return Configured HttpClient instance with defaults
      */
     public static HttpClient createDefaultHttpClient() {
-
-        TrustManager[] trustAllCerts = new TrustManager[]{
-                new X509TrustManager() {
-                    public X509Certificate[] getAcceptedIssuers() {
-                        return new X509Certificate[0]; // Return an empty array
-                    }
-
-                    public void checkClientTrusted(X509Certificate[] certs, String authType) {
-                        // Do nothing - trust all client certificates
-                    }
-
-                    public void checkServerTrusted(X509Certificate[] certs, String authType) {
-                        // Do nothing - trust all server certificates
-                    }
-                }
-        };
         try {
-            SSLContext sslContext = SSLContext.getInstance("TLS");
-            sslContext.init(null, trustAllCerts, new SecureRandom());
-
+            SSLContext sslContext = getSslContext();
 
         return HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(30))
@@ -93,4 +84,53 @@ public class HttpClientConfig {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Resolves the HttpClient version for the configured protocol, warning when the protocol
+     * does not match the base URL's scheme. The JDK client has no HTTP/2 prior-knowledge
+     * mode, so h2c is always negotiated with an upgrade on the first request.
+     */
+    private static HttpClient.Version protocolVersion(RestClientConfig config) {
+        HttpProtocol protocol = config.getHttpProtocol();
+        boolean secure = config.getBaseUrl() != null && config.getBaseUrl().regionMatches(true, 0, "https:", 0, 6);
+        if (protocol == HttpProtocol.H2 && !secure) {
+            logger.warn("HTTP protocol H2 requires an https:// base URL, {} will negotiate h2c instead",
+                    config.getBaseUrl());
+        } else if (protocol == HttpProtocol.H2C && secure) {
+            logger.warn("HTTP protocol H2C is cleartext only, {} will negotiate h2 over TLS instead",
+                    config.getBaseUrl());
+        }
+        return protocol.getVersion();
+    }
+
+    /**
+     * Gets the trust-all SSL context shared by every client created here.
+     * Built once, since SSLContext initialization is comparatively expensive.
+     *
+     * @return Shared SSL context
+     * @throws Exception If the SSL context cannot be initialized
+     */
+    private static synchronized SSLContext getSslContext() throws Exception {
+        if (sslContext == null) {
+            TrustManager[] trustAllCerts = new TrustManager[]{
+                    new X509TrustManager() {
+                        public X509Certificate[] getAcceptedIssuers() {
+                            return new X509Certificate[0]; // Return an empty array
+                        }
+
+                        public void checkClientTrusted(X509Certificate[] certs, String authType) {
+                            // Do nothing - trust all client certificates
+                        }
+
+                        public void checkServerTrusted(X509Certificate[] certs, String authType) {
+                            // Do nothing - trust all server certificates
+                        }
+                    }
+            };
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, trustAllCerts, new SecureRandom());
+            sslContext = context;
+        }
+        return sslContext;
+    }
 }
@@ -1,11 +1,13 @@
 package system.score.vms.client;
 
 import system.score.vms.config.ClientConfiguration;
+import system.score.vms.config.ExecutorMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.concurrent.Executor;
 
 /**
  * Factory class for creating configured HTTP clients
@@ -22,6 +24,14 @@ public class HttpClientFactory {
      * Create a configured HTTP client based on the provided configuration
      */
     public static HttpClient createHttpClient(ClientConfiguration config) {
+        Executor executor = config.getExecutorMode() == ExecutorMode.CUSTOM ? config.getCustomExecutor() : null;
+        return createHttpClient(config, executor);
+    }
+    
+    /**
+     * Create a configured HTTP client that runs its asynchronous work on the given executor
+     */
+    public static HttpClient createHttpClient(ClientConfiguration config, Executor executor) {
         logger.debug("Creating HTTP client with configuration");
         
         HttpClient.Builder builder = HttpClient.newBuilder()
@@ -33,6 +43,10 @@ public class HttpClientFactory {
             builder.version(config.getHttpVersion());
         }
         
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        
         HttpClient client = builder.build();
         logger.debug("HTTP client created successfully");
         
@@ -0,0 +1,196 @@
+package system.score.vms.config;
+
+import system.score.vms.client.HttpClientFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Gateway-wide registry of shared HttpClient instances.
+ * Clients are reference counted and keyed by the bridge origin and the transport settings,
+ * so every API client talking to the same VLite bridge reuses one connection pool.
+ */
+public class HttpClientRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpClientRegistry.class);
+
+    private static final Map<String, SharedClient> clients = new HashMap<>();
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private HttpClientRegistry() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Acquires the shared HttpClient for the given configuration, creating it on first use.
+     * Every call must be balanced by a call to {@link #release(RestClientConfig)}.
+     *
+     * @param config The REST client configuration
+     * @return Shared HttpClient instance
+     */
+    public static synchronized HttpClient acquire(RestClientConfig config) {
+        String key = transportKey(config);
+        SharedClient shared = clients.get(key);
+        if (shared == null) {
+            TransportExecutor executor = TransportExecutor.create(config.getExecutorMode(),
+                    config.getExecutorThreads(), config.getExecutorQueueCapacity(), config.getCustomExecutor());
+            shared = new SharedClient(HttpClientConfig.createHttpClient(config, executor), executor);
+            clients.put(key, shared);
+            logger.info("Created shared HttpClient for {}", key);
+        }
+        shared.refCount++;
+        return shared.client;
+    }
+
+    /**
+     * Acquires the shared HttpClient for the given API client configuration.
+     * Every call must be balanced by a call to {@link #release(ClientConfiguration)}.
+     *
+     * @param config The API client configuration
+     * @return Shared HttpClient instance
+     */
+    public static synchronized HttpClient acquire(ClientConfiguration config) {
+        String key = transportKey(config);
+        SharedClient shared = clients.get(key);
+        if (shared == null) {
+            TransportExecutor executor = TransportExecutor.create(config.getExecutorMode(),
+                    config.getExecutorThreads(), config.getExecutorQueueCapacity(), config.getCustomExecutor());
+            shared = new SharedClient(HttpClientFactory.createHttpClient(config, executor), executor);
+            clients.put(key, shared);
+            logger.info("Created shared HttpClient for {}", key);
+        }
+        shared.refCount++;
+        return shared.client;
+    }
+
+    /**
+     * Releases a reference obtained from {@link #acquire(RestClientConfig)}.
+     *
+     * @param config The REST client configuration
+     */
+    public static synchronized void release(RestClientConfig config) {
+        release(transportKey(config));
+    }
+
+    /**
+     * Releases a reference obtained from {@link #acquire(ClientConfiguration)}.
+     *
+     * @param config The API client configuration
+     */
+    public static synchronized void release(ClientConfiguration config) {
+        release(transportKey(config));
+    }
+
+    /**
+     * Drops every shared client regardless of outstanding references.
+     * Called when the gateway module shuts down.
+     */
+    public static synchronized void shutdown() {
+        if (!clients.isEmpty()) {
+            logger.info("Shutting down {} shared HttpClient(s)", clients.size());
+        }
+        clients.values().forEach(SharedClient::close);
+        clients.clear();
+    }
+
+    /**
+     * Gets the number of shared clients currently registered.
+     *
+     * @return Number of shared clients
+     */
+    public static synchronized int size() {
+        return clients.size();
+    }
+
+    private static void release(String key) {
+        SharedClient shared = clients.get(key);
+        if (shared == null) {
+            return;
+        }
+        if (--shared.refCount <= 0) {
+            clients.remove(key);
+            shared.close();
+            logger.info("Released last reference to shared HttpClient for {}", key);
+        }
+    }
+
+    /**
+     * Builds the registry key from the bridge origin and the settings that shape the transport.
+     */
+    static String transportKey(RestClientConfig config) {
+        return "rest|" + origin(config.getBaseUrl()) +
+                "|connectTimeout=" + config.getConnectTimeout() +
+                "|protocol=" + config.getHttpProtocol() +
+                executorKey(config.getExecutorMode(), config.getExecutorThreads(),
+                        config.getExecutorQueueCapacity(), config.getCustomExecutor());
+    }
+
+    static String transportKey(ClientConfiguration config) {
+        return "api|" + origin(config.getBaseUrl()) +
+                "|connectTimeout=" + config.getConnectionTimeoutSeconds() +
+                "|version=" + config.getHttpVersion() +
+                executorKey(config.getExecutorMode(), config.getExecutorThreads(),
+                        config.getExecutorQueueCapacity(), config.getCustomExecutor());
+    }
+
+    private static String executorKey(ExecutorMode mode, int threads, int queueCapacity, Executor customExecutor) {
+        switch (mode) {
+            case BOUNDED:
+            case VIRTUAL_THREADS:
+                // VIRTUAL_THREADS may fall back to a bounded pool, so the sizes are part of the key
+                return "|executor=" + mode + "/" + threads + "/" + queueCapacity;
+            case CUSTOM:
+                return "|executor=" + mode + "@" + System.identityHashCode(customExecutor);
+            default:
+                return "";
+        }
+    }
+
+    private static String origin(String baseUrl) {
+        try {
+            URI uri = URI.create(baseUrl);
+            if (uri.getScheme() != null && uri.getRawAuthority() != null) {
+                return uri.getScheme().toLowerCase() + "://" + uri.getRawAuthority().toLowerCase();
+            }
+        } catch (IllegalArgumentException e) {
+            // Fall through and key by the raw value
+        }
+        return String.valueOf(baseUrl);
+    }
+
+    /**
+     * A shared client and the number of API clients currently holding it.
+     */
+    private static class SharedClient {
+        private final HttpClient client;
+        private final TransportExecutor executor;
+        private int refCount;
+
+        SharedClient(HttpClient client, TransportExecutor executor) {
+            this.client = client;
+            this.executor = executor;
+        }
+
+        void close() {
+            // HttpClient only implements AutoCloseable from JDK 21; on older runtimes dropping
+            // the last reference lets its selector thread and pooled connections wind down.
+            if (client instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) client).close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close shared HttpClient: {}", e.getMessage());
+                }
+            }
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+}
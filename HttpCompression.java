@@ -0,0 +1,366 @@
+package system.score.vms.utils;
+
+import system.score.vms.exception.RestClientException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * HTTP content coding for requests to and responses from the bridge.
+ * Responses in gzip or deflate are inflated chunk by chunk as they arrive and handed to the
+ * wrapped body handler, so a compressed JSON body goes straight into the streaming parser
+ * without being inflated into a String first. Large request bodies can be gzipped.
+ * Bytes on the wire, decoded bytes and the time spent in the codec are published to
+ * {@link ClientMetrics} under {@code http.response.*} and {@code http.compression.*}.
+ */
+public class HttpCompression {
+
+    /**
+     * Value sent in the Accept-Encoding header when response compression is enabled.
+     */
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private static final int CHUNK_SIZE = 8192;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private HttpCompression() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Wraps a body handler so gzip and deflate responses are decoded before it sees them.
+     * Responses in any other coding are passed through unchanged.
+     *
+     * @param delegate Body handler for the decoded body
+     * @param <T> Response type
+     * @return Decoding body handler
+     */
+    public static <T> HttpResponse.BodyHandler<T> decoding(HttpResponse.BodyHandler<T> delegate) {
+        return responseInfo -> {
+            String encoding = responseInfo.headers().firstValue("Content-Encoding")
+                    .map(value -> value.trim().toLowerCase(Locale.ROOT))
+                    .orElse("identity");
+            return new DecodingSubscriber<>(delegate.apply(responseInfo), encoding);
+        };
+    }
+
+    /**
+     * Sets a JSON request body, gzipping it when it is at least {@code threshold} bytes long.
+     *
+     * @param builder Request builder
+     * @param method HTTP method
+     * @param json JSON body, may be null
+     * @param threshold Smallest body size in bytes that is compressed; 0 or less never compresses
+     */
+    public static void setBody(HttpRequest.Builder builder, String method, String json, int threshold) {
+        String body = json != null ? json : "";
+        if (threshold <= 0 || body.length() < threshold) {
+            builder.method(method, HttpRequest.BodyPublishers.ofString(body));
+            return;
+        }
+        byte[] raw = body.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < threshold) {
+            builder.method(method, HttpRequest.BodyPublishers.ofByteArray(raw));
+            return;
+        }
+        long start = System.nanoTime();
+        byte[] compressed = gzip(raw);
+        ClientMetrics.add("http.compression.request.deflateNanos", System.nanoTime() - start);
+        ClientMetrics.increment("http.compression.request.compressed");
+        ClientMetrics.add("http.compression.request.bytesIn", raw.length);
+        ClientMetrics.add("http.compression.request.bytesOut", compressed.length);
+        builder.header("Content-Encoding", "gzip")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(compressed));
+    }
+
+    private static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, CHUNK_SIZE)) {
+            gzip.write(raw);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to gzip request body", e); // In-memory streams do not fail
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Subscriber that decodes the response body and forwards one decoded batch per batch
+     * received, so the downstream subscriber's demand maps one-to-one onto the upstream.
+     */
+    static class DecodingSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+        private enum Stage { HEADER, BODY, TRAILER, DONE }
+
+        private final HttpResponse.BodySubscriber<T> downstream;
+        private final String encoding;
+        private final boolean gzip;
+        private final boolean decode;
+        private final CRC32 crc;
+        private Inflater inflater;
+        private Stage stage = Stage.HEADER;
+        private byte[] prefix = new byte[16];
+        private int prefixLength;
+        private Flow.Subscription subscription;
+        private boolean failed;
+        private long wireBytes;
+        private long decodedBytes;
+        private long codecNanos;
+
+        DecodingSubscriber(HttpResponse.BodySubscriber<T> downstream, String encoding) {
+            this.downstream = downstream;
+            this.encoding = encoding;
+            this.gzip = "gzip".equals(encoding) || "x-gzip".equals(encoding);
+            this.decode = gzip || "deflate".equals(encoding);
+            this.crc = gzip ? new CRC32() : null;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return downstream.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            if (failed) {
+                return;
+            }
+            if (!decode) {
+                for (ByteBuffer buffer : buffers) {
+                    wireBytes += buffer.remaining();
+                }
+                downstream.onNext(buffers);
+                return;
+            }
+            long start = System.nanoTime();
+            List<ByteBuffer> decoded = new ArrayList<>();
+            try {
+                for (ByteBuffer buffer : buffers) {
+                    wireBytes += buffer.remaining();
+                    decode(buffer, decoded);
+                }
+            } catch (IOException | DataFormatException e) {
+                failed = true;
+                subscription.cancel();
+                fail(new RestClientException("Failed to decode " + encoding + " response body: " +
+                        e.getMessage(), "RESPONSE_DECODING_ERROR", e));
+                return;
+            } finally {
+                codecNanos += System.nanoTime() - start;
+            }
+            downstream.onNext(decoded);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!failed) {
+                failed = true;
+                fail(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (failed) {
+                return;
+            }
+            if (decode && stage != Stage.DONE && wireBytes > 0) {
+                failed = true;
+                fail(new RestClientException("Truncated " + encoding + " response body",
+                        "RESPONSE_DECODING_ERROR"));
+                return;
+            }
+            release();
+            downstream.onComplete();
+        }
+
+        private void fail(Throwable error) {
+            release();
+            downstream.onError(error);
+        }
+
+        /**
+         * Frees the inflater and publishes the body's metrics. Called once per response.
+         */
+        private void release() {
+            if (inflater != null) {
+                inflater.end();
+                inflater = null;
+            }
+            ClientMetrics.add("http.response.wireBytes", wireBytes);
+            if (decode) {
+                ClientMetrics.increment("http.compression." + encoding + ".responses");
+                ClientMetrics.add("http.compression.inflateNanos", codecNanos);
+                ClientMetrics.add("http.response.decodedBytes", decodedBytes);
+            } else {
+                ClientMetrics.add("http.response.decodedBytes", wireBytes);
+            }
+        }
+
+        private void decode(ByteBuffer buffer, List<ByteBuffer> decoded) throws IOException, DataFormatException {
+            while (buffer.hasRemaining()) {
+                switch (stage) {
+                    case HEADER:
+                        readHeader(buffer, decoded);
+                        break;
+                    case BODY:
+                        inflater.setInput(buffer); // Advances the buffer as input is consumed
+                        inflate(decoded);
+                        if (inflater.finished()) {
+                            stage = gzip ? Stage.TRAILER : Stage.DONE;
+                            prefixLength = 0;
+                        } else if (buffer.hasRemaining()) {
+                            throw new DataFormatException("Inflater stopped before consuming its input");
+                        }
+                        break;
+                    case TRAILER:
+                        append(buffer.get());
+                        if (prefixLength == 8) {
+                            verifyTrailer();
+                            stage = Stage.DONE;
+                        }
+                        break;
+                    case DONE:
+                    default:
+                        buffer.position(buffer.limit()); // Ignore anything after the end of the stream
+                        break;
+                }
+            }
+        }
+
+        /**
+         * Collects the stream header byte by byte. For gzip this is the member header; for
+         * deflate it is the first two bytes, which tell a zlib stream from a raw one.
+         */
+        private void readHeader(ByteBuffer buffer, List<ByteBuffer> decoded) throws IOException, DataFormatException {
+            append(buffer.get());
+            if (gzip) {
+                if (gzipHeaderLength(prefix, prefixLength) < 0) {
+                    return;
+                }
+                inflater = new Inflater(true);
+                stage = Stage.BODY;
+                return;
+            }
+            if (prefixLength < 2) {
+                return;
+            }
+            int cmf = prefix[0] & 0xff;
+            int flg = prefix[1] & 0xff;
+            boolean zlib = (cmf & 0x0f) == 8 && ((cmf << 8) | flg) % 31 == 0;
+            inflater = new Inflater(!zlib);
+            inflater.setInput(prefix, 0, prefixLength);
+            stage = Stage.BODY;
+            inflate(decoded);
+        }
+
+        private void inflate(List<ByteBuffer> decoded) throws DataFormatException {
+            while (true) {
+                ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+                int length = inflater.inflate(chunk);
+                if (length > 0) {
+                    chunk.flip();
+                    if (crc != null) {
+                        crc.update(chunk.duplicate());
+                    }
+                    decoded.add(chunk);
+                    decodedBytes += length;
+                }
+                if (inflater.needsDictionary()) {
+                    throw new DataFormatException("Preset dictionaries are not supported");
+                }
+                if (length == 0 || inflater.finished()) {
+                    return;
+                }
+            }
+        }
+
+        private void verifyTrailer() throws IOException {
+            long expectedCrc = readIntLE(prefix, 0) & 0xffffffffL;
+            long expectedSize = readIntLE(prefix, 4) & 0xffffffffL;
+            if (expectedCrc != crc.getValue()) {
+                throw new IOException("Corrupt gzip body, CRC mismatch");
+            }
+            if (expectedSize != (decodedBytes & 0xffffffffL)) {
+                throw new IOException("Corrupt gzip body, size mismatch");
+            }
+        }
+
+        private void append(byte value) {
+            if (prefixLength == prefix.length) {
+                prefix = Arrays.copyOf(prefix, prefix.length * 2);
+            }
+            prefix[prefixLength++] = value;
+        }
+
+        private static int readIntLE(byte[] bytes, int offset) {
+            return (bytes[offset] & 0xff) | (bytes[offset + 1] & 0xff) << 8 |
+                    (bytes[offset + 2] & 0xff) << 16 | (bytes[offset + 3] & 0xff) << 24;
+        }
+
+        /**
+         * Parses a gzip member header (RFC 1952).
+         *
+         * @return Header length, or -1 if more bytes are needed
+         */
+        private static int gzipHeaderLength(byte[] header, int length) throws IOException {
+            if (length >= 2 && ((header[0] & 0xff) != 0x1f || (header[1] & 0xff) != 0x8b)) {
+                throw new IOException("Not in gzip format");
+            }
+            if (length < 10) {
+                return -1;
+            }
+            if (header[2] != 8) {
+                throw new IOException("Unsupported gzip compression method " + header[2]);
+            }
+            int flags = header[3] & 0xff;
+            int position = 10;
+            if ((flags & 0x04) != 0) { // FEXTRA
+                if (length < position + 2) {
+                    return -1;
+                }
+                position += 2 + ((header[position] & 0xff) | (header[position + 1] & 0xff) << 8);
+            }
+            if ((flags & 0x08) != 0) { // FNAME
+                position = skipZeroTerminated(header, position, length);
+            }
+            if (position >= 0 && (flags & 0x10) != 0) { // FCOMMENT
+                position = skipZeroTerminated(header, position, length);
+            }
+            if (position >= 0 && (flags & 0x02) != 0) { // FHCRC
+                position += 2;
+            }
+            return position >= 0 && length >= position ? position : -1;
+        }
+
+        private static int skipZeroTerminated(byte[] header, int position, int length) {
+            for (int i = position; i < length; i++) {
+                if (header[i] == 0) {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+    }
+}
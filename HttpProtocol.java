@@ -0,0 +1,60 @@
+package system.score.vms.config;
+
+import java.net.http.HttpClient;
+
+/**
+ * HTTP protocol used to talk to the VLite bridge.
+ */
+public enum HttpProtocol {
+
+    /**
+     * HTTP/1.1 only. Every concurrent request needs its own pooled connection.
+     */
+    HTTP_1_1(HttpClient.Version.HTTP_1_1),
+
+    /**
+     * Cleartext HTTP/2 for http:// bridges. The JDK client negotiates it with an
+     * {@code Upgrade: h2c} on the first request and multiplexes every later request
+     * over that one connection; bridges without HTTP/2 keep answering over HTTP/1.1.
+     */
+    H2C(HttpClient.Version.HTTP_2),
+
+    /**
+     * HTTP/2 over TLS for https:// bridges, negotiated with ALPN.
+     */
+    H2(HttpClient.Version.HTTP_2);
+
+    private final HttpClient.Version version;
+
+    HttpProtocol(HttpClient.Version version) {
+        this.version = version;
+    }
+
+    /**
+     * Gets the HttpClient version requested for this protocol.
+     *
+     * @return HttpClient version
+     */
+    public HttpClient.Version getVersion() {
+        return version;
+    }
+
+    /**
+     * Parses a protocol from configuration, defaulting to H2C for unknown values.
+     * "HTTP/1.1", "HTTP_1_1", "h2c" and "h2" are all accepted.
+     *
+     * @param value The configured value
+     * @return The matching protocol
+     */
+    public static HttpProtocol fromString(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return H2C;
+        }
+        String normalized = value.trim().toUpperCase().replace('/', '_').replace('.', '_');
+        try {
+            return valueOf(normalized);
+        } catch (IllegalArgumentException e) {
+            return H2C;
+        }
+    }
+}
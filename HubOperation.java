@@ -0,0 +1,49 @@
+package system.score.vms.client;
+
+import java.util.Objects;
+
+/**
+ * One read of one hub, for use in a batch. Instances are created by the API client that owns
+ * the operation, e.g. {@link VLiteCommonApiClient#hubTemp(int)}.
+ *
+ * @param <T> Response type
+ */
+public final class HubOperation<T> {
+
+    private final EndpointTemplate<T> endpoint;
+    private final int hubId;
+
+    HubOperation(EndpointTemplate<T> endpoint, int hubId) {
+        this.endpoint = Objects.requireNonNull(endpoint, "endpoint");
+        this.hubId = hubId;
+    }
+
+    public EndpointTemplate<T> getEndpoint() {
+        return endpoint;
+    }
+
+    public String getOperation() {
+        return endpoint.getOperation();
+    }
+
+    public int getHubId() {
+        return hubId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        HubOperation<?> that = (HubOperation<?>) o;
+        return hubId == that.hubId && endpoint.equals(that.endpoint);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(endpoint, hubId);
+    }
+
+    @Override
+    public String toString() {
+        return endpoint.getOperation() + ":" + hubId;
+    }
+}
@@ -0,0 +1,65 @@
+package system.score.vms.client;
+
+import system.score.vms.exception.RestClientException;
+
+/**
+ * Outcome of one operation in a batch: either its response or the error it failed with.
+ * A failed operation does not fail the rest of the batch.
+ *
+ * @param <T> Response type
+ */
+public final class HubOperationResult<T> {
+
+    private final HubOperation<T> operation;
+    private final T response;
+    private final RestClientException error;
+
+    private HubOperationResult(HubOperation<T> operation, T response, RestClientException error) {
+        this.operation = operation;
+        this.response = response;
+        this.error = error;
+    }
+
+    static <T> HubOperationResult<T> success(HubOperation<T> operation, T response) {
+        return new HubOperationResult<>(operation, response, null);
+    }
+
+    static <T> HubOperationResult<T> failure(HubOperation<T> operation, RestClientException error) {
+        return new HubOperationResult<>(operation, null, error);
+    }
+
+    public HubOperation<T> getOperation() {
+        return operation;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Gets the response.
+     *
+     * @return Deserialized response, or null if the operation failed
+     */
+    public T getResponse() {
+        return response;
+    }
+
+    /**
+     * Gets the error the operation failed with.
+     *
+     * @return Error, or null if the operation succeeded
+     */
+    public RestClientException getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "HubOperationResult{" +
+                "operation=" + operation +
+                ", success=" + isSuccess() +
+                (error != null ? ", error='" + error.getMessage() + '\'' : "") +
+                '}';
+    }
+}
@@ -0,0 +1,445 @@
+package system.score.vms.service;
+
+import system.score.vms.exception.ErrorCode;
+import system.score.vms.exception.ValidationException;
+import system.score.vms.utils.AsyncUtil;
+import system.score.vms.utils.ClientMetrics;
+import system.score.vms.utils.Deadline;
+import system.score.vms.utils.HashedTimerWheel;
+import system.score.vms.utils.ValidationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Polls hub metrics in the background and keeps the latest result of each for scripts to read,
+ * in place of one gateway timer script per metric looping over every hub.
+ * <p>
+ * Every (metric, hub) pair is its own schedule on one HashedTimerWheel, so ten thousand schedules
+ * cost one thread and constant work per poll. Start phases are spread evenly over the interval,
+ * so N hubs polled every T seconds send the bridge N/T requests per second rather than N requests
+ * at once every T seconds. Schedules run at a fixed rate against their own start time and do not
+ * drift; a poll still running when the next one is due is not overlapped, that slot is skipped.
+ * Polls go through the service's usual read path, so they share its cache, single-flight and
+ * session tracking with script calls.
+ * <p>
+ * A metric with an AdaptivePollingPolicy is polled at an interval that follows its value: each
+ * successful poll feeds the value's rate of change to the policy, which shortens the interval
+ * of a changing or alarming value and lengthens that of a stable one. A shorter interval takes
+ * effect at once, rebooking the pending poll.
+ */
+public class HubPoller {
+
+    private static final Logger logger = LoggerFactory.getLogger(HubPoller.class);
+
+    /**
+     * Fractional part of the golden ratio. Successive multiples of it, modulo 1, fill the unit
+     * interval evenly however many there are, so phases stay spread as schedules are added.
+     */
+    private static final double PHASE_STEP = 0.6180339887498949;
+
+    private final HashedTimerWheel wheel;
+    private final Map<String, Metric<?>> metrics = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Schedule> schedules = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PollResult> results = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AdaptivePollingPolicy> policies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, AtomicLong> phaseSequences = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for HubPoller.
+     *
+     * @param tickDuration Resolution of the polling timer
+     * @param wheelSize Number of timer buckets
+     */
+    HubPoller(Duration tickDuration, int wheelSize) {
+        this.wheel = new HashedTimerWheel("poller", tickDuration, wheelSize);
+        ClientMetrics.registerGauge("polling.schedules", schedules::size);
+        ClientMetrics.registerGauge("polling.request.rate", this::getRequestRate);
+    }
+
+    /**
+     * Registers a metric that can be polled.
+     *
+     * @param metric Operation name, e.g. vcGetHubTemp
+     * @param fetch Reads the metric for a hub within a deadline
+     * @param errorOf Gets the error of an unsuccessful response, or null if it succeeded
+     * @param sampleOf Gets the numeric value of a successful response that adaptive polling
+     *                 follows, or null if it has none; null if the metric has no numeric value
+     * @param <V> Response type
+     */
+    <V> void register(String metric, BiFunction<Integer, Deadline, CompletableFuture<V>> fetch,
+                      Function<? super V, String> errorOf, Function<? super V, Double> sampleOf) {
+        metrics.put(metric, new Metric<>(fetch, errorOf, sampleOf));
+    }
+
+    /**
+     * Polls a metric adaptively, for existing and future schedules. The interval given when a
+     * hub is scheduled is then only the starting interval.
+     *
+     * @param metric Operation name, e.g. vcGetHubTemp
+     * @param policy Adaptive policy, or null to return to fixed intervals
+     */
+    public void setAdaptivePolicy(String metric, AdaptivePollingPolicy policy) {
+        if (policy == null) {
+            policies.remove(metric);
+            for (Schedule schedule : schedules.values()) {
+                if (schedule.metric.equals(metric)) {
+                    schedule.reset();
+                }
+            }
+        } else {
+            policies.put(metric, policy);
+        }
+    }
+
+    public AdaptivePollingPolicy getAdaptivePolicy(String metric) {
+        return policies.get(metric);
+    }
+
+    /**
+     * Starts polling a metric for a hub, or changes the interval of an existing schedule.
+     * The first poll runs within one interval, at a phase chosen to keep polls spread out.
+     * Each poll is bounded by a deadline of one interval.
+     *
+     * @param metric Operation name, e.g. vcGetHubTemp
+     * @param hubId Hub ID
+     * @param interval Time between polls
+     */
+    public void schedule(String metric, int hubId, Duration interval) {
+        ValidationUtils.isGreaterThanZero(hubId, "hubId");
+        Metric<?> registered = metrics.get(metric);
+        if (registered == null) {
+            throw new ValidationException(ErrorCode.VLITE_ERR_INVALID_INPUT, "metric");
+        }
+        if (interval == null || interval.toMillis() <= 0) {
+            throw new ValidationException(ErrorCode.VLITE_ERR_NOT_ZERO, "interval");
+        }
+        String key = key(metric, hubId);
+        long intervalNanos = interval.toNanos();
+        Schedule existing = schedules.get(key);
+        if (existing != null && existing.baseIntervalNanos == intervalNanos) {
+            return;
+        }
+        long sequence = phaseSequences.computeIfAbsent(intervalNanos, ignored -> new AtomicLong()).getAndIncrement();
+        long phaseNanos = (long) ((sequence * PHASE_STEP) % 1.0 * intervalNanos);
+        Schedule schedule = new Schedule(metric, hubId, registered, intervalNanos);
+        Schedule previous = schedules.put(key, schedule);
+        if (previous != null) {
+            previous.cancel();
+        }
+        schedule.start(phaseNanos);
+        logger.debug("Polling {} for hub {} every {}ms, first in {}ms", metric, hubId, interval.toMillis(),
+                TimeUnit.NANOSECONDS.toMillis(phaseNanos));
+    }
+
+    /**
+     * Stops polling a metric for a hub and forgets its latest result.
+     *
+     * @return true if the metric was being polled
+     */
+    public boolean unschedule(String metric, int hubId) {
+        String key = key(metric, hubId);
+        Schedule schedule = schedules.remove(key);
+        results.remove(key);
+        if (schedule == null) {
+            return false;
+        }
+        schedule.cancel();
+        return true;
+    }
+
+    /**
+     * Stops polling every metric of a hub.
+     *
+     * @return Number of schedules stopped
+     */
+    public int unscheduleHub(int hubId) {
+        int stopped = 0;
+        for (Schedule schedule : schedules.values()) {
+            if (schedule.hubId == hubId && unschedule(schedule.metric, hubId)) {
+                stopped++;
+            }
+        }
+        return stopped;
+    }
+
+    /**
+     * Stops every schedule.
+     */
+    public void unscheduleAll() {
+        for (Schedule schedule : schedules.values()) {
+            unschedule(schedule.metric, schedule.hubId);
+        }
+    }
+
+    /**
+     * Gets the latest result of a polled metric.
+     *
+     * @return Latest result, or null if the metric is not polled for the hub or has not been polled yet
+     */
+    public PollResult getResult(String metric, int hubId) {
+        return results.get(key(metric, hubId));
+    }
+
+    /**
+     * Gets the latest results of a metric for every hub it is polled for.
+     *
+     * @param metric Operation name, or null for every metric
+     * @return Latest results
+     */
+    public List<PollResult> getResults(String metric) {
+        List<PollResult> matching = new ArrayList<>();
+        for (PollResult result : results.values()) {
+            if (metric == null || metric.equals(result.getMetric())) {
+                matching.add(result);
+            }
+        }
+        return matching;
+    }
+
+    public int getScheduleCount() {
+        return schedules.size();
+    }
+
+    /**
+     * Gets the interval currently used by a schedule, which differs from the scheduled one when
+     * the metric is polled adaptively.
+     *
+     * @return Effective interval, or null if the metric is not polled for the hub
+     */
+    public Duration getInterval(String metric, int hubId) {
+        Schedule schedule = schedules.get(key(metric, hubId));
+        return schedule != null ? Duration.ofNanos(schedule.intervalNanos) : null;
+    }
+
+    /**
+     * Gets the number of requests per second all schedules put on the bridge at their
+     * current intervals, before any cache hits.
+     *
+     * @return Effective total request rate per second
+     */
+    public double getRequestRate() {
+        double rate = 0;
+        for (Schedule schedule : schedules.values()) {
+            rate += 1e9 / schedule.intervalNanos;
+        }
+        return rate;
+    }
+
+    /**
+     * Stops every schedule and the timer thread.
+     */
+    public void close() {
+        unscheduleAll();
+        wheel.stop();
+        ClientMetrics.removeGauges("polling.");
+    }
+
+    private static String key(String metric, int hubId) {
+        return metric + ":" + hubId;
+    }
+
+    /**
+     * Read function, success test and value of a pollable metric.
+     */
+    private static final class Metric<V> {
+
+        private final BiFunction<Integer, Deadline, CompletableFuture<V>> fetch;
+        private final Function<? super V, String> errorOf;
+        private final Function<? super V, Double> sampleOf;
+
+        private Metric(BiFunction<Integer, Deadline, CompletableFuture<V>> fetch, Function<? super V, String> errorOf,
+                       Function<? super V, Double> sampleOf) {
+            this.fetch = fetch;
+            this.errorOf = errorOf;
+            this.sampleOf = sampleOf;
+        }
+    }
+
+    /**
+     * Fixed-rate schedule of one metric for one hub. Each firing first books the next one, at
+     * the next slot of the grid after now, then starts the poll. Every booking gets a number,
+     * and a firing whose booking has been replaced does nothing, so rebooking never leaves two
+     * chains of polls running.
+     */
+    private final class Schedule {
+
+        private final String metric;
+        private final int hubId;
+        private final Metric<?> target;
+        private final long baseIntervalNanos;
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+        private volatile long intervalNanos;
+        private volatile boolean cancelled;
+        private HashedTimerWheel.Timeout timeout;
+        private long booking;
+        private long nextDueNanos;
+        private double lastSample = Double.NaN;
+        private long lastSampleNanos;
+        private double ratePerSecond;
+
+        private Schedule(String metric, int hubId, Metric<?> target, long intervalNanos) {
+            this.metric = metric;
+            this.hubId = hubId;
+            this.target = target;
+            this.baseIntervalNanos = intervalNanos;
+            this.intervalNanos = intervalNanos;
+        }
+
+        private synchronized void start(long phaseNanos) {
+            long now = System.nanoTime();
+            nextDueNanos = now + phaseNanos;
+            book(now);
+        }
+
+        private synchronized void cancel() {
+            cancelled = true;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+
+        /**
+         * Returns to the scheduled interval when adaptive polling is turned off.
+         */
+        private synchronized void reset() {
+            lastSample = Double.NaN;
+            ratePerSecond = 0;
+            changeInterval(baseIntervalNanos);
+        }
+
+        private void book(long now) {
+            long current = ++booking;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            timeout = wheel.schedule(() -> fire(current), Math.max(0, nextDueNanos - now), TimeUnit.NANOSECONDS);
+        }
+
+        private void fire(long fired) {
+            if (due(fired)) {
+                poll(target);
+            }
+        }
+
+        /**
+         * Books the next poll and decides whether this one runs.
+         */
+        private synchronized boolean due(long fired) {
+            if (cancelled || fired != booking) {
+                return false;
+            }
+            long now = System.nanoTime();
+            long slots = 0;
+            do {
+                nextDueNanos += intervalNanos;
+                slots++;
+            } while (nextDueNanos - now <= 0);
+            if (slots > 1) {
+                ClientMetrics.add("polling.missed", slots - 1);
+            }
+            book(now);
+            if (!inFlight.compareAndSet(false, true)) {
+                ClientMetrics.increment("polling.skipped");
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Switches to a new interval. A longer one takes effect after the pending poll; a shorter
+         * one moves the pending poll forward to one new interval after the last poll.
+         */
+        private void changeInterval(long newIntervalNanos) {
+            long previous = intervalNanos;
+            intervalNanos = newIntervalNanos;
+            if (newIntervalNanos >= previous || cancelled || timeout == null) {
+                return;
+            }
+            long due = nextDueNanos - previous + newIntervalNanos;
+            if (due - nextDueNanos < 0) {
+                long now = System.nanoTime();
+                nextDueNanos = due - now < 0 ? now : due;
+                book(now);
+            }
+        }
+
+        /**
+         * Feeds a polled value to the adaptive policy of the metric, if it has one. The rate of
+         * change jumps to a faster observed rate at once and halves per poll otherwise.
+         */
+        private synchronized void adapt(double sample) {
+            AdaptivePollingPolicy policy = policies.get(metric);
+            long now = System.nanoTime();
+            if (policy != null && !Double.isNaN(lastSample) && now > lastSampleNanos) {
+                double rate = Math.abs(sample - lastSample) / ((now - lastSampleNanos) / 1e9);
+                ratePerSecond = Math.max(rate, ratePerSecond / 2);
+                long next = policy.nextInterval(Duration.ofNanos(intervalNanos), sample, ratePerSecond).toNanos();
+                if (next != intervalNanos) {
+                    ClientMetrics.increment(next < intervalNanos ? "polling.adaptive.faster" : "polling.adaptive.slower");
+                    changeInterval(next);
+                }
+            }
+            lastSample = sample;
+            lastSampleNanos = now;
+        }
+
+        private <V> void poll(Metric<V> metric) {
+            ClientMetrics.increment("polling.runs");
+            long start = System.nanoTime();
+            CompletableFuture<V> future;
+            try {
+                future = metric.fetch.apply(hubId, Deadline.after(Duration.ofNanos(intervalNanos)));
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((response, error) -> {
+                try {
+                    String failure = error != null ? AsyncUtil.toRestClientException(error).getMessage()
+                            : metric.errorOf.apply(response);
+                    record(response, failure, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    Double sample = failure == null && metric.sampleOf != null ? metric.sampleOf.apply(response) : null;
+                    if (sample != null && !sample.isNaN()) {
+                        adapt(sample);
+                    }
+                } finally {
+                    inFlight.set(false);
+                }
+            });
+        }
+
+        /**
+         * Stores the outcome of a poll, unless the schedule was stopped or replaced meanwhile.
+         * A failure keeps the last successful response.
+         */
+        private void record(Object response, String failure, long latencyMillis) {
+            String key = key(metric, hubId);
+            if (schedules.get(key) != this) {
+                return;
+            }
+            PollResult previous = results.get(key);
+            boolean success = failure == null;
+            if (!success) {
+                ClientMetrics.increment("polling.failures");
+                logger.debug("Polling {} for hub {} failed: {}", metric, hubId, failure);
+            }
+            results.put(key, new PollResult(metric, hubId, success,
+                    success ? response : previous != null ? previous.getResponse() : null, failure,
+                    ValidationUtils.currentTimestamp(), System.currentTimeMillis(), latencyMillis,
+                    TimeUnit.NANOSECONDS.toMillis(intervalNanos),
+                    success ? 0 : previous != null ? previous.getConsecutiveFailures() + 1 : 1));
+        }
+    }
+}
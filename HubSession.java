@@ -0,0 +1,168 @@
+package system.score.vms.service;
+
+import system.score.vms.model.response.VcConnectResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Immutable snapshot of the session with one hub, identified by its IP address and port.
+ * HubSessionManager replaces the snapshot atomically on every state change, so a snapshot
+ * read from the registry is always internally consistent.
+ * The password and the pending connect are kept for reconnecting and are not exposed.
+ */
+public final class HubSession {
+
+    /**
+     * Lifecycle of a session. A disconnected session is removed from the registry.
+     */
+    public enum State {
+        CONNECTING,
+        CONNECTED,
+        FAILED
+    }
+
+    private final String ipAddress;
+    private final int port;
+    private final String password;
+    private final Boolean readOnly;
+    private final State state;
+    private final VcConnectResponse connectResponse;
+    private final String lastError;
+    private final int reconnectAttempts;
+    private final CompletableFuture<VcConnectResponse> pending;
+
+    private HubSession(String ipAddress, int port, String password, Boolean readOnly, State state,
+                       VcConnectResponse connectResponse, String lastError, int reconnectAttempts,
+                       CompletableFuture<VcConnectResponse> pending) {
+        this.ipAddress = ipAddress;
+        this.port = port;
+        this.password = password;
+        this.readOnly = readOnly;
+        this.state = state;
+        this.connectResponse = connectResponse;
+        this.lastError = lastError;
+        this.reconnectAttempts = reconnectAttempts;
+        this.pending = pending;
+    }
+
+    /**
+     * Creates the snapshot of a session whose first connect has just been started.
+     */
+    static HubSession connecting(String ipAddress, int port, String password, Boolean readOnly,
+                                 CompletableFuture<VcConnectResponse> pending) {
+        return new HubSession(ipAddress, port, password, readOnly, State.CONNECTING, null, null, 0, pending);
+    }
+
+    /**
+     * Gets the snapshot after a new connect was started with the given credentials.
+     */
+    HubSession reconnecting(String password, Boolean readOnly, int reconnectAttempts,
+                            CompletableFuture<VcConnectResponse> pending) {
+        return new HubSession(ipAddress, port, password, readOnly, State.CONNECTING, connectResponse, lastError,
+                reconnectAttempts, pending);
+    }
+
+    HubSession connected(VcConnectResponse connectResponse) {
+        return new HubSession(ipAddress, port, password, readOnly, State.CONNECTED, connectResponse, null, 0, null);
+    }
+
+    HubSession failed(String error) {
+        return new HubSession(ipAddress, port, password, readOnly, State.FAILED, connectResponse, error,
+                reconnectAttempts, null);
+    }
+
+    /**
+     * Gets the registry key of a session.
+     *
+     * @param ipAddress IP address of the hub
+     * @param port Port of the hub
+     * @return Key in the form {@code ip:port}
+     */
+    static String address(String ipAddress, int port) {
+        return ipAddress + ":" + port;
+    }
+
+    public String getAddress() {
+        return address(ipAddress, port);
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public Boolean getReadOnly() {
+        return readOnly;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Gets the hub ID the bridge assigned on the last successful connect.
+     *
+     * @return Hub ID, or 0 if the hub has never been connected
+     */
+    public int getHubId() {
+        return connectResponse != null && connectResponse.getVcConnectDataResponse() != null
+                ? connectResponse.getVcConnectDataResponse().getHubId() : 0;
+    }
+
+    public String getConnectionKey() {
+        return connectResponse != null && connectResponse.getVcConnectDataResponse() != null
+                ? connectResponse.getVcConnectDataResponse().getConnectionKey() : null;
+    }
+
+    public String getHubSerialNo() {
+        return connectResponse != null && connectResponse.getVcConnectDataResponse() != null
+                ? connectResponse.getVcConnectDataResponse().getHubSerialNo() : null;
+    }
+
+    public String getConnectedAt() {
+        return connectResponse != null && connectResponse.getVcConnectDataResponse() != null
+                ? connectResponse.getVcConnectDataResponse().getConnectedAt() : null;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Gets the number of background reconnects attempted since the session was last connected.
+     */
+    public int getReconnectAttempts() {
+        return reconnectAttempts;
+    }
+
+    public boolean isConnected() {
+        return state == State.CONNECTED;
+    }
+
+    String getPassword() {
+        return password;
+    }
+
+    VcConnectResponse getConnectResponse() {
+        return connectResponse;
+    }
+
+    CompletableFuture<VcConnectResponse> getPending() {
+        return pending;
+    }
+
+    @Override
+    public String toString() {
+        return "HubSession{" +
+                "address='" + getAddress() + '\'' +
+                ", hubId=" + getHubId() +
+                ", state=" + state +
+                ", readOnly=" + readOnly +
+                ", reconnectAttempts=" + reconnectAttempts +
+                ", lastError='" + lastError + '\'' +
+                '}';
+    }
+}
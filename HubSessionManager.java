@@ -0,0 +1,349 @@
+package system.score.vms.service;
+
+import system.score.vms.cache.ResponseCache;
+import system.score.vms.client.VLiteCommonApiClient;
+import system.score.vms.config.RestClientConfig;
+import system.score.vms.exception.ApiException;
+import system.score.vms.model.request.VcConnectRequest;
+import system.score.vms.model.response.VcConnectResponse;
+import system.score.vms.model.response.VcDisconnectResponse;
+import system.score.vms.resilience.RetryPolicy;
+import system.score.vms.utils.AsyncUtil;
+import system.score.vms.utils.ClientMetrics;
+import system.score.vms.utils.Deadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps track of the sessions with the hubs, keyed by the hub's IP address and port.
+ * Each session is an immutable HubSession held in an AtomicReference and moved between
+ * CONNECTING, CONNECTED and FAILED by compare-and-set, so no locks are taken on any path.
+ * <ul>
+ *     <li>A connect to a hub that is already connected with the same credentials returns the
+ *     stored response without calling the bridge.</li>
+ *     <li>Connects to a hub that is already connecting join the connect in flight.</li>
+ *     <li>When a telemetry call shows that a connected hub's session was dropped, the session is
+ *     re-established in the background with jittered exponential backoff, up to
+ *     RestClientConfig.getSessionReconnectMaxAttempts() attempts.</li>
+ * </ul>
+ */
+public class HubSessionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(HubSessionManager.class);
+
+    /**
+     * Error texts in telemetry responses that mean the bridge no longer knows the hub's session.
+     */
+    private static final Pattern DROPPED_SESSION = Pattern.compile(
+            "not connected|disconnected|invalid connection|connection (?:lost|closed|key)", Pattern.CASE_INSENSITIVE);
+
+    private final VLiteCommonApiClient vLiteCommonApiClient;
+    private final ResponseCache responseCache;
+    private final RetryPolicy reconnectPolicy;
+    private final int maxReconnectAttempts;
+    // Entries are never removed; a disconnected hub's reference is set to null instead, so a
+    // connect racing a disconnect can never register its session in a detached reference
+    private final ConcurrentMap<String, AtomicReference<HubSession>> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, String> addressesByHub = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * Constructor for HubSessionManager.
+     *
+     * @param vLiteCommonApiClient Client used to connect and disconnect hubs
+     */
+    public HubSessionManager(VLiteCommonApiClient vLiteCommonApiClient) {
+        this.vLiteCommonApiClient = vLiteCommonApiClient;
+        RestClientConfig config = vLiteCommonApiClient.getConfig();
+        this.responseCache = config.getResponseCache();
+        this.reconnectPolicy = config.getSessionReconnectPolicy();
+        this.maxReconnectAttempts = config.getSessionReconnectMaxAttempts();
+        ClientMetrics.registerGauge("session.connected", () -> countSessions(HubSession.State.CONNECTED));
+        ClientMetrics.registerGauge("session.failed", () -> countSessions(HubSession.State.FAILED));
+    }
+
+    /**
+     * Connects a hub, reusing its live session or joining a connect already in flight.
+     * A session is reused only if it was opened with the same password and read-only flag.
+     * The connect itself runs under the client's default deadline, since callers that join it may
+     * have longer deadlines than the one that started it; each caller waits only until its own.
+     *
+     * @param vcConnectRequest VLite connect request
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the connect response
+     */
+    public CompletableFuture<VcConnectResponse> connect(VcConnectRequest vcConnectRequest, Deadline deadline) {
+        String address = HubSession.address(vcConnectRequest.getIpAddress(), vcConnectRequest.getPort());
+        AtomicReference<HubSession> ref = sessions.computeIfAbsent(address, key -> new AtomicReference<>());
+        while (true) {
+            HubSession current = ref.get();
+            if (current != null && sameCredentials(current, vcConnectRequest)) {
+                if (current.getState() == HubSession.State.CONNECTED) {
+                    ClientMetrics.increment("session.connect.reused");
+                    return CompletableFuture.completedFuture(current.getConnectResponse());
+                }
+                if (current.getState() == HubSession.State.CONNECTING) {
+                    ClientMetrics.increment("session.connect.coalesced");
+                    return deadline.bound(current.getPending().copy());
+                }
+            }
+            CompletableFuture<VcConnectResponse> pending = new CompletableFuture<>();
+            HubSession connecting = current == null
+                    ? HubSession.connecting(vcConnectRequest.getIpAddress(), vcConnectRequest.getPort(),
+                            vcConnectRequest.getPassword(), vcConnectRequest.getReadOnly(), pending)
+                    : current.reconnecting(vcConnectRequest.getPassword(), vcConnectRequest.getReadOnly(), 0, pending);
+            if (ref.compareAndSet(current, connecting)) {
+                startConnect(ref, connecting, vcConnectRequest, vLiteCommonApiClient.newDeadline(), -1);
+                return deadline.bound(pending.copy());
+            }
+        }
+    }
+
+    /**
+     * Disconnects a hub and forgets its session, cancelling any background reconnect.
+     *
+     * @param hubId ID of Hub
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the disconnect response
+     */
+    public CompletableFuture<VcDisconnectResponse> disconnect(int hubId, Deadline deadline) {
+        String address = addressesByHub.remove(hubId);
+        if (address != null) {
+            HubSession removed = sessions.get(address).getAndSet(null);
+            if (removed != null) {
+                logger.info("Closed session with hub {} at {}", hubId, address);
+            }
+        }
+        return vLiteCommonApiClient.disconnectAsync(hubId, deadline)
+                .whenComplete((vcDisconnectResponse, error) -> invalidateCachedResponses(hubId));
+    }
+
+    /**
+     * Feeds the outcome of a telemetry call into the session registry. If it shows that the
+     * bridge dropped the hub's session, the session is marked FAILED and reconnected in the
+     * background. Only the first report of a drop starts a reconnect.
+     *
+     * @param hubId ID of Hub
+     * @param success Success flag of the response, or null if the call failed
+     * @param error Error text of the response, or null
+     * @param failure Error the call failed with, or null
+     */
+    public void onTelemetry(int hubId, Boolean success, String error, Throwable failure) {
+        if (closed || !indicatesDroppedSession(success, error, failure)) {
+            return;
+        }
+        String address = addressesByHub.get(hubId);
+        AtomicReference<HubSession> ref = address != null ? sessions.get(address) : null;
+        HubSession current = ref != null ? ref.get() : null;
+        if (current == null || !current.isConnected() || current.getHubId() != hubId) {
+            return;
+        }
+        String reason = failure != null ? AsyncUtil.unwrap(failure).getMessage() : error;
+        HubSession dropped = current.failed("Session dropped: " + reason);
+        if (ref.compareAndSet(current, dropped)) {
+            ClientMetrics.increment("session.dropped");
+            logger.warn("Session with hub {} at {} was dropped ({}), reconnecting", hubId, address, reason);
+            scheduleReconnect(ref, dropped, 0);
+        }
+    }
+
+    /**
+     * Gets the session of a hub.
+     *
+     * @param hubId ID of Hub
+     * @return Session snapshot, or null if the hub has no session
+     */
+    public HubSession getSession(int hubId) {
+        String address = addressesByHub.get(hubId);
+        return address != null ? sessions.get(address).get() : null;
+    }
+
+    /**
+     * Checks whether a hub has a live session.
+     *
+     * @param hubId ID of Hub
+     * @return true if the hub's session is CONNECTED
+     */
+    public boolean isConnected(int hubId) {
+        HubSession session = getSession(hubId);
+        return session != null && session.isConnected();
+    }
+
+    /**
+     * Gets a snapshot of every session, including those still connecting or failed.
+     *
+     * @return Session snapshots
+     */
+    public List<HubSession> getSessions() {
+        List<HubSession> snapshot = new ArrayList<>();
+        for (AtomicReference<HubSession> ref : sessions.values()) {
+            HubSession session = ref.get();
+            if (session != null) {
+                snapshot.add(session);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Stops background reconnects. Sessions are left as they are on the bridge.
+     */
+    public void close() {
+        closed = true;
+    }
+
+    /**
+     * Sends a connect and moves the session to CONNECTED or FAILED with its outcome.
+     * The transition is skipped if the session was replaced meanwhile, e.g. by a disconnect.
+     *
+     * @param reconnectDelayMillis Delay before this attempt if it is a background reconnect, otherwise -1
+     */
+    private void startConnect(AtomicReference<HubSession> ref, HubSession connecting, VcConnectRequest vcConnectRequest,
+                              Deadline deadline, long reconnectDelayMillis) {
+        ClientMetrics.increment("session.connect.calls");
+        CompletableFuture<VcConnectResponse> pending = connecting.getPending();
+        CompletableFuture<VcConnectResponse> call;
+        try {
+            call = vLiteCommonApiClient.connectAsync(vcConnectRequest, deadline);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((vcConnectResponse, error) -> {
+            HubSession outcome;
+            if (error == null && isEstablished(vcConnectResponse)) {
+                outcome = connecting.connected(vcConnectResponse);
+            } else {
+                outcome = connecting.failed(error != null
+                        ? AsyncUtil.toRestClientException(error).getMessage() : describeFailure(vcConnectResponse));
+            }
+            if (ref.compareAndSet(connecting, outcome)) {
+                if (outcome.isConnected()) {
+                    register(outcome, connecting);
+                } else {
+                    ClientMetrics.increment("session.connect.failures");
+                    logger.warn("Failed to connect hub at {}: {}", outcome.getAddress(), outcome.getLastError());
+                    if (reconnectDelayMillis >= 0) {
+                        scheduleReconnect(ref, outcome, reconnectDelayMillis);
+                    }
+                }
+            }
+            if (error != null) {
+                pending.completeExceptionally(AsyncUtil.unwrap(error));
+            } else {
+                pending.complete(vcConnectResponse);
+            }
+        });
+    }
+
+    private void register(HubSession connected, HubSession previous) {
+        int hubId = connected.getHubId();
+        int previousHubId = previous.getHubId();
+        if (previousHubId != 0 && previousHubId != hubId) {
+            addressesByHub.remove(previousHubId, connected.getAddress());
+            invalidateCachedResponses(previousHubId);
+        }
+        addressesByHub.put(hubId, connected.getAddress());
+        invalidateCachedResponses(hubId);
+        if (previous.getReconnectAttempts() > 0) {
+            ClientMetrics.increment("session.reconnected");
+            logger.info("Reconnected hub {} at {} after {} attempt(s)", hubId, connected.getAddress(),
+                    previous.getReconnectAttempts());
+        } else {
+            logger.info("Connected hub {} at {}", hubId, connected.getAddress());
+        }
+    }
+
+    /**
+     * Schedules the next background reconnect of a failed session. It only runs if the session
+     * is still in exactly this state by then, so an explicit connect or disconnect cancels it.
+     */
+    private void scheduleReconnect(AtomicReference<HubSession> ref, HubSession failed, long previousDelayMillis) {
+        int attempt = failed.getReconnectAttempts() + 1;
+        if (closed || attempt > maxReconnectAttempts) {
+            if (maxReconnectAttempts > 0) {
+                logger.warn("Giving up reconnecting hub at {} after {} attempt(s)", failed.getAddress(), attempt - 1);
+            }
+            return;
+        }
+        long delayMillis = reconnectPolicy.nextDelayMillis(attempt, previousDelayMillis);
+        CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS).execute(() -> {
+            if (closed) {
+                return;
+            }
+            CompletableFuture<VcConnectResponse> pending = new CompletableFuture<>();
+            HubSession connecting = failed.reconnecting(failed.getPassword(), failed.getReadOnly(), attempt, pending);
+            if (!ref.compareAndSet(failed, connecting)) {
+                return;
+            }
+            ClientMetrics.increment("session.reconnect.attempts");
+            VcConnectRequest vcConnectRequest = new VcConnectRequest();
+            vcConnectRequest.setIpAddress(failed.getIpAddress());
+            vcConnectRequest.setPort(failed.getPort());
+            vcConnectRequest.setPassword(failed.getPassword());
+            vcConnectRequest.setReadOnly(failed.getReadOnly());
+            startConnect(ref, connecting, vcConnectRequest, vLiteCommonApiClient.newDeadline(), delayMillis);
+        });
+    }
+
+    private static boolean sameCredentials(HubSession session, VcConnectRequest vcConnectRequest) {
+        return Objects.equals(session.getPassword(), vcConnectRequest.getPassword())
+                && Objects.equals(session.getReadOnly(), vcConnectRequest.getReadOnly());
+    }
+
+    private static boolean isEstablished(VcConnectResponse vcConnectResponse) {
+        return vcConnectResponse != null && Boolean.TRUE.equals(vcConnectResponse.getSuccess())
+                && vcConnectResponse.getVcConnectDataResponse() != null
+                && vcConnectResponse.getVcConnectDataResponse().getConnectionKey() != null;
+    }
+
+    private static String describeFailure(VcConnectResponse vcConnectResponse) {
+        if (vcConnectResponse == null) {
+            return "Empty connect response";
+        }
+        if (vcConnectResponse.getVcConnectDataResponse() != null
+                && vcConnectResponse.getVcConnectDataResponse().getErrorMessage() != null) {
+            return vcConnectResponse.getVcConnectDataResponse().getErrorMessage();
+        }
+        return vcConnectResponse.getError() != null ? vcConnectResponse.getError() : "Connect was not successful";
+    }
+
+    /**
+     * Checks whether a telemetry outcome means the bridge no longer has a session for the hub:
+     * a 404 or 410 for the hub, or an unsuccessful response whose error says it is not connected.
+     */
+    static boolean indicatesDroppedSession(Boolean success, String error, Throwable failure) {
+        if (failure != null) {
+            Throwable cause = AsyncUtil.unwrap(failure);
+            return cause instanceof ApiException
+                    && (((ApiException) cause).getStatusCode() == 404 || ((ApiException) cause).getStatusCode() == 410);
+        }
+        return Boolean.FALSE.equals(success) && error != null && DROPPED_SESSION.matcher(error).find();
+    }
+
+    private int countSessions(HubSession.State state) {
+        int count = 0;
+        for (AtomicReference<HubSession> ref : sessions.values()) {
+            HubSession session = ref.get();
+            if (session != null && session.getState() == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void invalidateCachedResponses(int hubId) {
+        if (responseCache != null) {
+            responseCache.invalidateHub(hubId);
+        }
+    }
+}
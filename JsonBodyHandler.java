@@ -0,0 +1,186 @@
+package system.score.vms.utils;
+
+import system.score.vms.exception.ApiException;
+import system.score.vms.exception.RestClientException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Body handler that binds JSON responses directly from the network buffers.
+ * Each chunk is fed into Jackson's non-blocking parser as it arrives, so the body is never
+ * copied into an intermediate String and never scanned twice.
+ * Non-2xx responses complete exceptionally with an ApiException carrying the raw body.
+ *
+ * @param <T> Response type
+ */
+public class JsonBodyHandler<T> implements HttpResponse.BodyHandler<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(JsonBodyHandler.class);
+
+    private final ObjectMapper objectMapper;
+    private final Class<T> responseType;
+
+    private JsonBodyHandler(ObjectMapper objectMapper, Class<T> responseType) {
+        this.objectMapper = objectMapper;
+        this.responseType = responseType;
+    }
+
+    /**
+     * Creates a body handler that binds the response to the given type.
+     *
+     * @param jsonUtil JsonUtil providing the configured ObjectMapper
+     * @param responseType Class type for deserialization
+     * @param <T> Response type
+     * @return Streaming JSON body handler
+     */
+    public static <T> JsonBodyHandler<T> of(JsonUtil jsonUtil, Class<T> responseType) {
+        return new JsonBodyHandler<>(jsonUtil.getObjectMapper(), responseType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public HttpResponse.BodySubscriber<T> apply(HttpResponse.ResponseInfo responseInfo) {
+        int statusCode = responseInfo.statusCode();
+        if (!HttpUtil.isSuccessful(statusCode)) {
+            return HttpResponse.BodySubscribers.mapping(
+                    HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8),
+                    body -> {
+                        throw new CompletionException(new ApiException(
+                                "API request failed with status code: " + statusCode, statusCode, body));
+                    });
+        }
+        if (responseType == String.class) {
+            return (HttpResponse.BodySubscriber<T>) HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8);
+        }
+        return new JsonBodySubscriber<>(objectMapper, responseType);
+    }
+
+    /**
+     * Subscriber feeding response chunks into a non-blocking JSON parser.
+     * Parsed tokens are buffered and bound to the target type once the body is complete.
+     */
+    static class JsonBodySubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+        private final ObjectMapper objectMapper;
+        private final Class<T> responseType;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+        private final TokenBuffer tokens;
+        private Flow.Subscription subscription;
+        private byte[] scratch;
+        private boolean hasTokens;
+
+        JsonBodySubscriber(ObjectMapper objectMapper, Class<T> responseType) {
+            this.objectMapper = objectMapper;
+            this.responseType = responseType;
+            try {
+                this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to create non-blocking JSON parser", e);
+            }
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+            this.tokens = new TokenBuffer(objectMapper, false);
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                for (ByteBuffer buffer : buffers) {
+                    feed(buffer);
+                }
+            } catch (IOException e) {
+                subscription.cancel();
+                fail(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                feeder.endOfInput();
+                drain();
+                if (!hasTokens) {
+                    result.complete(null); // Empty body, same as JsonUtil.fromJson
+                    return;
+                }
+                try (JsonParser bufferedParser = tokens.asParser(objectMapper)) {
+                    result.complete(objectMapper.readValue(bufferedParser, responseType));
+                }
+                logger.debug("Deserialized streamed JSON to object of type: {}", responseType.getSimpleName());
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        private void feed(ByteBuffer buffer) throws IOException {
+            int length = buffer.remaining();
+            if (length == 0) {
+                return;
+            }
+            if (buffer.hasArray()) {
+                int start = buffer.arrayOffset() + buffer.position();
+                feeder.feedInput(buffer.array(), start, start + length);
+            } else {
+                if (scratch == null || scratch.length < length) {
+                    scratch = new byte[Math.max(length, 8192)];
+                }
+                buffer.get(scratch, 0, length);
+                feeder.feedInput(scratch, 0, length);
+            }
+            // The feeder only accepts new input once the current chunk is fully consumed
+            drain();
+        }
+
+        private void drain() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                tokens.copyCurrentEvent(parser);
+                hasTokens = true;
+            }
+        }
+
+        private void fail(IOException e) {
+            logger.error("Failed to deserialize streamed JSON to {}", responseType.getSimpleName(), e);
+            result.completeExceptionally(new RestClientException("Failed to deserialize JSON to " +
+                    responseType.getSimpleName() + ": " + e.getMessage(), "JSON_DESERIALIZATION_ERROR", e));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package system.score.vms.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent response latencies of one operation and answers percentile queries.
+ * Samples are held in a fixed-size ring, so the percentiles follow the bridge's current
+ * behaviour rather than its whole history.
+ */
+public class LatencyTracker {
+
+    private final long[] samples;
+    private int count;
+    private int next;
+
+    /**
+     * Constructor for LatencyTracker.
+     *
+     * @param capacity Number of recent samples to keep
+     */
+    public LatencyTracker(int capacity) {
+        this.samples = new long[Math.max(1, capacity)];
+    }
+
+    /**
+     * Records one observed latency.
+     *
+     * @param latencyMillis Latency in milliseconds
+     */
+    public synchronized void record(long latencyMillis) {
+        samples[next] = latencyMillis;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    /**
+     * Gets the latency at the given percentile of the recorded samples.
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return Latency in milliseconds, or -1 if nothing has been recorded
+     */
+    public long percentile(double percentile) {
+        long[] sorted;
+        synchronized (this) {
+            if (count == 0) {
+                return -1;
+            }
+            sorted = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Gets the number of samples currently held.
+     *
+     * @return Sample count, at most the capacity
+     */
+    public synchronized int getSampleCount() {
+        return count;
+    }
+}
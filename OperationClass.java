@@ -0,0 +1,22 @@
+package system.score.vms.client;
+
+/**
+ * Classes of bridge operation that are isolated from each other by bulkheads.
+ */
+public enum OperationClass {
+
+    /**
+     * Telemetry reads: temperature, utilisation, startup and IP details.
+     */
+    TELEMETRY,
+
+    /**
+     * Session control: initialize, connect and disconnect.
+     */
+    SESSION_CONTROL,
+
+    /**
+     * Configuration writes such as cfSetHubTagName.
+     */
+    CONFIGURATION
+}
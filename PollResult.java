@@ -0,0 +1,100 @@
+package system.score.vms.service;
+
+/**
+ * Latest outcome of one polled metric for one hub, as kept by HubPoller.
+ * A failed poll keeps the last successful response, so scripts can keep showing
+ * the last known value while they flag it as stale.
+ */
+public final class PollResult {
+
+    private final String metric;
+    private final int hubId;
+    private final boolean success;
+    private final Object response;
+    private final String error;
+    private final String polledAt;
+    private final long polledAtMillis;
+    private final long latencyMillis;
+    private final long intervalMillis;
+    private final int consecutiveFailures;
+
+    PollResult(String metric, int hubId, boolean success, Object response, String error, String polledAt,
+               long polledAtMillis, long latencyMillis, long intervalMillis, int consecutiveFailures) {
+        this.metric = metric;
+        this.hubId = hubId;
+        this.success = success;
+        this.response = response;
+        this.error = error;
+        this.polledAt = polledAt;
+        this.polledAtMillis = polledAtMillis;
+        this.latencyMillis = latencyMillis;
+        this.intervalMillis = intervalMillis;
+        this.consecutiveFailures = consecutiveFailures;
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public int getHubId() {
+        return hubId;
+    }
+
+    /**
+     * Checks whether the last poll succeeded.
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * Gets the response of the last successful poll, or null if no poll has succeeded yet.
+     */
+    public Object getResponse() {
+        return response;
+    }
+
+    /**
+     * Gets the error of the last poll, or null if it succeeded.
+     */
+    public String getError() {
+        return error;
+    }
+
+    public String getPolledAt() {
+        return polledAt;
+    }
+
+    public long getPolledAtMillis() {
+        return polledAtMillis;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    /**
+     * Gets the polling interval in effect when the result was recorded.
+     */
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    @Override
+    public String toString() {
+        return "PollResult{" +
+                "metric='" + metric + '\'' +
+                ", hubId=" + hubId +
+                ", success=" + success +
+                ", polledAt='" + polledAt + '\'' +
+                ", latencyMillis=" + latencyMillis +
+                ", intervalMillis=" + intervalMillis +
+                ", consecutiveFailures=" + consecutiveFailures +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
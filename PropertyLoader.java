@@ -41,6 +41,14 @@ public class PropertyLoader {
         }
     }
 
+    public static double getDouble(String key, double defaultValue) {
+        try {
+            return Double.parseDouble(get(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     public static boolean getBoolean(String key, boolean defaultValue) {
         return Boolean.parseBoolean(get(key, String.valueOf(defaultValue)));
     }
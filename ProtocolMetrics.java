@@ -0,0 +1,70 @@
+package system.score.vms.utils;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes how exchanges with the bridge use the transport.
+ * For each negotiated HTTP version it counts responses ({@code http.protocol.<version>.responses})
+ * and tracks the most exchanges that were in flight together ({@code .peakConcurrent}).
+ * The JDK client keeps a single HTTP/2 connection per origin, so for HTTP_2 the peak is the
+ * number of streams multiplexed onto one connection; over HTTP/1.1 every concurrent exchange
+ * holds its own pooled connection, so the peak is roughly the number of connections opened.
+ */
+public class ProtocolMetrics {
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicLong completed = new AtomicLong();
+    private static final Map<HttpClient.Version, AtomicInteger> peakConcurrent = new EnumMap<>(HttpClient.Version.class);
+
+    static {
+        for (HttpClient.Version version : HttpClient.Version.values()) {
+            AtomicInteger peak = new AtomicInteger();
+            peakConcurrent.put(version, peak);
+            ClientMetrics.registerGauge("http.protocol." + version + ".peakConcurrent", peak::get);
+        }
+        ClientMetrics.registerGauge("http.protocol.inFlight", inFlight::get);
+    }
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ProtocolMetrics() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Records that an exchange was handed to the HttpClient.
+     */
+    public static void onSend() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Records the end of an exchange started with {@link #onSend()}.
+     *
+     * @param response The response, or null if the exchange failed
+     */
+    public static void onComplete(HttpResponse<?> response) {
+        int concurrent = inFlight.getAndDecrement();
+        completed.incrementAndGet();
+        if (response != null) {
+            HttpClient.Version version = response.version();
+            ClientMetrics.increment("http.protocol." + version + ".responses");
+            peakConcurrent.get(version).accumulateAndGet(concurrent, Math::max);
+        }
+    }
+
+    /**
+     * Gets the number of exchanges completed since startup, successful or not.
+     *
+     * @return Completed exchange count
+     */
+    public static long getCompletedExchanges() {
+        return completed.get();
+    }
+}
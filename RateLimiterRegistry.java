@@ -0,0 +1,63 @@
+package system.score.vms.resilience;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Token-bucket rate limiters keyed by operation name.
+ * Operations without a configured limiter are not rate limited, so cheap telemetry reads
+ * keep flowing while expensive operations such as connect are throttled.
+ */
+public class RateLimiterRegistry {
+
+    private final ConcurrentMap<String, TokenBucketRateLimiter> limiters = new ConcurrentHashMap<>();
+
+    /**
+     * Configures the limiter for an operation. A zero or negative rate removes it.
+     *
+     * @param operation Operation name, e.g. "connect"
+     * @param ratePerSecond Sustained rate of calls per second
+     * @param burst Largest number of calls allowed back to back
+     * @param mode What to do when the bucket is empty
+     * @param maxWait Longest a caller may wait for a token in WAIT mode
+     */
+    public void configure(String operation, double ratePerSecond, int burst, TokenBucketRateLimiter.Mode mode,
+                          Duration maxWait) {
+        if (ratePerSecond <= 0) {
+            limiters.remove(operation);
+        } else {
+            limiters.put(operation, new TokenBucketRateLimiter(operation, ratePerSecond, burst, mode, maxWait));
+        }
+    }
+
+    /**
+     * Takes a token for one call of the operation.
+     *
+     * @param operation Operation name
+     * @return Future completing when the call may proceed, or failing with RATE_LIMITED
+     */
+    public CompletableFuture<Void> acquire(String operation) {
+        TokenBucketRateLimiter limiter = limiters.get(operation);
+        return limiter != null ? limiter.acquire() : CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Gets the configured limiters, sorted by operation name.
+     *
+     * @return Operation names mapped to their limiter
+     */
+    public Map<String, TokenBucketRateLimiter> getLimiters() {
+        return new TreeMap<>(limiters);
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimiterRegistry{" +
+                "limiters=" + limiters.values() +
+                '}';
+    }
+}
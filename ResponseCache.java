@@ -0,0 +1,185 @@
+package system.score.vms.cache;
+
+import system.score.vms.utils.ClientMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded TTL cache for hub responses that change slowly.
+ * Entries are keyed by operation and hubId and expire after the operation's TTL.
+ * Operations without a TTL bypass the cache entirely. When the cache is full, expired
+ * entries are dropped first and then the entries closest to expiry.
+ */
+public class ResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCache.class);
+
+    private final int maxEntries;
+    private final ConcurrentMap<String, Long> ttlNanos = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Constructor for ResponseCache.
+     *
+     * @param maxEntries Maximum number of cached responses
+     */
+    public ResponseCache(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        ClientMetrics.registerGauge("cache.size", entries::size);
+    }
+
+    /**
+     * Sets how long responses of an operation stay cached. A zero or negative TTL disables caching.
+     *
+     * @param operation Operation name, e.g. "vcGetHubStartUp"
+     * @param ttl Time to live
+     */
+    public void setTtl(String operation, Duration ttl) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            ttlNanos.remove(operation);
+        } else {
+            ttlNanos.put(operation, ttl.toNanos());
+        }
+    }
+
+    /**
+     * Gets the TTL configured for an operation.
+     *
+     * @param operation Operation name
+     * @return Time to live, Duration.ZERO if the operation is not cached
+     */
+    public Duration getTtl(String operation) {
+        Long ttl = ttlNanos.get(operation);
+        return ttl != null ? Duration.ofNanos(ttl) : Duration.ZERO;
+    }
+
+    /**
+     * Returns the cached response for the operation and hub, or loads and caches it.
+     * Cancelling the returned future cancels the load.
+     *
+     * @param operation Operation name
+     * @param hubId ID of Hub
+     * @param loader Loads the response on a miss
+     * @param cacheable Decides whether a loaded response may be cached, e.g. only successes
+     * @param <V> Response type
+     * @return Future completing with the cached or loaded response
+     */
+    @SuppressWarnings("unchecked")
+    public <V> CompletableFuture<V> getOrLoad(String operation, int hubId, Supplier<CompletableFuture<V>> loader,
+                                              Predicate<? super V> cacheable) {
+        Long ttl = ttlNanos.get(operation);
+        if (ttl == null) {
+            return loader.get();
+        }
+        String key = operation + ":" + hubId;
+        Entry entry = entries.get(key);
+        long now = System.nanoTime();
+        if (entry != null && now - entry.expiresAt < 0) {
+            ClientMetrics.increment("cache." + operation + ".hits");
+            return CompletableFuture.completedFuture((V) entry.value);
+        }
+        ClientMetrics.increment("cache." + operation + ".misses");
+
+        // A load that overlaps an invalidation must not repopulate the cache with stale data
+        long generation = invalidations.get();
+        CompletableFuture<V> load = loader.get();
+        CompletableFuture<V> result = load.thenApply(value -> {
+            if (value != null && cacheable.test(value) && invalidations.get() == generation) {
+                put(key, new Entry(hubId, value, System.nanoTime() + ttl));
+            }
+            return value;
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                load.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Drops every cached response for a hub, e.g. after it is disconnected or reconfigured.
+     *
+     * @param hubId ID of Hub
+     */
+    public void invalidateHub(int hubId) {
+        invalidations.incrementAndGet();
+        entries.values().removeIf(entry -> entry.hubId == hubId);
+        logger.debug("Invalidated cached responses for hub {}", hubId);
+    }
+
+    /**
+     * Drops every cached response.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of cached responses, including expired ones not yet evicted.
+     *
+     * @return Cache size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(String key, Entry entry) {
+        entries.put(key, entry);
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    private synchronized void evict() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> now - entry.expiresAt >= 0);
+        while (entries.size() > maxEntries) {
+            String oldest = null;
+            long oldestExpiry = Long.MAX_VALUE;
+            for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+                long remaining = candidate.getValue().expiresAt - now;
+                if (oldest == null || remaining < oldestExpiry) {
+                    oldest = candidate.getKey();
+                    oldestExpiry = remaining;
+                }
+            }
+            if (oldest == null) {
+                break;
+            }
+            entries.remove(oldest);
+            ClientMetrics.increment("cache.evictions");
+        }
+    }
+
+    private static final class Entry {
+        private final int hubId;
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(int hubId, Object value, long expiresAt) {
+            this.hubId = hubId;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseCache{" +
+                "maxEntries=" + maxEntries +
+                ", size=" + entries.size() +
+                '}';
+    }
+}
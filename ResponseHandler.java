@@ -38,4 +38,12 @@ public class ResponseHandler {
             throw new ApiException("API request failed with status: " + statusCode, statusCode, responseBody);
         }
     }
+    
+    /**
+     * Creates a body handler that streams the response straight into the specified type.
+     * Error statuses surface as an ApiException, matching handleResponse.
+     */
+    public <T> HttpResponse.BodyHandler<T> bodyHandler(Class<T> responseType) {
+        return JsonBodyHandler.of(jsonUtil, responseType);
+    }
 }
\ No newline at end of file
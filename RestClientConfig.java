@@ -1,6 +1,19 @@
 package system.score.vms.config;
 
+import system.score.vms.cache.ResponseCache;
+import system.score.vms.resilience.AdaptiveConcurrencyLimiter;
+import system.score.vms.resilience.BridgeBalancer;
+import system.score.vms.resilience.BulkheadRegistry;
+import system.score.vms.resilience.CircuitBreakerRegistry;
+import system.score.vms.resilience.DecorrelatedJitterRetryPolicy;
+import system.score.vms.resilience.HedgingPolicy;
+import system.score.vms.resilience.RateLimiterRegistry;
+import system.score.vms.resilience.RetryBudget;
+import system.score.vms.resilience.RetryPolicy;
+
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Configuration class for REST client settings.
@@ -9,11 +22,40 @@ import java.time.Duration;
 public class RestClientConfig {
     
     private final String baseUrl;
+    private final List<String> baseUrls;
     private final String apiKey;
     private final Duration connectTimeout;
     private final Duration requestTimeout;
     private final int maxRetries;
     private final boolean enableLogging;
+    private HttpProtocol httpProtocol = HttpProtocol.H2C;
+    private boolean compressionEnabled = true;
+    private int requestCompressionThreshold;
+    private boolean conditionalRequestsEnabled = true;
+    private Duration defaultDeadline;
+    private int batchMaxSize = 100;
+    private int fanOutMaxConcurrency = 16;
+    private ExecutorMode executorMode = ExecutorMode.DEFAULT;
+    private int executorThreads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    private int executorQueueCapacity = 1000;
+    private Executor customExecutor;
+    private RetryPolicy retryPolicy = new DecorrelatedJitterRetryPolicy(Duration.ofMillis(100), Duration.ofSeconds(5));
+    private RetryBudget retryBudget = new RetryBudget(0.1, 1, Duration.ofSeconds(10));
+    private RetryPolicy sessionReconnectPolicy = new DecorrelatedJitterRetryPolicy(Duration.ofSeconds(1), Duration.ofSeconds(60));
+    private int sessionReconnectMaxAttempts = 10;
+    private RetryPolicy subscriptionReconnectPolicy = new DecorrelatedJitterRetryPolicy(Duration.ofSeconds(1), Duration.ofSeconds(30));
+    private Duration subscriptionIdleTimeout = Duration.ofSeconds(45);
+    private Duration subscriptionFallbackInterval = Duration.ofSeconds(10);
+    private Duration pollingTickDuration = Duration.ofMillis(100);
+    private int pollingWheelSize = 512;
+    private CircuitBreakerRegistry circuitBreakerRegistry =
+            new CircuitBreakerRegistry(20, 5, 50, Duration.ofSeconds(30), 1);
+    private HedgingPolicy hedgingPolicy;
+    private ResponseCache responseCache;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private RateLimiterRegistry rateLimiterRegistry;
+    private BulkheadRegistry bulkheadRegistry;
+    private BridgeBalancer bridgeBalancer;
     
     /**
      * Default constructor that loads configuration from environment variables
@@ -21,6 +63,7 @@ public class RestClientConfig {
      */
     public RestClientConfig() {
         this.baseUrl = getEnvOrDefault("API_BASE_URL", "http://localhost:5000");
+        this.baseUrls = List.of(baseUrl);
         this.apiKey = getEnvOrDefault("API_KEY", "default-api-key");
         //Changing the timeout duration to milli seconds
         //this.connectTimeout = Duration.ofSeconds(getLongEnvOrDefault("CONNECT_TIMEOUT", 30));
@@ -29,6 +72,10 @@ public class RestClientConfig {
         this.requestTimeout = Duration.ofMillis(getLongEnvOrDefault("REQUEST_TIMEOUT", 60));
         this.maxRetries = getIntEnvOrDefault("MAX_RETRIES", 3);
         this.enableLogging = getBooleanEnvOrDefault("ENABLE_REQUEST_LOGGING", true);
+        this.httpProtocol = HttpProtocol.fromString(getEnvOrDefault("HTTP_PROTOCOL", "H2C"));
+        this.executorMode = ExecutorMode.fromString(getEnvOrDefault("HTTP_EXECUTOR_MODE", "DEFAULT"));
+        this.executorThreads = getIntEnvOrDefault("HTTP_EXECUTOR_THREADS", executorThreads);
+        this.executorQueueCapacity = getIntEnvOrDefault("HTTP_EXECUTOR_QUEUE_CAPACITY", executorQueueCapacity);
     }
     
     /**
@@ -36,7 +83,21 @@ public class RestClientConfig {
      */
     public RestClientConfig(String baseUrl, String apiKey, Duration connectTimeout, 
                            Duration requestTimeout, int maxRetries, boolean enableLogging) {
-        this.baseUrl = baseUrl;
+        this(List.of(baseUrl), apiKey, connectTimeout, requestTimeout, maxRetries, enableLogging);
+    }
+
+    /**
+     * Constructor for a pool of bridge processes, e.g. several bridges on the gateway host on
+     * different ports. Calls are only spread over the bridges once a BridgeBalancer built from
+     * them is set; see setBridgeBalancer.
+     */
+    public RestClientConfig(List<String> baseUrls, String apiKey, Duration connectTimeout,
+                            Duration requestTimeout, int maxRetries, boolean enableLogging) {
+        if (baseUrls == null || baseUrls.isEmpty()) {
+            throw new IllegalArgumentException("At least one base URL is required");
+        }
+        this.baseUrls = List.copyOf(baseUrls);
+        this.baseUrl = this.baseUrls.get(0);
         this.apiKey = apiKey;
         this.connectTimeout = connectTimeout;
         this.requestTimeout = requestTimeout;
@@ -44,9 +105,20 @@ public class RestClientConfig {
         this.enableLogging = enableLogging;
     }
     
+    /**
+     * Gets the base URL of the first bridge. Requests are built against it and moved to the
+     * bridge the BridgeBalancer picks when there is more than one.
+     */
     public String getBaseUrl() {
         return baseUrl;
     }
+
+    /**
+     * Gets the base URL of every bridge, the first being getBaseUrl().
+     */
+    public List<String> getBaseUrls() {
+        return baseUrls;
+    }
     
     public String getApiKey() {
         return apiKey;
@@ -67,6 +139,317 @@ public class RestClientConfig {
     public boolean isLoggingEnabled() {
         return enableLogging;
     }
+
+    public HttpProtocol getHttpProtocol() {
+        return httpProtocol;
+    }
+
+    /**
+     * Sets the HTTP protocol used to talk to the bridge.
+     * Must be set before any client is created from this configuration.
+     */
+    public void setHttpProtocol(HttpProtocol httpProtocol) {
+        this.httpProtocol = httpProtocol != null ? httpProtocol : HttpProtocol.H2C;
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    /**
+     * Sets whether gzip and deflate responses are requested with Accept-Encoding.
+     * Must be set before any client is created from this configuration.
+     */
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    public int getRequestCompressionThreshold() {
+        return requestCompressionThreshold;
+    }
+
+    /**
+     * Sets the smallest request body, in bytes, that is sent gzipped. 0 never compresses requests.
+     */
+    public void setRequestCompressionThreshold(int requestCompressionThreshold) {
+        this.requestCompressionThreshold = Math.max(0, requestCompressionThreshold);
+    }
+
+    public Duration getDefaultDeadline() {
+        return defaultDeadline;
+    }
+
+    /**
+     * Sets the time budget for calls made without an explicit deadline, retries included.
+     * While this is null such calls are bounded only by the per-attempt timeout and retries.
+     */
+    public void setDefaultDeadline(Duration defaultDeadline) {
+        this.defaultDeadline = defaultDeadline != null && !defaultDeadline.isZero() && !defaultDeadline.isNegative()
+                ? defaultDeadline : null;
+    }
+
+    public int getBatchMaxSize() {
+        return batchMaxSize;
+    }
+
+    /**
+     * Sets the largest number of operations sent in one batch request; larger batches are split.
+     * 1 or less disables batching, so every operation is sent on its own.
+     */
+    public void setBatchMaxSize(int batchMaxSize) {
+        this.batchMaxSize = Math.max(1, batchMaxSize);
+    }
+
+    public int getFanOutMaxConcurrency() {
+        return fanOutMaxConcurrency;
+    }
+
+    /**
+     * Sets how many per-hub calls of one multi-hub read may be in flight at once.
+     */
+    public void setFanOutMaxConcurrency(int fanOutMaxConcurrency) {
+        this.fanOutMaxConcurrency = Math.max(1, fanOutMaxConcurrency);
+    }
+
+    public ExecutorMode getExecutorMode() {
+        return executorMode;
+    }
+
+    /**
+     * Sets the threading model for the HTTP transport's asynchronous work.
+     * Must be set before any client is created from this configuration.
+     */
+    public void setExecutorMode(ExecutorMode executorMode) {
+        this.executorMode = executorMode != null ? executorMode : ExecutorMode.DEFAULT;
+    }
+
+    public int getExecutorThreads() {
+        return executorThreads;
+    }
+
+    /**
+     * Sets the number of platform threads used in BOUNDED mode.
+     */
+    public void setExecutorThreads(int executorThreads) {
+        this.executorThreads = executorThreads;
+    }
+
+    public int getExecutorQueueCapacity() {
+        return executorQueueCapacity;
+    }
+
+    /**
+     * Sets the task queue capacity used in BOUNDED mode.
+     */
+    public void setExecutorQueueCapacity(int executorQueueCapacity) {
+        this.executorQueueCapacity = executorQueueCapacity;
+    }
+
+    public Executor getCustomExecutor() {
+        return customExecutor;
+    }
+
+    /**
+     * Sets the caller-owned executor used in CUSTOM mode. It is never shut down by the client.
+     */
+    public void setCustomExecutor(Executor customExecutor) {
+        this.customExecutor = customExecutor;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Sets the backoff policy used between retry attempts.
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    public RetryPolicy getSessionReconnectPolicy() {
+        return sessionReconnectPolicy;
+    }
+
+    /**
+     * Sets the backoff policy between background reconnects of a dropped hub session.
+     */
+    public void setSessionReconnectPolicy(RetryPolicy sessionReconnectPolicy) {
+        this.sessionReconnectPolicy = sessionReconnectPolicy;
+    }
+
+    public int getSessionReconnectMaxAttempts() {
+        return sessionReconnectMaxAttempts;
+    }
+
+    /**
+     * Sets how many times a dropped hub session is reconnected in the background before the
+     * session is left FAILED. 0 disables background reconnects.
+     */
+    public void setSessionReconnectMaxAttempts(int sessionReconnectMaxAttempts) {
+        this.sessionReconnectMaxAttempts = Math.max(0, sessionReconnectMaxAttempts);
+    }
+
+    public RetryPolicy getSubscriptionReconnectPolicy() {
+        return subscriptionReconnectPolicy;
+    }
+
+    /**
+     * Sets the backoff policy between attempts to reopen a dropped telemetry stream.
+     */
+    public void setSubscriptionReconnectPolicy(RetryPolicy subscriptionReconnectPolicy) {
+        this.subscriptionReconnectPolicy = subscriptionReconnectPolicy;
+    }
+
+    public Duration getSubscriptionIdleTimeout() {
+        return subscriptionIdleTimeout;
+    }
+
+    /**
+     * Sets how long a telemetry stream may go without an event or heartbeat before it is
+     * considered dead and reopened. Keep it above the bridge's heartbeat interval.
+     */
+    public void setSubscriptionIdleTimeout(Duration subscriptionIdleTimeout) {
+        this.subscriptionIdleTimeout = subscriptionIdleTimeout;
+    }
+
+    public Duration getSubscriptionFallbackInterval() {
+        return subscriptionFallbackInterval;
+    }
+
+    /**
+     * Sets how often subscribed hubs are polled while their telemetry stream is down.
+     */
+    public void setSubscriptionFallbackInterval(Duration subscriptionFallbackInterval) {
+        this.subscriptionFallbackInterval = subscriptionFallbackInterval;
+    }
+
+    public boolean isConditionalRequestsEnabled() {
+        return conditionalRequestsEnabled;
+    }
+
+    /**
+     * Enables revalidating the responses of conditional operations with If-None-Match and
+     * If-Modified-Since instead of downloading them again.
+     */
+    public void setConditionalRequestsEnabled(boolean conditionalRequestsEnabled) {
+        this.conditionalRequestsEnabled = conditionalRequestsEnabled;
+    }
+
+    public Duration getPollingTickDuration() {
+        return pollingTickDuration;
+    }
+
+    /**
+     * Sets the resolution of the background polling timer. Polls fire up to one tick late.
+     */
+    public void setPollingTickDuration(Duration pollingTickDuration) {
+        this.pollingTickDuration = pollingTickDuration;
+    }
+
+    public int getPollingWheelSize() {
+        return pollingWheelSize;
+    }
+
+    /**
+     * Sets the number of buckets of the polling timer. Ticks times buckets should cover the
+     * usual polling interval, so each poll is visited once per firing.
+     */
+    public void setPollingWheelSize(int pollingWheelSize) {
+        this.pollingWheelSize = Math.max(2, pollingWheelSize);
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * Sets the retry budget shared by every client created from this configuration.
+     * A null budget allows every retry the policy asks for.
+     */
+    public void setRetryBudget(RetryBudget retryBudget) {
+        this.retryBudget = retryBudget;
+    }
+
+    public CircuitBreakerRegistry getCircuitBreakerRegistry() {
+        return circuitBreakerRegistry;
+    }
+
+    /**
+     * Sets the per-hub and per-operation circuit breakers shared by every client created
+     * from this configuration. A null registry disables circuit breaking.
+     */
+    public void setCircuitBreakerRegistry(CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+    }
+
+    public HedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
+    }
+
+    /**
+     * Enables hedged requests for idempotent GET operations. Hedging is off while this is null.
+     */
+    public void setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+        this.hedgingPolicy = hedgingPolicy;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Sets the cache for slowly-changing hub responses shared by the services. Caching is off while this is null.
+     */
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * Sets the limiter bounding in-flight requests to the bridge. Requests are not limited while this is null.
+     */
+    public void setConcurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    public RateLimiterRegistry getRateLimiterRegistry() {
+        return rateLimiterRegistry;
+    }
+
+    /**
+     * Sets the per-operation token-bucket rate limiters. Operations are not rate limited while this is null.
+     */
+    public void setRateLimiterRegistry(RateLimiterRegistry rateLimiterRegistry) {
+        this.rateLimiterRegistry = rateLimiterRegistry;
+    }
+
+    public BulkheadRegistry getBulkheadRegistry() {
+        return bulkheadRegistry;
+    }
+
+    /**
+     * Sets the per-operation-class bulkheads. Operation classes are not isolated while this is null.
+     */
+    public void setBulkheadRegistry(BulkheadRegistry bulkheadRegistry) {
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    public BridgeBalancer getBridgeBalancer() {
+        return bridgeBalancer;
+    }
+
+    /**
+     * Sets the balancer that spreads calls over the bridges. It must be built from getBaseUrls().
+     * Every call goes to getBaseUrl() while this is null.
+     * Must be set before any client is created from this configuration.
+     */
+    public void setBridgeBalancer(BridgeBalancer bridgeBalancer) {
+        this.bridgeBalancer = bridgeBalancer;
+    }
     
     /**
      * Utility methods for environment variable handling
@@ -105,11 +488,35 @@ public class RestClientConfig {
     @Override
     public String toString() {
         return "RestClientConfig{" +
-                "baseUrl='" + baseUrl + '\'' +
+                "baseUrls=" + baseUrls +
                 ", connectTimeout=" + connectTimeout +
                 ", requestTimeout=" + requestTimeout +
                 ", maxRetries=" + maxRetries +
                 ", enableLogging=" + enableLogging +
+                ", httpProtocol=" + httpProtocol +
+                ", compressionEnabled=" + compressionEnabled +
+                ", requestCompressionThreshold=" + requestCompressionThreshold +
+                ", conditionalRequestsEnabled=" + conditionalRequestsEnabled +
+                ", defaultDeadline=" + defaultDeadline +
+                ", batchMaxSize=" + batchMaxSize +
+                ", fanOutMaxConcurrency=" + fanOutMaxConcurrency +
+                ", executorMode=" + executorMode +
+                ", executorThreads=" + executorThreads +
+                ", executorQueueCapacity=" + executorQueueCapacity +
+                ", retryPolicy=" + retryPolicy +
+                ", retryBudget=" + retryBudget +
+                ", sessionReconnectMaxAttempts=" + sessionReconnectMaxAttempts +
+                ", subscriptionIdleTimeout=" + subscriptionIdleTimeout +
+                ", subscriptionFallbackInterval=" + subscriptionFallbackInterval +
+                ", pollingTickDuration=" + pollingTickDuration +
+                ", pollingWheelSize=" + pollingWheelSize +
+                ", circuitBreakerRegistry=" + circuitBreakerRegistry +
+                ", hedgingPolicy=" + hedgingPolicy +
+                ", responseCache=" + responseCache +
+                ", concurrencyLimiter=" + concurrencyLimiter +
+                ", rateLimiterRegistry=" + rateLimiterRegistry +
+                ", bulkheadRegistry=" + bulkheadRegistry +
+                ", bridgeBalancer=" + bridgeBalancer +
                 '}';
     }
 }
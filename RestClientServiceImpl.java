@@ -1,12 +1,17 @@
 package system.score.vms.service.impl;
 
-import system.score.vms.config.HttpClientConfig;
+import system.score.vms.config.HttpClientRegistry;
 import system.score.vms.config.RestClientConfig;
 import system.score.vms.exception.ApiException;
 import system.score.vms.exception.NetworkException;
 import system.score.vms.exception.RestClientException;
+import system.score.vms.resilience.AdaptiveConcurrencyLimiter;
+import system.score.vms.resilience.RetryBudget;
+import system.score.vms.utils.AsyncUtil;
 import system.score.vms.service.RestClientService;
+import system.score.vms.utils.ClientMetrics;
 import system.score.vms.utils.HttpUtil;
+import system.score.vms.utils.ProtocolMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,6 +21,7 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Implementation of REST client service using Java HTTP Client
@@ -26,10 +32,20 @@ public class RestClientServiceImpl implements RestClientService {
     
     private final HttpClient httpClient;
     private final RestClientConfig config;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
     
     public RestClientServiceImpl(RestClientConfig config) {
         this.config = config;
-        this.httpClient = HttpClientConfig.createHttpClient(config);
+        this.httpClient = HttpClientRegistry.acquire(config);
+    }
+    
+    /**
+     * Releases the shared HTTP client held by this service.
+     */
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            HttpClientRegistry.release(config);
+        }
     }
     
     @Override
@@ -90,6 +106,12 @@ public class RestClientServiceImpl implements RestClientService {
     private HttpResponse<String> executeWithRetry(HttpRequest request) throws RestClientException {
         int attempts = 0;
         int maxAttempts = config.getMaxRetries() + 1;
+        long delayMillis = 0;
+        
+        RetryBudget retryBudget = config.getRetryBudget();
+        if (retryBudget != null) {
+            retryBudget.recordRequest();
+        }
         
         while (attempts < maxAttempts) {
             attempts++;
@@ -98,14 +120,14 @@ public class RestClientServiceImpl implements RestClientService {
                 logger.debug("Executing HTTP request: {} {} (attempt {}/{})", 
                            request.method(), request.uri(), attempts, maxAttempts);
                 
-                HttpResponse<String> response = httpClient.send(request, 
-                                                              HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> response = send(request);
                 
                 // Check if response indicates an error that should be retried
                 if (shouldRetry(response, attempts, maxAttempts)) {
-                    logger.warn("Request failed with status {}, retrying in 1000ms", 
-                              response.statusCode());
-                    Thread.sleep(1000);
+                    delayMillis = config.getRetryPolicy().nextDelayMillis(attempts, delayMillis);
+                    logger.warn("Request failed with status {}, retrying in {}ms", 
+                              response.statusCode(), delayMillis);
+                    Thread.sleep(delayMillis);
                     continue;
                 }
                 
@@ -121,15 +143,16 @@ public class RestClientServiceImpl implements RestClientService {
                 return response;
                 
             } catch (IOException e) {
-                if (attempts >= maxAttempts) {
+                if (attempts >= maxAttempts || !acquireRetry()) {
                     throw new NetworkException("Network error after " + attempts + " attempts", e);
                 }
                 
-                logger.warn("Network error on attempt {}/{}, retrying in 1000ms", 
-                          attempts, maxAttempts, e);
+                delayMillis = config.getRetryPolicy().nextDelayMillis(attempts, delayMillis);
+                logger.warn("Network error on attempt {}/{}, retrying in {}ms", 
+                          attempts, maxAttempts, delayMillis, e);
                 
                 try {
-                    Thread.sleep(1000);
+                    Thread.sleep(delayMillis);
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
                     throw new RestClientException("Request interrupted", ie);
@@ -144,17 +167,62 @@ public class RestClientServiceImpl implements RestClientService {
         throw new RestClientException("Request failed after " + attempts + " attempts");
     }
     
+    /**
+     * Sends one attempt, holding a slot of the shared concurrency limiter while it is in flight.
+     */
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException, RestClientException {
+        AdaptiveConcurrencyLimiter limiter = config.getConcurrencyLimiter();
+        if (limiter == null) {
+            return sendTracked(request);
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = AsyncUtil.await(limiter.acquire());
+        try {
+            HttpResponse<String> response = sendTracked(request);
+            int statusCode = response.statusCode();
+            if (statusCode == 503 || statusCode == 429) {
+                permit.onDropped();
+            } else if (HttpUtil.isSuccessful(statusCode)) {
+                permit.onSuccess();
+            }
+            return response;
+        } catch (IOException e) {
+            permit.onDropped();
+            throw e;
+        } finally {
+            permit.onIgnore(); // No effect if the outcome was already recorded
+        }
+    }
+    
+    /**
+     * Sends one exchange and records the negotiated protocol.
+     */
+    private HttpResponse<String> sendTracked(HttpRequest request) throws IOException, InterruptedException {
+        ProtocolMetrics.onSend();
+        HttpResponse<String> response = null;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            return response;
+        } finally {
+            ProtocolMetrics.onComplete(response);
+        }
+    }
+    
     private boolean shouldRetry(HttpResponse<String> response, int attempts, int maxAttempts) {
         if (attempts >= maxAttempts) {
             return false;
         }
         
-        int statusCode = response.statusCode();
-        
-        // Retry on server errors (5xx) and specific client errors
-        return statusCode >= 500 || 
-               statusCode == 429 || // Too Many Requests
-               statusCode == 408;   // Request Timeout
+        // Retry on server errors (5xx) and specific client errors, within the shared budget
+        return config.getRetryPolicy().isRetryableStatus(response.statusCode()) && acquireRetry();
+    }
+    
+    private boolean acquireRetry() {
+        RetryBudget retryBudget = config.getRetryBudget();
+        if (retryBudget != null && !retryBudget.tryAcquireRetry()) {
+            return false;
+        }
+        ClientMetrics.increment("retry.attempts");
+        return true;
     }
     
     private void addHeaders(HttpRequest.Builder requestBuilder, Map<String, String> headers) {
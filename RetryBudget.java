@@ -0,0 +1,151 @@
+package system.score.vms.resilience;
+
+import system.score.vms.utils.ClientMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Gateway-wide cap on retries, expressed as a fraction of recent requests.
+ * Requests and retries are counted in one-second buckets over a sliding window.
+ * A retry is allowed while the retries in the window stay below
+ * {@code minRetriesPerSecond * windowSeconds + retryRatio * requests}, so a steady trickle
+ * of retries is always possible but an outage cannot multiply the load on the bridge.
+ */
+public class RetryBudget {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryBudget.class);
+
+    private final String metricPrefix;
+    private final double retryRatio;
+    private final int minRetriesPerSecond;
+    private final int windowSeconds;
+    private final long[] bucketSecond;
+    private final long[] requests;
+    private final long[] retries;
+    private final long originNanos = System.nanoTime();
+
+    /**
+     * Constructor for RetryBudget.
+     *
+     * @param retryRatio Retries allowed per request in the window, e.g. 0.1 for 10%
+     * @param minRetriesPerSecond Retries always allowed per second regardless of traffic
+     * @param window Length of the sliding window
+     */
+    public RetryBudget(double retryRatio, int minRetriesPerSecond, Duration window) {
+        this("retry.budget", retryRatio, minRetriesPerSecond, window);
+    }
+
+    /**
+     * Constructor for a budget published under its own metric names, e.g. for hedged requests.
+     *
+     * @param metricPrefix Prefix for the budget's metrics, e.g. "hedge.budget"
+     * @param retryRatio Retries allowed per request in the window
+     * @param minRetriesPerSecond Retries always allowed per second regardless of traffic
+     * @param window Length of the sliding window
+     */
+    public RetryBudget(String metricPrefix, double retryRatio, int minRetriesPerSecond, Duration window) {
+        this.metricPrefix = metricPrefix;
+        this.retryRatio = Math.max(0, retryRatio);
+        this.minRetriesPerSecond = Math.max(0, minRetriesPerSecond);
+        this.windowSeconds = (int) Math.max(1, window.getSeconds());
+        this.bucketSecond = new long[windowSeconds];
+        this.requests = new long[windowSeconds];
+        this.retries = new long[windowSeconds];
+        ClientMetrics.registerGauge(metricPrefix + ".requests", this::getRequestsInWindow);
+        ClientMetrics.registerGauge(metricPrefix + ".retries", this::getRetriesInWindow);
+    }
+
+    /**
+     * Records an original (non-retry) request.
+     */
+    public synchronized void recordRequest() {
+        requests[bucket(currentSecond())]++;
+    }
+
+    /**
+     * Tries to withdraw one retry from the budget.
+     *
+     * @return true if the retry may be sent, false if the budget is exhausted
+     */
+    public synchronized boolean tryAcquireRetry() {
+        long now = currentSecond();
+        int current = bucket(now);
+        long requestCount = 0;
+        long retryCount = 0;
+        for (int i = 0; i < windowSeconds; i++) {
+            if (now - bucketSecond[i] < windowSeconds) {
+                requestCount += requests[i];
+                retryCount += retries[i];
+            }
+        }
+        double allowed = (double) minRetriesPerSecond * windowSeconds + retryRatio * requestCount;
+        if (retryCount >= allowed) {
+            ClientMetrics.increment(metricPrefix + ".exhausted");
+            logger.warn("Budget {} exhausted: {} retries for {} requests in the last {}s",
+                    metricPrefix, retryCount, requestCount, windowSeconds);
+            return false;
+        }
+        retries[current]++;
+        return true;
+    }
+
+    public synchronized long getRequestsInWindow() {
+        return sum(requests);
+    }
+
+    public synchronized long getRetriesInWindow() {
+        return sum(retries);
+    }
+
+    public double getRetryRatio() {
+        return retryRatio;
+    }
+
+    public int getMinRetriesPerSecond() {
+        return minRetriesPerSecond;
+    }
+
+    /**
+     * Returns the bucket for the given second, clearing it if it belongs to an older window.
+     */
+    private int bucket(long second) {
+        int index = (int) (second % windowSeconds);
+        if (bucketSecond[index] != second) {
+            bucketSecond[index] = second;
+            requests[index] = 0;
+            retries[index] = 0;
+        }
+        return index;
+    }
+
+    private long sum(long[] counts) {
+        long now = currentSecond();
+        long total = 0;
+        for (int i = 0; i < windowSeconds; i++) {
+            if (now - bucketSecond[i] < windowSeconds) {
+                total += counts[i];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Gets the seconds elapsed since the budget was created. System.nanoTime() has an arbitrary
+     * origin and may be negative, which would give negative bucket indexes.
+     */
+    private long currentSecond() {
+        return (System.nanoTime() - originNanos) / 1_000_000_000L;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryBudget{" +
+                "metricPrefix='" + metricPrefix + '\'' +
+                ", retryRatio=" + retryRatio +
+                ", minRetriesPerSecond=" + minRetriesPerSecond +
+                ", windowSeconds=" + windowSeconds +
+                '}';
+    }
+}
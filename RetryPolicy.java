@@ -0,0 +1,30 @@
+package system.score.vms.resilience;
+
+/**
+ * Decides how long to wait before retrying a failed request.
+ * Implementations must be thread-safe; a single policy is shared by every client
+ * created from the same RestClientConfig.
+ */
+public interface RetryPolicy {
+
+    /**
+     * Computes the delay before the next attempt.
+     *
+     * @param attempt The attempt that just failed, starting at 1
+     * @param previousDelayMillis Delay used before the failed attempt, or 0 after the first attempt
+     * @return Delay in milliseconds before the next attempt
+     */
+    long nextDelayMillis(int attempt, long previousDelayMillis);
+
+    /**
+     * Checks whether a response status is worth retrying.
+     *
+     * @param statusCode HTTP status code
+     * @return true for server errors, 408 and 429
+     */
+    default boolean isRetryableStatus(int statusCode) {
+        return statusCode >= 500 ||
+               statusCode == 429 || // Too Many Requests
+               statusCode == 408;   // Request Timeout
+    }
+}
@@ -0,0 +1,138 @@
+package system.score.vms.resilience;
+
+import system.score.vms.utils.ClientMetrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls into one in-flight request.
+ * The first caller for a key starts the call; callers arriving before it completes are
+ * handed the same result instead of sending their own request. Once the call completes
+ * the key is released, so later callers always get a fresh response. A call whose callers
+ * have all cancelled their futures, e.g. because their deadlines expired, is cancelled too,
+ * so it does not hold bridge capacity for a result nobody is waiting for.
+ */
+public class SingleFlight {
+
+    private final String name;
+    private final ConcurrentMap<String, Call<?>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for SingleFlight.
+     *
+     * @param name Name used for the metrics, published as {@code singleflight.<name>.*}
+     */
+    public SingleFlight(String name) {
+        this.name = name;
+        String prefix = "singleflight." + name + ".";
+        ClientMetrics.registerGauge(prefix + "inFlight", inFlight::size);
+        ClientMetrics.registerGauge(prefix + "coalescingRatio", () -> {
+            long calls = ClientMetrics.count(prefix + "calls");
+            return calls == 0 ? 0.0 : (double) ClientMetrics.count(prefix + "coalesced") / calls;
+        });
+    }
+
+    /**
+     * Runs the call for the given key, or joins the call already in flight for it.
+     * Each caller gets its own future, so cancelling one does not affect the others; the call
+     * itself is cancelled once every caller has cancelled.
+     *
+     * @param key Key identifying identical calls, e.g. "vcGetHubTemp:7"
+     * @param call Starts the call when no call for the key is in flight
+     * @param <V> Result type
+     * @return Future completing with the shared result
+     */
+    @SuppressWarnings("unchecked")
+    public <V> CompletableFuture<V> execute(String key, Supplier<CompletableFuture<V>> call) {
+        String prefix = "singleflight." + name + ".";
+        ClientMetrics.increment(prefix + "calls");
+
+        Call<V> leader = new Call<>();
+        while (true) {
+            Call<V> existing = (Call<V>) inFlight.putIfAbsent(key, leader);
+            if (existing == null) {
+                break;
+            }
+            if (existing.tryJoin()) {
+                ClientMetrics.increment(prefix + "coalesced");
+                return waitFor(key, existing);
+            }
+            // Every caller of that call has left and it is being cancelled; start afresh
+            inFlight.remove(key, existing);
+        }
+
+        CompletableFuture<V> waiting = waitFor(key, leader);
+        try {
+            leader.source = call.get();
+            leader.source.whenComplete((result, error) -> {
+                inFlight.remove(key, leader);
+                if (error != null) {
+                    leader.result.completeExceptionally(error);
+                } else {
+                    leader.result.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, leader);
+            leader.result.completeExceptionally(e);
+        }
+        return waiting;
+    }
+
+    /**
+     * Hands a caller its own copy of the call's result, releasing the caller's claim on the call
+     * if the copy is cancelled first. The leader's copy is only handed out once the call has
+     * started, so the last caller to leave always finds it.
+     */
+    private <V> CompletableFuture<V> waitFor(String key, Call<V> call) {
+        CompletableFuture<V> copy = call.result.copy();
+        copy.whenComplete((result, error) -> {
+            if (copy.isCancelled() && call.callers.decrementAndGet() == 0) {
+                inFlight.remove(key, call);
+                CompletableFuture<V> source = call.source;
+                if (source != null) {
+                    ClientMetrics.increment("singleflight." + name + ".abandoned");
+                    source.cancel(true);
+                }
+            }
+        });
+        return copy;
+    }
+
+    /**
+     * Gets the number of keys with a call currently in flight.
+     *
+     * @return In-flight key count
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * One call in flight and the number of callers still waiting for it.
+     */
+    private static final class Call<V> {
+
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final AtomicInteger callers = new AtomicInteger(1);
+        private volatile CompletableFuture<V> source;
+
+        /**
+         * Adds a caller, unless every earlier caller has already left.
+         */
+        private boolean tryJoin() {
+            int current;
+            do {
+                current = callers.get();
+                if (current == 0) {
+                    return false;
+                }
+            } while (!callers.compareAndSet(current, current + 1));
+            return true;
+        }
+    }
+}
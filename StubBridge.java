@@ -0,0 +1,109 @@
+package system.score.vms.mock;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-in for the bridge process in local checks: a JDK HttpServer on a free loopback port
+ * that answers each path with the handler registered for it and counts the requests it gets.
+ * Each exchange runs on its own thread, so a handler may block to hold a stream open.
+ */
+public class StubBridge implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ConcurrentMap<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+
+    /**
+     * Starts a stub bridge with no paths registered.
+     *
+     * @throws IOException If the server cannot be bound
+     */
+    public StubBridge() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-bridge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Answers every request whose path starts with the given prefix.
+     *
+     * @param path Path prefix, e.g. {@code /api/vlite/batch}
+     * @param handler Handler for the requests
+     */
+    public void handle(String path, HttpHandler handler) {
+        AtomicInteger count = requestCounts.computeIfAbsent(path, key -> new AtomicInteger());
+        server.createContext(path, exchange -> {
+            count.incrementAndGet();
+            try {
+                handler.handle(exchange);
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Gets the number of requests received on a registered path prefix.
+     *
+     * @param path Path prefix the handler was registered with
+     * @return Request count
+     */
+    public int getRequestCount(String path) {
+        AtomicInteger count = requestCounts.get(path);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Reads the request body as a string.
+     */
+    public static String readBody(HttpExchange exchange) throws IOException {
+        return new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Sends a JSON response.
+     */
+    public static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    /**
+     * Sends a response with no body.
+     */
+    public static void respondStatus(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
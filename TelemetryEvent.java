@@ -0,0 +1,118 @@
+package system.score.vms.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Objects;
+
+/**
+ * One telemetry sample for a hub, pushed by the bridge on the telemetry stream or read by
+ * polling while the stream is down. Pushed samples carry the hub's sequence number, which
+ * increases by one per sample so a missed sample can be detected; polled samples have none.
+ */
+public class TelemetryEvent {
+
+    public static final String SOURCE_STREAM = "stream";
+    public static final String SOURCE_POLL = "poll";
+
+    @JsonProperty("hubId")
+    private int hubId;
+
+    @JsonProperty("metric")
+    private String metric;
+
+    @JsonProperty("sequence")
+    private long sequence = -1;
+
+    @JsonProperty("timestamp")
+    private String timestamp;
+
+    @JsonProperty("data")
+    private JsonNode data;
+
+    @JsonProperty("source")
+    private String source;
+
+    public int getHubId() {
+        return hubId;
+    }
+
+    public void setHubId(int hubId) {
+        this.hubId = hubId;
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public void setMetric(String metric) {
+        this.metric = metric;
+    }
+
+    /**
+     * Gets the hub's sequence number of the sample, or -1 for a polled sample.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(String timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Gets the sample, shaped like the data of the metric's polled response.
+     */
+    public JsonNode getData() {
+        return data;
+    }
+
+    public void setData(JsonNode data) {
+        this.data = data;
+    }
+
+    /**
+     * Gets where the sample came from, SOURCE_STREAM or SOURCE_POLL.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    @Override
+    public String toString() {
+        return "TelemetryEvent{" +
+                "hubId=" + hubId +
+                ", metric='" + metric + '\'' +
+                ", sequence=" + sequence +
+                ", timestamp='" + timestamp + '\'' +
+                ", data=" + data +
+                ", source='" + source + '\'' +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        TelemetryEvent that = (TelemetryEvent) o;
+        return hubId == that.hubId && sequence == that.sequence && Objects.equals(metric, that.metric)
+                && Objects.equals(timestamp, that.timestamp) && Objects.equals(data, that.data)
+                && Objects.equals(source, that.source);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hubId, metric, sequence, timestamp, data, source);
+    }
+}
@@ -0,0 +1,36 @@
+package system.score.vms.client;
+
+import system.score.vms.model.response.TelemetryEvent;
+
+/**
+ * Receives the samples of a telemetry subscription. Callbacks run on HTTP client threads, one
+ * at a time per bridge stream while streaming, and must return quickly.
+ */
+public interface TelemetryListener {
+
+    /**
+     * Called for every sample, pushed or polled.
+     *
+     * @param event Telemetry sample
+     */
+    void onEvent(TelemetryEvent event);
+
+    /**
+     * Called when pushed samples of a hub were missed. The subscription re-reads the hub's
+     * metrics by polling right after, so the listener is brought up to date without action.
+     *
+     * @param hubId ID of Hub
+     * @param expectedSequence Sequence number that should have arrived next
+     * @param receivedSequence Sequence number that arrived instead
+     */
+    default void onGap(int hubId, long expectedSequence, long receivedSequence) {
+    }
+
+    /**
+     * Called when the subscription switches between streaming and polling, or is closed.
+     *
+     * @param state New state
+     */
+    default void onStateChange(TelemetrySubscription.State state) {
+    }
+}
@@ -0,0 +1,410 @@
+package system.score.vms.client;
+
+import system.score.vms.client.TelemetrySubscription.State;
+import system.score.vms.exception.RestClientException;
+import system.score.vms.model.response.TelemetryEvent;
+import system.score.vms.resilience.RetryPolicy;
+import system.score.vms.utils.AsyncUtil;
+import system.score.vms.utils.ClientMetrics;
+import system.score.vms.utils.ValidationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * One Server-Sent Events stream of a TelemetrySubscription, carrying the samples of the hubs
+ * connected through one bridge.
+ * <p>
+ * Each hub's samples carry a sequence number. A jump in the sequence means samples were missed,
+ * and the hub's metrics are re-read by polling; repeated numbers are dropped. When the stream
+ * ends, goes silent for longer than the idle timeout, or cannot be opened, every hub is polled
+ * at the fallback interval while the stream is reopened with backoff. The reopened stream asks
+ * the bridge to resume after the last event received, and polling stops once it is open.
+ */
+final class TelemetryStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryStream.class);
+
+    private static final String[] METRICS = {"vcGetHubTemp", "vcGetHubUtil"};
+
+    private final VLiteCommonApiClient client;
+    private final TelemetrySubscription subscription;
+    private final String path;
+    private final int[] hubIds;
+    private final Set<Integer> hubs;
+    private final TelemetryListener listener;
+    private final RetryPolicy reconnectPolicy;
+    private final long idleTimeoutNanos;
+    private final long fallbackIntervalMillis;
+    private final ConcurrentMap<Integer, Long> lastSequences = new ConcurrentHashMap<>();
+    private final Set<Integer> rebaseline = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<State> state = new AtomicReference<>(State.CONNECTING);
+    private final AtomicLong streamGeneration = new AtomicLong();
+    private final AtomicLong fallbackGeneration = new AtomicLong();
+    private volatile Flow.Subscription stream;
+    private volatile String lastEventId;
+    private volatile long lastActivityNanos;
+    private volatile boolean polling;
+    private volatile boolean closed;
+    private int reconnectAttempts;
+    private long previousDelayMillis;
+
+    /**
+     * Constructor for TelemetryStream.
+     *
+     * @param client Client whose connection and configuration the stream uses
+     * @param subscription Subscription told about every state change of the stream
+     * @param path Path of the telemetry stream for these hubs
+     * @param hubIds Distinct IDs of the hubs, all connected through the same bridge
+     * @param listener Receiver of the samples
+     */
+    TelemetryStream(VLiteCommonApiClient client, TelemetrySubscription subscription, String path, int[] hubIds,
+                    TelemetryListener listener) {
+        this.client = client;
+        this.subscription = subscription;
+        this.path = path;
+        this.hubIds = hubIds;
+        this.hubs = Arrays.stream(hubIds).boxed().collect(Collectors.toSet());
+        this.listener = listener;
+        this.reconnectPolicy = client.getConfig().getSubscriptionReconnectPolicy();
+        this.idleTimeoutNanos = client.getConfig().getSubscriptionIdleTimeout().toNanos();
+        this.fallbackIntervalMillis = Math.max(100, client.getConfig().getSubscriptionFallbackInterval().toMillis());
+    }
+
+    /**
+     * Opens the stream.
+     */
+    void start() {
+        connect();
+    }
+
+    /**
+     * Closes the stream and stops polling. Safe to call more than once.
+     */
+    void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            streamGeneration.incrementAndGet();
+            polling = false;
+        }
+        Flow.Subscription current = stream;
+        if (current != null) {
+            current.cancel();
+        }
+        setState(State.CLOSED);
+    }
+
+    State getState() {
+        return state.get();
+    }
+
+    /**
+     * Gets the ID of the last event received on the stream, sent back when it is reopened.
+     */
+    String getLastEventId() {
+        return lastEventId;
+    }
+
+    private void connect() {
+        long generation = streamGeneration.get();
+        if (closed) {
+            return;
+        }
+        Map<String, String> headers = lastEventId != null ? Map.of("Last-Event-ID", lastEventId) : null;
+        int streamHubId = hubIds.length > 0 ? hubIds[0] : EndpointTemplate.NO_HUB;
+        client.openStream(path, streamHubId, headers, Duration.ofNanos(idleTimeoutNanos),
+                        status -> onStatus(generation, status), new EventStreamSubscriber(generation))
+                .whenComplete((response, error) -> dropped(generation,
+                        error != null ? AsyncUtil.unwrap(error).getMessage() : "stream ended"));
+    }
+
+    private void onStatus(long generation, int status) {
+        if (status != 200) {
+            logger.warn("Telemetry stream refused with status {}", status);
+            return;
+        }
+        synchronized (this) {
+            if (closed || generation != streamGeneration.get()) {
+                return;
+            }
+            reconnectAttempts = 0;
+            previousDelayMillis = 0;
+            polling = false;
+            lastActivityNanos = System.nanoTime();
+            rebaseline.addAll(hubs);
+        }
+        ClientMetrics.increment("subscription.connects");
+        setState(State.STREAMING);
+        scheduleIdleCheck(generation);
+    }
+
+    /**
+     * Handles the end of a stream, at most once per stream: starts polling and reopens the stream
+     * after a backoff.
+     */
+    private void dropped(long generation, String reason) {
+        long delayMillis;
+        synchronized (this) {
+            if (closed || !streamGeneration.compareAndSet(generation, generation + 1)) {
+                return;
+            }
+            reconnectAttempts++;
+            delayMillis = reconnectPolicy.nextDelayMillis(reconnectAttempts, previousDelayMillis);
+            previousDelayMillis = delayMillis;
+        }
+        Flow.Subscription current = stream;
+        if (current != null) {
+            current.cancel();
+        }
+        ClientMetrics.increment("subscription.drops");
+        logger.warn("Telemetry stream lost ({}), polling and reopening in {}ms", reason, delayMillis);
+        startFallback();
+        CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS).execute(this::connect);
+    }
+
+    private void scheduleIdleCheck(long generation) {
+        CompletableFuture.delayedExecutor(Math.max(1, idleTimeoutNanos / 2), TimeUnit.NANOSECONDS).execute(() -> {
+            if (closed || generation != streamGeneration.get()) {
+                return;
+            }
+            if (System.nanoTime() - lastActivityNanos > idleTimeoutNanos) {
+                dropped(generation, "no event or heartbeat in " + TimeUnit.NANOSECONDS.toMillis(idleTimeoutNanos) + "ms");
+            } else {
+                scheduleIdleCheck(generation);
+            }
+        });
+    }
+
+    private void startFallback() {
+        long generation;
+        synchronized (this) {
+            if (polling || closed) {
+                return;
+            }
+            polling = true;
+            generation = fallbackGeneration.incrementAndGet();
+        }
+        setState(State.POLLING);
+        pollAll(generation);
+    }
+
+    private void pollAll(long generation) {
+        if (!polling || closed || generation != fallbackGeneration.get()) {
+            return;
+        }
+        ClientMetrics.increment("subscription.fallback.rounds");
+        AsyncUtil.mapBounded(hubIds.length * METRICS.length, client.getConfig().getFanOutMaxConcurrency(),
+                        i -> poll(hubIds[i / METRICS.length], METRICS[i % METRICS.length]))
+                .whenComplete((ignored, error) -> CompletableFuture
+                        .delayedExecutor(fallbackIntervalMillis, TimeUnit.MILLISECONDS)
+                        .execute(() -> pollAll(generation)));
+    }
+
+    /**
+     * Re-reads every metric of a hub after samples were missed.
+     */
+    private void resync(int hubId) {
+        for (String metric : METRICS) {
+            poll(hubId, metric);
+        }
+    }
+
+    private CompletableFuture<Void> poll(int hubId, String metric) {
+        ClientMetrics.increment("subscription.polls");
+        CompletableFuture<TelemetryEvent> sample = "vcGetHubTemp".equals(metric)
+                ? client.vcGetHubTempAsync(hubId).thenApply(response -> polled(hubId, metric,
+                        response.getSuccess(), response.getTimestamp(), response.getVcGetHubTempDataResponse()))
+                : client.vcGetHubUtilAsync(hubId).thenApply(response -> polled(hubId, metric,
+                        response.getSuccess(), response.getTimestamp(), response.getVcGetHubUtilDataResponse()));
+        return sample.handle((event, error) -> {
+            if (error != null) {
+                ClientMetrics.increment("subscription.poll.failures");
+                logger.debug("Polling {} for hub {} failed: {}", metric, hubId, AsyncUtil.unwrap(error).getMessage());
+            } else if (event != null && !closed) {
+                deliver(event);
+            }
+            return null;
+        });
+    }
+
+    private TelemetryEvent polled(int hubId, String metric, Boolean success, String timestamp, Object data) {
+        if (!Boolean.TRUE.equals(success) || data == null) {
+            return null;
+        }
+        TelemetryEvent event = new TelemetryEvent();
+        event.setHubId(hubId);
+        event.setMetric(metric);
+        event.setTimestamp(timestamp != null ? timestamp : ValidationUtils.currentTimestamp());
+        event.setData(client.jsonUtil.getObjectMapper().valueToTree(data));
+        event.setSource(TelemetryEvent.SOURCE_POLL);
+        return event;
+    }
+
+    /**
+     * Checks a pushed sample's sequence number and passes it on. The first sample of each hub on
+     * a reopened stream may restart the sequence at a lower number, after a bridge restart; the
+     * hub is then re-read.
+     */
+    private void onStreamEvent(TelemetryEvent event) {
+        int hubId = event.getHubId();
+        if (!hubs.contains(hubId)) {
+            return;
+        }
+        event.setSource(TelemetryEvent.SOURCE_STREAM);
+        ClientMetrics.increment("subscription.events");
+        long sequence = event.getSequence();
+        if (sequence < 0) {
+            deliver(event);
+            return;
+        }
+        boolean firstOnStream = rebaseline.remove(hubId);
+        Long last = lastSequences.put(hubId, sequence);
+        if (last == null || sequence == last + 1) {
+            deliver(event);
+        } else if (sequence == last || sequence < last && !firstOnStream) {
+            lastSequences.put(hubId, last);
+            ClientMetrics.increment("subscription.duplicates");
+        } else {
+            if (sequence > last) {
+                ClientMetrics.increment("subscription.gaps");
+                logger.debug("Telemetry gap for hub {}: expected {}, received {}", hubId, last + 1, sequence);
+                try {
+                    listener.onGap(hubId, last + 1, sequence);
+                } catch (RuntimeException e) {
+                    logger.error("Telemetry listener failed", e);
+                }
+            } else {
+                logger.info("Telemetry sequence of hub {} restarted at {}", hubId, sequence);
+            }
+            deliver(event);
+            resync(hubId);
+        }
+    }
+
+    private void deliver(TelemetryEvent event) {
+        try {
+            listener.onEvent(event);
+        } catch (RuntimeException e) {
+            logger.error("Telemetry listener failed", e);
+        }
+    }
+
+    private void setState(State newState) {
+        State previous;
+        do {
+            previous = state.get();
+            if (previous == newState || previous == State.CLOSED) {
+                return;
+            }
+        } while (!state.compareAndSet(previous, newState));
+        subscription.onStreamState();
+    }
+
+    /**
+     * Parses one stream as Server-Sent Events: {@code field: value} lines, with an empty line
+     * ending each event. Comment lines, starting with a colon, serve as heartbeats.
+     */
+    private final class EventStreamSubscriber implements Flow.Subscriber<String> {
+
+        private final long generation;
+        private final StringBuilder data = new StringBuilder();
+        private String eventName;
+        private String eventId;
+
+        private EventStreamSubscriber(long generation) {
+            this.generation = generation;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (closed || generation != streamGeneration.get()) {
+                subscription.cancel();
+                return;
+            }
+            stream = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (generation != streamGeneration.get()) {
+                return;
+            }
+            lastActivityNanos = System.nanoTime();
+            if (line.isEmpty()) {
+                dispatch();
+                return;
+            }
+            if (line.startsWith(":")) {
+                return;
+            }
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(colon + 1);
+            if (value.startsWith(" ")) {
+                value = value.substring(1);
+            }
+            switch (field) {
+                case "event":
+                    eventName = value;
+                    break;
+                case "data":
+                    if (data.length() > 0) {
+                        data.append('\n');
+                    }
+                    data.append(value);
+                    break;
+                case "id":
+                    eventId = value;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void dispatch() {
+            if (eventId != null) {
+                lastEventId = eventId;
+            }
+            if (data.length() > 0) {
+                try {
+                    TelemetryEvent event = client.jsonUtil.fromJson(data.toString(), TelemetryEvent.class);
+                    if (event.getMetric() == null) {
+                        event.setMetric(eventName);
+                    }
+                    onStreamEvent(event);
+                } catch (RestClientException e) {
+                    ClientMetrics.increment("subscription.malformed");
+                    logger.warn("Ignoring malformed telemetry event: {}", e.getMessage());
+                }
+            }
+            data.setLength(0);
+            eventName = null;
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            dropped(generation, AsyncUtil.unwrap(throwable).getMessage());
+        }
+
+        @Override
+        public void onComplete() {
+            dropped(generation, "stream ended");
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package system.score.vms.mock;
+
+import system.score.vms.client.TelemetryListener;
+import system.score.vms.client.TelemetrySubscription;
+import system.score.vms.client.VLiteCommonApiClient;
+import system.score.vms.config.RestClientConfig;
+import system.score.vms.model.response.TelemetryEvent;
+import system.score.vms.resilience.DecorrelatedJitterRetryPolicy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Checks telemetry subscriptions against a StubBridge whose stream follows a fixed script:
+ * <ol>
+ * <li>hub 1 sends 1, 2, 3, 3 again and 6, then the stream ends;</li>
+ * <li>the reopened stream restarts hub 1 at 1, as after a bridge restart, sends heartbeats for a
+ * while and then goes silent;</li>
+ * <li>the stream opened after the idle drop only sends heartbeats.</li>
+ * </ol>
+ * It checks that duplicates are dropped, gaps reported and re-read, the hubs polled while the
+ * stream is down and no longer once it is back, the stream resumed with Last-Event-ID, a
+ * restarted sequence accepted, and a silent stream dropped after the idle timeout.
+ * Run the main method; it prints each check and exits with status 1 if any failed.
+ */
+public class TelemetryStubCheck {
+
+    private static final String STREAM = "/api/vlite/telemetry/stream";
+    private static final String HUB = "/api/vlite/hub/";
+    private static final long IDLE_TIMEOUT_MILLIS = 1000;
+
+    private static final long start = System.nanoTime();
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        AtomicInteger streamOpens = new AtomicInteger();
+        List<String> lastEventIds = new CopyOnWriteArrayList<>();
+        AtomicLong secondStreamOpenedAt = new AtomicLong(-1);
+        List<Long> hub2PollsAt = new CopyOnWriteArrayList<>();
+        List<String> streamEvents = new CopyOnWriteArrayList<>();
+        List<String> gaps = new CopyOnWriteArrayList<>();
+        List<TelemetrySubscription.State> states = new CopyOnWriteArrayList<>();
+        ConcurrentHashMap<Integer, AtomicInteger> pollEvents = new ConcurrentHashMap<>();
+
+        try (StubBridge bridge = new StubBridge()) {
+            bridge.handle(STREAM, exchange -> {
+                int open = streamOpens.incrementAndGet();
+                lastEventIds.add(String.valueOf(exchange.getRequestHeaders().getFirst("Last-Event-ID")));
+                exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+                exchange.sendResponseHeaders(200, 0);
+                OutputStream os = exchange.getResponseBody();
+                try {
+                    if (open == 1) {
+                        send(os, 2, 1);
+                        for (long sequence : new long[]{1, 2, 3, 3, 6}) {
+                            send(os, 1, sequence);
+                            sleep(50);
+                        }
+                        sleep(100);
+                    } else if (open == 2) {
+                        secondStreamOpenedAt.set(elapsedMillis());
+                        send(os, 1, 1);
+                        send(os, 1, 2);
+                        for (int i = 0; i < 6; i++) {
+                            heartbeat(os);
+                            sleep(200);
+                        }
+                        sleep(3 * IDLE_TIMEOUT_MILLIS);
+                    } else {
+                        for (int i = 0; i < 50; i++) {
+                            heartbeat(os);
+                            sleep(200);
+                        }
+                    }
+                } catch (IOException e) {
+                    // The client closed the stream
+                }
+            });
+            bridge.handle(HUB, exchange -> {
+                String path = exchange.getRequestURI().getPath();
+                int hubId = Integer.parseInt(path.substring(HUB.length(), path.indexOf('/', HUB.length())));
+                if (hubId == 2) {
+                    hub2PollsAt.add(elapsedMillis());
+                }
+                StubBridge.respond(exchange, 200, path.endsWith("temperature")
+                        ? "{\"success\":true,\"data\":{\"temperature\":41,\"unit\":\"C\"}}"
+                        : "{\"success\":true,\"data\":{\"hubId\":" + hubId + ",\"utilisation\":\"33%\"}}");
+            });
+
+            RestClientConfig config = new RestClientConfig(bridge.getBaseUrl(), "stub-key",
+                    Duration.ofSeconds(2), Duration.ofSeconds(5), 1, false);
+            config.setSubscriptionReconnectPolicy(
+                    new DecorrelatedJitterRetryPolicy(Duration.ofMillis(300), Duration.ofMillis(600)));
+            config.setSubscriptionIdleTimeout(Duration.ofMillis(IDLE_TIMEOUT_MILLIS));
+            config.setSubscriptionFallbackInterval(Duration.ofMillis(200));
+            VLiteCommonApiClient client = new VLiteCommonApiClient(config);
+            TelemetrySubscription subscription;
+            try {
+                subscription = client.subscribeHubTelemetry(new int[]{1, 2}, new TelemetryListener() {
+                    @Override
+                    public void onEvent(TelemetryEvent event) {
+                        if (TelemetryEvent.SOURCE_STREAM.equals(event.getSource())) {
+                            streamEvents.add(event.getHubId() + ":" + event.getSequence());
+                        } else {
+                            pollEvents.computeIfAbsent(event.getHubId(), hubId -> new AtomicInteger()).incrementAndGet();
+                        }
+                    }
+
+                    @Override
+                    public void onGap(int hubId, long expectedSequence, long receivedSequence) {
+                        gaps.add(hubId + ":" + expectedSequence + "-" + receivedSequence);
+                    }
+
+                    @Override
+                    public void onStateChange(TelemetrySubscription.State state) {
+                        states.add(state);
+                    }
+                });
+                sleep(6000);
+                subscription.close();
+                int opensAtClose = streamOpens.get();
+                sleep(1000);
+
+                List<String> hub1 = streamEvents.stream().filter(event -> event.startsWith("1:"))
+                        .collect(Collectors.toList());
+                check(hub1.size() >= 6 && hub1.subList(0, 6).equals(List.of("1:1", "1:2", "1:3", "1:6", "1:1", "1:2")),
+                        "duplicate is dropped and restarted sequence accepted, hub 1 got " + hub1);
+                check(gaps.equals(List.of("1:4-6")), "gap from 4 to 6 is reported, got " + gaps);
+                check(pollEvents.getOrDefault(1, new AtomicInteger()).get() > 0, "hub 1 is re-read by polling");
+                check(lastEventIds.size() >= 2 && lastEventIds.get(0).equals("null")
+                                && lastEventIds.get(1).equals("1-6"),
+                        "reopened stream resumes after the last event, sent " + lastEventIds);
+                long reopenedAt = secondStreamOpenedAt.get();
+                check(hub2PollsAt.stream().anyMatch(at -> at < reopenedAt),
+                        "hubs are polled while the stream is down");
+                check(hub2PollsAt.stream().noneMatch(at -> at > reopenedAt + 300 && at < reopenedAt + 1200),
+                        "polling stops once the stream is back");
+                check(opensAtClose >= 3, "silent stream is dropped after the idle timeout and reopened, "
+                        + opensAtClose + " stream(s) opened");
+                check(states.size() >= 4 && states.subList(0, 3).equals(List.of(TelemetrySubscription.State.STREAMING,
+                                TelemetrySubscription.State.POLLING, TelemetrySubscription.State.STREAMING)),
+                        "state goes STREAMING, POLLING, STREAMING, got " + states);
+                check(subscription.getState() == TelemetrySubscription.State.CLOSED
+                                && states.get(states.size() - 1) == TelemetrySubscription.State.CLOSED,
+                        "closed subscription reports CLOSED");
+                check(streamOpens.get() == opensAtClose, "closed subscription does not reopen the stream");
+            } finally {
+                client.close();
+            }
+        }
+        System.out.println(failures == 0 ? "All telemetry checks passed" : failures + " telemetry check(s) failed");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private static void send(OutputStream os, int hubId, long sequence) throws IOException {
+        String event = "id: " + hubId + "-" + sequence + "\n"
+                + "event: vcGetHubTemp\n"
+                + "data: {\"hubId\":" + hubId + ",\"sequence\":" + sequence + ",\n"
+                + "data: \"data\":{\"temperature\":" + (40 + sequence) + "}}\n\n";
+        os.write(event.getBytes(StandardCharsets.UTF_8));
+        os.flush();
+    }
+
+    private static void heartbeat(OutputStream os) throws IOException {
+        os.write(": heartbeat\n\n".getBytes(StandardCharsets.UTF_8));
+        os.flush();
+    }
+
+    private static long elapsedMillis() {
+        return (System.nanoTime() - start) / 1_000_000L;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void check(boolean passed, String description) {
+        System.out.println((passed ? "PASS " : "FAIL ") + description);
+        if (!passed) {
+            failures++;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package system.score.vms.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Subscription to the temperature and utilisation samples of a set of hubs, pushed by the bridge
+ * as a Server-Sent Events stream so no request is made per sample.
+ * <p>
+ * Each hub's samples carry a sequence number. A jump in the sequence means samples were missed,
+ * and the hub's metrics are re-read by polling; repeated numbers are dropped. When the stream
+ * ends, goes silent for longer than the idle timeout, or cannot be opened, every hub is polled
+ * at the fallback interval while the stream is reopened with backoff. The reopened stream asks
+ * the bridge to resume after the last event received, and polling stops once it is open.
+ * <p>
+ * With more than one bridge a bridge only streams the hubs connected through it, so the
+ * subscription holds one stream per bridge, each opened, dropped and polled on its own.
+ */
+public class TelemetrySubscription {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetrySubscription.class);
+
+    /**
+     * Lifecycle of a subscription.
+     */
+    public enum State {
+        CONNECTING,
+        STREAMING,
+        POLLING,
+        CLOSED
+    }
+
+    private final VLiteCommonApiClient client;
+    private final int[] hubIds;
+    private final TelemetryListener listener;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CONNECTING);
+    private volatile List<TelemetryStream> streams = List.of();
+    private volatile boolean closed;
+
+    /**
+     * Constructor for TelemetrySubscription.
+     *
+     * @param client Client whose connection and configuration the subscription uses
+     * @param hubIds Distinct IDs of the subscribed hubs
+     * @param listener Receiver of the samples
+     */
+    TelemetrySubscription(VLiteCommonApiClient client, int[] hubIds, TelemetryListener listener) {
+        this.client = client;
+        this.hubIds = hubIds;
+        this.listener = listener;
+    }
+
+    /**
+     * Opens the streams.
+     *
+     * @param streams One stream per bridge, together covering every subscribed hub
+     */
+    void start(List<TelemetryStream> streams) {
+        this.streams = List.copyOf(streams);
+        for (TelemetryStream stream : this.streams) {
+            stream.start();
+        }
+    }
+
+    /**
+     * Closes the streams and stops polling. Safe to call more than once.
+     */
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        for (TelemetryStream stream : streams) {
+            stream.close();
+        }
+        client.removeSubscription(this);
+        setState(State.CLOSED);
+        logger.info("Closed telemetry subscription for {} hub(s)", hubIds.length);
+    }
+
+    /**
+     * Gets the state of the subscription: STREAMING once every stream is open, POLLING while any
+     * of them is down and its hubs are polled, and CONNECTING until then.
+     */
+    public State getState() {
+        return state.get();
+    }
+
+    public int[] getHubIds() {
+        return hubIds.clone();
+    }
+
+    /**
+     * Gets the ID of the last event received on the stream, sent back when it is reopened.
+     * With more than one bridge this is the stream of the first hub's bridge.
+     */
+    public String getLastEventId() {
+        List<TelemetryStream> current = streams;
+        return current.isEmpty() ? null : current.get(0).getLastEventId();
+    }
+
+    /**
+     * Recomputes the state of the subscription after one of its streams changed state.
+     */
+    synchronized void onStreamState() {
+        if (closed) {
+            return;
+        }
+        boolean allStreaming = true;
+        for (TelemetryStream stream : streams) {
+            State streamState = stream.getState();
+            if (streamState == State.POLLING) {
+                setState(State.POLLING);
+                return;
+            }
+            allStreaming &= streamState == State.STREAMING;
+        }
+        setState(allStreaming ? State.STREAMING : State.CONNECTING);
+    }
+
+    private void setState(State newState) {
+        State previous;
+        do {
+            previous = state.get();
+            if (previous == newState || previous == State.CLOSED) {
+                return;
+            }
+        } while (!state.compareAndSet(previous, newState));
+        try {
+            listener.onStateChange(newState);
+        } catch (RuntimeException e) {
+            logger.error("Telemetry listener failed", e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package system.score.vms.resilience;
+
+import system.score.vms.exception.RestClientException;
+import system.score.vms.utils.ClientMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket for one operation.
+ * Tokens refill continuously at {@code ratePerSecond} up to {@code burst}. In WAIT mode a
+ * caller that finds the bucket empty reserves the next token and is released when it is due,
+ * without blocking a thread; reservations that would wait longer than {@code maxWait} are
+ * rejected. In FAIL_FAST mode an empty bucket rejects the call straight away.
+ */
+public class TokenBucketRateLimiter {
+
+    /**
+     * What to do when no token is available.
+     */
+    public enum Mode {
+        WAIT,
+        FAIL_FAST;
+
+        /**
+         * Parses a mode from configuration, defaulting to WAIT for unknown values.
+         *
+         * @param value The configured value
+         * @return The matching mode
+         */
+        public static Mode fromString(String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return WAIT;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return WAIT;
+            }
+        }
+    }
+
+    private final String name;
+    private final double ratePerNano;
+    private final double burst;
+    private final Mode mode;
+    private final long maxWaitNanos;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Constructor for TokenBucketRateLimiter.
+     *
+     * @param name Operation name, used in metrics ({@code ratelimit.<name>.*}) and errors
+     * @param ratePerSecond Sustained rate of calls per second
+     * @param burst Largest number of calls allowed back to back
+     * @param mode What to do when the bucket is empty
+     * @param maxWait Longest a caller may wait for a token in WAIT mode
+     */
+    public TokenBucketRateLimiter(String name, double ratePerSecond, int burst, Mode mode, Duration maxWait) {
+        this.name = name;
+        this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(1, burst);
+        this.mode = mode;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.tokens = this.burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes a token for one call.
+     *
+     * @return Future completing when the call may proceed, or failing with RATE_LIMITED
+     */
+    public CompletableFuture<Void> acquire() {
+        long waitNanos = reserve();
+        if (waitNanos < 0) {
+            ClientMetrics.increment("ratelimit." + name + ".rejected");
+            return CompletableFuture.failedFuture(new RestClientException(
+                    "Rate limit exceeded for " + name, "RATE_LIMITED"));
+        }
+        if (waitNanos == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        ClientMetrics.increment("ratelimit." + name + ".delayed");
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS).execute(() -> permit.complete(null));
+        return permit;
+    }
+
+    /**
+     * Reserves a token.
+     *
+     * @return Nanoseconds until the token is due, 0 if available now, -1 if rejected
+     */
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefill) * ratePerNano);
+        lastRefill = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        if (mode == Mode.FAIL_FAST) {
+            return -1;
+        }
+        // Tokens go negative to queue reservations behind each other
+        long waitNanos = (long) Math.ceil((1 - tokens) / ratePerNano);
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        tokens -= 1;
+        return waitNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenBucketRateLimiter{" +
+                "name='" + name + '\'' +
+                ", ratePerSecond=" + ratePerNano * TimeUnit.SECONDS.toNanos(1) +
+                ", burst=" + burst +
+                ", mode=" + mode +
+                '}';
+    }
+}
@@ -0,0 +1,201 @@
+package system.score.vms.config;
+
+import system.score.vms.utils.ClientMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor handed to HttpClient.Builder.executor for the transport's asynchronous work.
+ * Wraps the executor selected by {@link ExecutorMode} and publishes its thread counts
+ * to {@link ClientMetrics} under {@code http.executor.<name>.*}.
+ */
+public class TransportExecutor implements Executor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransportExecutor.class);
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    private final String name;
+    private final ExecutorMode mode;
+    private final Executor delegate;
+    private final boolean owned;
+    private final AtomicInteger activeTasks = new AtomicInteger();
+    private final AtomicInteger peakActiveTasks = new AtomicInteger();
+    private final AtomicLong completedTasks = new AtomicLong();
+    private final AtomicLong overflowTasks = new AtomicLong();
+
+    private TransportExecutor(String name, ExecutorMode mode, Executor delegate, boolean owned) {
+        this.name = name;
+        this.mode = mode;
+        this.delegate = delegate;
+        this.owned = owned;
+        registerGauges();
+    }
+
+    /**
+     * Creates the transport executor for the given settings.
+     *
+     * @param mode Executor mode
+     * @param threads Number of platform threads for BOUNDED mode
+     * @param queueCapacity Task queue capacity for BOUNDED mode
+     * @param customExecutor Caller-supplied executor for CUSTOM mode
+     * @return The transport executor, or null when the JDK default should be used
+     */
+    public static TransportExecutor create(ExecutorMode mode, int threads, int queueCapacity,
+                                           Executor customExecutor) {
+        String name = "vlite-http-" + sequence.incrementAndGet();
+        switch (mode) {
+            case VIRTUAL_THREADS:
+                ExecutorService virtualExecutor = newVirtualThreadPerTaskExecutor();
+                if (virtualExecutor != null) {
+                    logger.info("Transport executor {} using virtual threads", name);
+                    return new TransportExecutor(name, mode, virtualExecutor, true);
+                }
+                logger.warn("Virtual threads are not available on this JVM, using a bounded pool of {} threads",
+                        threads);
+                return createBounded(name, threads, queueCapacity);
+            case BOUNDED:
+                return createBounded(name, threads, queueCapacity);
+            case CUSTOM:
+                if (customExecutor == null) {
+                    logger.warn("Executor mode CUSTOM configured without an executor, using the JDK default");
+                    return null;
+                }
+                logger.info("Transport executor {} using caller-supplied executor", name);
+                return new TransportExecutor(name, mode, customExecutor, false);
+            case DEFAULT:
+            default:
+                return null;
+        }
+    }
+
+    private static TransportExecutor createBounded(String name, int threads, int queueCapacity) {
+        int poolSize = Math.max(1, threads);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory);
+        pool.allowCoreThreadTimeOut(true);
+        TransportExecutor executor = new TransportExecutor(name, ExecutorMode.BOUNDED, pool, true);
+        // When the queue is full the task overflows to the common pool, the HttpClient's own
+        // default. It must not run inline: the submitter is usually the client's selector thread,
+        // whose I/O for every connection would stall, and a rejection would fail that thread.
+        pool.setRejectedExecutionHandler((runnable, rejectedBy) -> {
+            executor.overflowTasks.incrementAndGet();
+            ForkJoinPool.commonPool().execute(runnable);
+        });
+        logger.info("Transport executor {} using a bounded pool of {} threads, queue capacity {}",
+                name, poolSize, queueCapacity);
+        return executor;
+    }
+
+    /**
+     * Looks up Executors.newVirtualThreadPerTaskExecutor reflectively so the module still
+     * runs on gateways with a pre-21 JVM.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(() -> {
+            int active = activeTasks.incrementAndGet();
+            peakActiveTasks.accumulateAndGet(active, Math::max);
+            try {
+                command.run();
+            } finally {
+                activeTasks.decrementAndGet();
+                completedTasks.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Shuts down the underlying executor if it was created here.
+     * Caller-supplied executors are left running.
+     */
+    public void shutdown() {
+        ClientMetrics.removeGauges("http.executor." + name + ".");
+        if (owned && delegate instanceof ExecutorService) {
+            ((ExecutorService) delegate).shutdown();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ExecutorMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Gets the number of tasks currently running on the transport executor.
+     * In VIRTUAL_THREADS mode this is the number of live virtual threads.
+     *
+     * @return Number of running tasks
+     */
+    public int getActiveTasks() {
+        return activeTasks.get();
+    }
+
+    /**
+     * Gets the number of platform threads in the pool, or -1 when not pool based.
+     *
+     * @return Pool size
+     */
+    public int getPoolSize() {
+        return delegate instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) delegate).getPoolSize() : -1;
+    }
+
+    /**
+     * Gets the number of tasks waiting in the queue, or -1 when not pool based.
+     *
+     * @return Queued task count
+     */
+    public int getQueuedTasks() {
+        return delegate instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) delegate).getQueue().size() : -1;
+    }
+
+    private void registerGauges() {
+        String prefix = "http.executor." + name + ".";
+        ClientMetrics.registerGauge(prefix + "activeTasks", this::getActiveTasks);
+        ClientMetrics.registerGauge(prefix + "peakActiveTasks", peakActiveTasks::get);
+        ClientMetrics.registerGauge(prefix + "completedTasks", completedTasks::get);
+        ClientMetrics.registerGauge(prefix + "overflowTasks", overflowTasks::get);
+        ClientMetrics.registerGauge(prefix + "poolSize", this::getPoolSize);
+        ClientMetrics.registerGauge(prefix + "queuedTasks", this::getQueuedTasks);
+    }
+
+    @Override
+    public String toString() {
+        return "TransportExecutor{" +
+                "name='" + name + '\'' +
+                ", mode=" + mode +
+                ", activeTasks=" + activeTasks.get() +
+                ", poolSize=" + getPoolSize() +
+                ", queuedTasks=" + getQueuedTasks() +
+                '}';
+    }
+}
@@ -1,15 +1,33 @@
 package system.score.vms.client;
 
 import system.score.vms.config.RestClientConfig;
+import system.score.vms.exception.ApiException;
 import system.score.vms.exception.RestClientException;
+import system.score.vms.model.request.BatchOperationRequest;
+import system.score.vms.model.request.BatchRequest;
 import system.score.vms.model.request.VcConnectRequest;
 import system.score.vms.model.request.VcInitializeRequest;
 import system.score.vms.model.response.*;
+import system.score.vms.resilience.BridgeBalancer;
+import system.score.vms.utils.AsyncUtil;
+import system.score.vms.utils.ClientMetrics;
+import system.score.vms.utils.Deadline;
+import system.score.vms.utils.HttpUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * REST client for VLite Common  API operations.
@@ -19,6 +37,41 @@ public class VLiteCommonApiClient extends BaseRestClient{
     private static final Logger logger = LoggerFactory.getLogger(VLiteCommonApiClient.class);
 
     private static final String VLITECOMMON_ENDPOINT = "/api/vlite";
+    private static final String TELEMETRY_STREAM = VLITECOMMON_ENDPOINT + "/telemetry/stream";
+
+    private static final EndpointTemplate<VcInitializeResponse> INITIALIZE =
+            EndpointTemplate.post("initialize", VLITECOMMON_ENDPOINT + "/initialize", VcInitializeResponse.class)
+                    .routed(EndpointTemplate.Routing.EVERY_BRIDGE);
+    private static final EndpointTemplate<VcConnectResponse> CONNECT =
+            EndpointTemplate.post("connect", VLITECOMMON_ENDPOINT + "/connect", VcConnectResponse.class)
+                    .opensSession(VLiteCommonApiClient::connectedHubId);
+    private static final EndpointTemplate<VcGetHubTempResponse> GET_HUB_TEMP =
+            EndpointTemplate.get("vcGetHubTemp", VLITECOMMON_ENDPOINT + "/hub/{hubId}/temperature", VcGetHubTempResponse.class);
+    private static final EndpointTemplate<VcDisconnectResponse> DISCONNECT =
+            EndpointTemplate.post("disconnect", VLITECOMMON_ENDPOINT + "/disconnect/{hubId}", VcDisconnectResponse.class)
+                    .withConstantBody("")
+                    .closesSession();
+    private static final EndpointTemplate<VcGetHubIPDetailsResponse> GET_HUB_IP_DETAILS =
+            EndpointTemplate.post("vcGetHubIPDetails", VLITECOMMON_ENDPOINT + "/getHubIpDetails/{hubId}", VcGetHubIPDetailsResponse.class)
+                    .withConstantBody("")
+                    .inClass(OperationClass.TELEMETRY);
+    private static final EndpointTemplate<VcGetHubUtilResponse> GET_HUB_UTIL =
+            EndpointTemplate.get("vcGetHubUtil", VLITECOMMON_ENDPOINT + "/hub/{hubId}/vcGetHubUtil", VcGetHubUtilResponse.class);
+    private static final EndpointTemplate<VcGetHubStartUpResponse> GET_HUB_STARTUP =
+            EndpointTemplate.get("vcGetHubStartUp", VLITECOMMON_ENDPOINT + "/hub/{hubId}/vcGetHubStartUp", VcGetHubStartUpResponse.class)
+                    .conditional();
+    private static final EndpointTemplate<BatchResponse> BATCH =
+            EndpointTemplate.post("batch", VLITECOMMON_ENDPOINT + "/batch", BatchResponse.class)
+                    .inClass(OperationClass.TELEMETRY);
+
+    /**
+     * Time after which a bridge that rejected the batch endpoint is probed again.
+     */
+    private static final long BATCH_PROBE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private volatile boolean batchUnsupported;
+    private volatile long batchProbeAt;
+    private final Set<TelemetrySubscription> subscriptions = ConcurrentHashMap.newKeySet();
 
     /**
      * Constructor for VLiteCommonApiClient.
@@ -39,9 +92,7 @@ public class VLiteCommonApiClient extends BaseRestClient{
      */
     public VcInitializeResponse initialize(VcInitializeRequest vcInitializeRequest) throws RestClientException {
         logger.debug("Calling initialize api with licenseKey: {}, versionMajor: {}, versionMinor: {}", vcInitializeRequest.getLicenseKey(), vcInitializeRequest.getVersionMajor(), vcInitializeRequest.getVersionMinor());
-        String endpoint = VLITECOMMON_ENDPOINT + "/initialize";
-        Map<String, String> headers = new HashMap<>();
-        VcInitializeResponse vcInitializeResponse =post(endpoint, vcInitializeRequest, VcInitializeResponse.class, headers);
+        VcInitializeResponse vcInitializeResponse = execute(INITIALIZE, vcInitializeRequest);
         logger.debug("Successfully invoked initialize api, success: {}", vcInitializeResponse.getSuccess());
 
         return vcInitializeResponse;
@@ -56,9 +107,7 @@ public class VLiteCommonApiClient extends BaseRestClient{
      */
     public VcConnectResponse connect(VcConnectRequest vcConnectRequest) throws RestClientException {
         logger.debug("Calling Connect api with ipAddress: {}, port: {}, password: {}, readOnly: {}", vcConnectRequest.getIpAddress(), vcConnectRequest.getPort(), vcConnectRequest.getPassword(),vcConnectRequest.getReadOnly());
-        String endpoint = VLITECOMMON_ENDPOINT + "/connect";
-        Map<String, String> headers = new HashMap<>();
-        VcConnectResponse vcConnectResponse = post(endpoint, vcConnectRequest, VcConnectResponse.class, headers);;
+        VcConnectResponse vcConnectResponse = execute(CONNECT, vcConnectRequest);
         logger.debug("Successfully invoked Connect api, success: {}", vcConnectResponse.getSuccess());
         return vcConnectResponse;
     }
@@ -72,9 +121,7 @@ public class VLiteCommonApiClient extends BaseRestClient{
      */
     public VcGetHubTempResponse vcGetHubTemp(int hubId) throws RestClientException {
         logger.debug("Calling vcGetHubTemp api with hubId: {}", hubId);
-        String endpoint = VLITECOMMON_ENDPOINT + "/hub/" + hubId + "/temperature";
-        Map<String, String> headers = new HashMap<>();
-        VcGetHubTempResponse vcGetHubTempResponse = get(endpoint, VcGetHubTempResponse.class, headers);
+        VcGetHubTempResponse vcGetHubTempResponse = execute(GET_HUB_TEMP, hubId);
         logger.debug("Successfully invoked vcGetHubTemp api, success: {}", vcGetHubTempResponse.getSuccess());
         return vcGetHubTempResponse;
     }
@@ -88,9 +135,7 @@ public class VLiteCommonApiClient extends BaseRestClient{
      */
     public VcDisconnectResponse disconnect(int hubId) throws RestClientException {
         logger.debug("Calling Disconnect api with hubId: {}", hubId);
-        String endpoint = VLITECOMMON_ENDPOINT + "/disconnect/" + hubId;
-        Map<String, String> headers = new HashMap<>();
-        VcDisconnectResponse vcDisconnectResponse = post(endpoint, "", VcDisconnectResponse.class, headers);
+        VcDisconnectResponse vcDisconnectResponse = execute(DISCONNECT, hubId);
         logger.debug("Successfully invoked Disconnect api, success: {}", vcDisconnectResponse.getSuccess());
         return vcDisconnectResponse;
     }
@@ -104,9 +149,7 @@ public class VLiteCommonApiClient extends BaseRestClient{
      */
     public VcGetHubIPDetailsResponse getHubIpDetails(int hubId) throws RestClientException {
         logger.debug("Calling VcGetHubIPDetailsResponse api with hubId: {}", hubId);
-        String endpoint = VLITECOMMON_ENDPOINT + "/getHubIpDetails/" + hubId;
-        Map<String, String> headers = new HashMap<>();
-        VcGetHubIPDetailsResponse vcGetHubIPDetailsResponse = post(endpoint, "", VcGetHubIPDetailsResponse.class, headers);
+        VcGetHubIPDetailsResponse vcGetHubIPDetailsResponse = execute(GET_HUB_IP_DETAILS, hubId);
         logger.debug("Successfully invoked GetHubIPDetails api, success: {}", vcGetHubIPDetailsResponse.getSuccess());
         return vcGetHubIPDetailsResponse;
     }
@@ -120,9 +163,7 @@ public class VLiteCommonApiClient extends BaseRestClient{
      */
     public VcGetHubUtilResponse vcGetHubUtil(int hubId) throws RestClientException {
         logger.debug("Calling vcGetHubUtil api with hubId: {}", hubId);
-        String endpoint = VLITECOMMON_ENDPOINT + "/hub/" + hubId + "/vcGetHubUtil";
-        Map<String, String> headers = new HashMap<>();
-        VcGetHubUtilResponse vcGetHubUtilResponse = get(endpoint, VcGetHubUtilResponse.class, headers);
+        VcGetHubUtilResponse vcGetHubUtilResponse = execute(GET_HUB_UTIL, hubId);
         logger.debug("Successfully invoked vcGetHubUtil api, success: {}", vcGetHubUtilResponse.getSuccess());
         return vcGetHubUtilResponse;
     }
@@ -136,10 +177,507 @@ public class VLiteCommonApiClient extends BaseRestClient{
      */
     public VcGetHubStartUpResponse vcGetHubStartUp(int hubId) throws RestClientException {
         logger.debug("Calling vcGetHubStartUp api with hubId: {}", hubId);
-        String endpoint = VLITECOMMON_ENDPOINT + "/hub/" + hubId + "/vcGetHubStartUp";
-        Map<String, String> headers = new HashMap<>();
-        VcGetHubStartUpResponse vcGetHubStartUpResponse = get(endpoint, VcGetHubStartUpResponse.class, headers);
+        VcGetHubStartUpResponse vcGetHubStartUpResponse = execute(GET_HUB_STARTUP, hubId);
         logger.debug("Successfully invoked vcGetHubStartUp api, success: {}", vcGetHubStartUpResponse.getSuccess());
         return vcGetHubStartUpResponse;
     }
+
+    /**
+     * Invokes vcInitialize asynchronously
+     *
+     * @param vcInitializeRequest VLite Initialize request
+     * @return Future completing with the VLite Initialize response
+     */
+    public CompletableFuture<VcInitializeResponse> initializeAsync(VcInitializeRequest vcInitializeRequest) {
+        return initializeAsync(vcInitializeRequest, newDeadline());
+    }
+
+    /**
+     * Invokes vcInitialize asynchronously within a deadline
+     *
+     * @param vcInitializeRequest VLite Initialize request
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the VLite Initialize response
+     */
+    public CompletableFuture<VcInitializeResponse> initializeAsync(VcInitializeRequest vcInitializeRequest, Deadline deadline) {
+        logger.debug("Calling initialize api asynchronously with versionMajor: {}, versionMinor: {}", vcInitializeRequest.getVersionMajor(), vcInitializeRequest.getVersionMinor());
+        return executeAsync(INITIALIZE, EndpointTemplate.NO_HUB, vcInitializeRequest, deadline);
+    }
+
+    /**
+     * Invokes vcConnect asynchronously
+     *
+     * @param vcConnectRequest   VLite connect request
+     * @return Future completing with the VcConnectResponse
+     */
+    public CompletableFuture<VcConnectResponse> connectAsync(VcConnectRequest vcConnectRequest) {
+        return connectAsync(vcConnectRequest, newDeadline());
+    }
+
+    /**
+     * Invokes vcConnect asynchronously within a deadline
+     *
+     * @param vcConnectRequest   VLite connect request
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the VcConnectResponse
+     */
+    public CompletableFuture<VcConnectResponse> connectAsync(VcConnectRequest vcConnectRequest, Deadline deadline) {
+        logger.debug("Calling Connect api asynchronously with ipAddress: {}, port: {}, readOnly: {}", vcConnectRequest.getIpAddress(), vcConnectRequest.getPort(), vcConnectRequest.getReadOnly());
+        return executeAsync(CONNECT, EndpointTemplate.NO_HUB, vcConnectRequest, deadline);
+    }
+
+    /**
+     * Invokes vcGetHubTemp asynchronously
+     *
+     * @param hubId   ID of Hub
+     * @return Future completing with the VcGetHubTempResponse
+     */
+    public CompletableFuture<VcGetHubTempResponse> vcGetHubTempAsync(int hubId) {
+        return vcGetHubTempAsync(hubId, newDeadline());
+    }
+
+    /**
+     * Invokes vcGetHubTemp asynchronously within a deadline
+     *
+     * @param hubId   ID of Hub
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the VcGetHubTempResponse
+     */
+    public CompletableFuture<VcGetHubTempResponse> vcGetHubTempAsync(int hubId, Deadline deadline) {
+        logger.debug("Calling vcGetHubTemp api asynchronously with hubId: {}", hubId);
+        return executeAsync(GET_HUB_TEMP, hubId, deadline);
+    }
+
+    /**
+     * Invokes vcDisconnect asynchronously
+     *
+     * @param hubId   ID of Hub
+     * @return Future completing with the VcDisconnectResponse
+     */
+    public CompletableFuture<VcDisconnectResponse> disconnectAsync(int hubId) {
+        return disconnectAsync(hubId, newDeadline());
+    }
+
+    /**
+     * Invokes vcDisconnect asynchronously within a deadline
+     *
+     * @param hubId   ID of Hub
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the VcDisconnectResponse
+     */
+    public CompletableFuture<VcDisconnectResponse> disconnectAsync(int hubId, Deadline deadline) {
+        logger.debug("Calling Disconnect api asynchronously with hubId: {}", hubId);
+        return executeAsync(DISCONNECT, hubId, deadline);
+    }
+
+    /**
+     * Invokes vcGetHubIPDetails asynchronously
+     *
+     * @param hubId   ID of Hub
+     * @return Future completing with the VcGetHubIPDetailsResponse
+     */
+    public CompletableFuture<VcGetHubIPDetailsResponse> getHubIpDetailsAsync(int hubId) {
+        return getHubIpDetailsAsync(hubId, newDeadline());
+    }
+
+    /**
+     * Invokes vcGetHubIPDetails asynchronously within a deadline
+     *
+     * @param hubId   ID of Hub
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the VcGetHubIPDetailsResponse
+     */
+    public CompletableFuture<VcGetHubIPDetailsResponse> getHubIpDetailsAsync(int hubId, Deadline deadline) {
+        logger.debug("Calling VcGetHubIPDetailsResponse api asynchronously with hubId: {}", hubId);
+        return executeAsync(GET_HUB_IP_DETAILS, hubId, deadline);
+    }
+
+    /**
+     * Invokes vcGetHubUtil asynchronously
+     *
+     * @param hubId   ID of Hub
+     * @return Future completing with the VcGetHubUtilResponse
+     */
+    public CompletableFuture<VcGetHubUtilResponse> vcGetHubUtilAsync(int hubId) {
+        return vcGetHubUtilAsync(hubId, newDeadline());
+    }
+
+    /**
+     * Invokes vcGetHubUtil asynchronously within a deadline
+     *
+     * @param hubId   ID of Hub
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the VcGetHubUtilResponse
+     */
+    public CompletableFuture<VcGetHubUtilResponse> vcGetHubUtilAsync(int hubId, Deadline deadline) {
+        logger.debug("Calling vcGetHubUtil api asynchronously with hubId: {}", hubId);
+        return executeAsync(GET_HUB_UTIL, hubId, deadline);
+    }
+
+    /**
+     * Invokes vcGetHubStartUp asynchronously
+     *
+     * @param hubId   ID of Hub
+     * @return Future completing with the VcGetHubStartUpResponse
+     */
+    public CompletableFuture<VcGetHubStartUpResponse> vcGetHubStartUpAsync(int hubId) {
+        return vcGetHubStartUpAsync(hubId, newDeadline());
+    }
+
+    /**
+     * Invokes vcGetHubStartUp asynchronously within a deadline
+     *
+     * @param hubId   ID of Hub
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the VcGetHubStartUpResponse
+     */
+    public CompletableFuture<VcGetHubStartUpResponse> vcGetHubStartUpAsync(int hubId, Deadline deadline) {
+        logger.debug("Calling vcGetHubStartUp api asynchronously with hubId: {}", hubId);
+        return executeAsync(GET_HUB_STARTUP, hubId, deadline);
+    }
+
+    /**
+     * Subscribes to the temperature and utilisation samples of hubs, pushed by the bridge on
+     * its telemetry stream instead of polled per sample. The stream is reopened when it drops,
+     * missed samples are re-read, and the hubs are polled while the stream is down.
+     * With more than one bridge the hubs are grouped by the bridge holding their sessions and
+     * each group is streamed from its own bridge; hubs not bound to a bridge share one stream.
+     *
+     * @param hubIds IDs of Hubs
+     * @param listener Receiver of the samples
+     * @return Open subscription; close it to stop receiving samples
+     */
+    public TelemetrySubscription subscribeHubTelemetry(int[] hubIds, TelemetryListener listener) {
+        int[] distinctHubIds = Arrays.stream(hubIds).distinct().toArray();
+        BridgeBalancer balancer = config.getBridgeBalancer();
+        Map<BridgeBalancer.Bridge, List<Integer>> hubsByBridge = new LinkedHashMap<>();
+        for (int hubId : distinctHubIds) {
+            BridgeBalancer.Bridge owner = balancer != null && balancer.size() > 1 ? balancer.getOwner(hubId) : null;
+            hubsByBridge.computeIfAbsent(owner, bridge -> new ArrayList<>()).add(hubId);
+        }
+        TelemetrySubscription subscription = new TelemetrySubscription(this, distinctHubIds, listener);
+        List<TelemetryStream> streams = new ArrayList<>(hubsByBridge.size());
+        for (List<Integer> group : hubsByBridge.values()) {
+            // Each stream is routed by its first hub, and so to the bridge holding the group's sessions
+            int[] groupHubIds = group.stream().mapToInt(Integer::intValue).toArray();
+            String path = TELEMETRY_STREAM + "?hubIds="
+                    + group.stream().map(String::valueOf).collect(Collectors.joining(","));
+            streams.add(new TelemetryStream(this, subscription, path, groupHubIds, listener));
+        }
+        subscriptions.add(subscription);
+        subscription.start(streams);
+        logger.info("Subscribed to telemetry of {} hub(s) over {} stream(s)", distinctHubIds.length, streams.size());
+        return subscription;
+    }
+
+    private static int connectedHubId(VcConnectResponse vcConnectResponse) {
+        return Boolean.TRUE.equals(vcConnectResponse.getSuccess()) && vcConnectResponse.getVcConnectDataResponse() != null
+                ? vcConnectResponse.getVcConnectDataResponse().getHubId() : EndpointTemplate.NO_HUB;
+    }
+
+    void removeSubscription(TelemetrySubscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    /**
+     * Closes every telemetry subscription and releases the shared HttpClient.
+     */
+    @Override
+    public void close() {
+        for (TelemetrySubscription subscription : subscriptions) {
+            subscription.close();
+        }
+        super.close();
+    }
+
+    /**
+     * Creates a vcGetHubTemp operation for a batch.
+     *
+     * @param hubId   ID of Hub
+     * @return Batch operation
+     */
+    public static HubOperation<VcGetHubTempResponse> hubTemp(int hubId) {
+        return new HubOperation<>(GET_HUB_TEMP, hubId);
+    }
+
+    /**
+     * Creates a vcGetHubIPDetails operation for a batch.
+     *
+     * @param hubId   ID of Hub
+     * @return Batch operation
+     */
+    public static HubOperation<VcGetHubIPDetailsResponse> hubIpDetails(int hubId) {
+        return new HubOperation<>(GET_HUB_IP_DETAILS, hubId);
+    }
+
+    /**
+     * Creates a vcGetHubUtil operation for a batch.
+     *
+     * @param hubId   ID of Hub
+     * @return Batch operation
+     */
+    public static HubOperation<VcGetHubUtilResponse> hubUtil(int hubId) {
+        return new HubOperation<>(GET_HUB_UTIL, hubId);
+    }
+
+    /**
+     * Creates a vcGetHubStartUp operation for a batch.
+     *
+     * @param hubId   ID of Hub
+     * @return Batch operation
+     */
+    public static HubOperation<VcGetHubStartUpResponse> hubStartUp(int hubId) {
+        return new HubOperation<>(GET_HUB_STARTUP, hubId);
+    }
+
+    /**
+     * Executes many hub reads in as few round trips as possible.
+     *
+     * @param operations Operations to execute
+     * @return One result per operation, in the same order
+     * @throws RestClientException If the call is interrupted
+     */
+    public List<HubOperationResult<?>> executeBatch(List<HubOperation<?>> operations) throws RestClientException {
+        return AsyncUtil.await(executeBatchAsync(operations));
+    }
+
+    /**
+     * Executes many hub reads asynchronously in as few round trips as possible.
+     *
+     * @param operations Operations to execute
+     * @return Future completing with one result per operation, in the same order
+     */
+    public CompletableFuture<List<HubOperationResult<?>>> executeBatchAsync(List<HubOperation<?>> operations) {
+        return executeBatchAsync(operations, newDeadline());
+    }
+
+    /**
+     * Executes many hub reads asynchronously within a deadline.
+     * The operations are sent to {@code POST /api/vlite/batch} in chunks of at most
+     * {@link RestClientConfig#getBatchMaxSize()}: the first chunk alone, the rest in parallel once
+     * it has been accepted. If the bridge answers 404, 405 or 501 it does not support batching:
+     * the operations are sent as single calls instead, at most
+     * {@link RestClientConfig#getFanOutMaxConcurrency()} at a time, and so are later batches until
+     * the endpoint is probed again.
+     * The future never completes exceptionally; each operation's failure is reported in its result.
+     *
+     * @param operations Operations to execute
+     * @param deadline Deadline for the whole batch, including retries
+     * @return Future completing with one result per operation, in the same order
+     */
+    public CompletableFuture<List<HubOperationResult<?>>> executeBatchAsync(List<HubOperation<?>> operations,
+                                                                           Deadline deadline) {
+        if (operations.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        int batchSize = config.getBatchMaxSize();
+        if (batchSize <= 1 || operations.size() == 1 || !isBatchSupported()) {
+            return executeSingly(operations, deadline);
+        }
+        return sendByBridge(operations, batchSize, deadline);
+    }
+
+    /**
+     * Splits the operations by the bridge holding each hub's session and sends every bridge its
+     * own batches, since a bridge can only read the hubs it is connected to. Operations for hubs
+     * not bound to a bridge, or all of them with a single bridge, are batched together wherever
+     * the batch endpoint is routed. Operations no batch could carry because the bridge does not
+     * support batching are then sent singly, all of them in one bounded pass.
+     */
+    private CompletableFuture<List<HubOperationResult<?>>> sendByBridge(List<HubOperation<?>> operations,
+                                                                       int batchSize, Deadline deadline) {
+        BridgeBalancer balancer = config.getBridgeBalancer();
+        boolean byBridge = balancer != null && balancer.size() > 1;
+        Map<BridgeBalancer.Bridge, List<Integer>> indexesByBridge = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BridgeBalancer.Bridge owner = byBridge ? balancer.getOwner(operations.get(i).getHubId()) : null;
+            indexesByBridge.computeIfAbsent(owner, bridge -> new ArrayList<>()).add(i);
+        }
+        HubOperationResult<?>[] results = new HubOperationResult<?>[operations.size()];
+        List<CompletableFuture<Void>> groups = new ArrayList<>(indexesByBridge.size());
+        indexesByBridge.forEach((bridge, indexes) -> {
+            List<HubOperation<?>> group = new ArrayList<>(indexes.size());
+            for (int index : indexes) {
+                group.add(operations.get(index));
+            }
+            groups.add(sendChunks(group, batchSize, bridge, deadline).thenAccept(groupResults -> {
+                for (int i = 0; i < indexes.size(); i++) {
+                    results[indexes.get(i)] = groupResults.get(i);
+                }
+            }));
+        });
+        return CompletableFuture.allOf(groups.toArray(new CompletableFuture<?>[0])).thenCompose(ignored -> {
+            List<Integer> unsent = new ArrayList<>();
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null) {
+                    unsent.add(i);
+                }
+            }
+            if (unsent.isEmpty()) {
+                return CompletableFuture.completedFuture(new ArrayList<>(Arrays.asList(results)));
+            }
+            List<HubOperation<?>> fallback = new ArrayList<>(unsent.size());
+            for (int index : unsent) {
+                fallback.add(operations.get(index));
+            }
+            return executeSingly(fallback, deadline).thenApply(singleResults -> {
+                for (int i = 0; i < unsent.size(); i++) {
+                    results[unsent.get(i)] = singleResults.get(i);
+                }
+                return new ArrayList<>(Arrays.asList(results));
+            });
+        });
+    }
+
+    /**
+     * Sends the operations in chunks of at most batchSize to the given bridge or, if it is null,
+     * wherever the batch endpoint is routed. The first chunk goes alone and probes whether the
+     * bridge supports batching; the rest follow in parallel once it has been accepted. The
+     * result of every operation whose chunk the bridge refused as unsupported is null.
+     */
+    private CompletableFuture<List<HubOperationResult<?>>> sendChunks(List<HubOperation<?>> operations, int batchSize,
+                                                                     BridgeBalancer.Bridge bridge, Deadline deadline) {
+        if (operations.size() == 1) {
+            return executeSingly(operations, deadline);
+        }
+        int firstSize = Math.min(operations.size(), batchSize);
+        return sendBatch(operations.subList(0, firstSize), bridge, deadline).thenCompose(first -> {
+            if (first == null) {
+                return CompletableFuture.completedFuture(new ArrayList<>(Collections.nCopies(operations.size(), null)));
+            }
+            List<CompletableFuture<List<HubOperationResult<?>>>> chunks = new ArrayList<>();
+            chunks.add(CompletableFuture.completedFuture(first));
+            for (int from = firstSize; from < operations.size(); from += batchSize) {
+                chunks.add(sendBatch(operations.subList(from, Math.min(operations.size(), from + batchSize)), bridge,
+                        deadline));
+            }
+            return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+                List<HubOperationResult<?>> results = new ArrayList<>(operations.size());
+                for (CompletableFuture<List<HubOperationResult<?>>> sent : chunks) {
+                    List<HubOperationResult<?>> chunk = sent.join();
+                    results.addAll(chunk != null ? chunk : Collections.nCopies(
+                            Math.min(batchSize, operations.size() - results.size()), null));
+                }
+                return results;
+            });
+        });
+    }
+
+    private boolean isBatchSupported() {
+        return !batchUnsupported || System.nanoTime() - batchProbeAt >= 0;
+    }
+
+    /**
+     * Sends one chunk as a single batch request and maps the results back onto its operations.
+     * Completes with null if the bridge does not support batching.
+     */
+    private CompletableFuture<List<HubOperationResult<?>>> sendBatch(List<HubOperation<?>> operations,
+                                                                    BridgeBalancer.Bridge bridge, Deadline deadline) {
+        List<BatchOperationRequest> items = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            HubOperation<?> operation = operations.get(i);
+            EndpointTemplate<?> endpoint = operation.getEndpoint();
+            items.add(new BatchOperationRequest(i, endpoint.getOperation(), operation.getHubId(),
+                    endpoint.getMethod(), endpoint.expand(operation.getHubId())));
+        }
+        ClientMetrics.increment("batch.requests");
+        ClientMetrics.add("batch.operations", operations.size());
+        logger.debug("Calling batch api asynchronously with {} operations", operations.size());
+        BatchRequest batchRequest = new BatchRequest(items);
+        return (bridge != null ? executeOnBridgeAsync(bridge, BATCH, batchRequest, deadline)
+                : executeAsync(BATCH, EndpointTemplate.NO_HUB, batchRequest, deadline))
+                .handle((batchResponse, error) -> {
+                    if (error == null) {
+                        batchUnsupported = false;
+                        return CompletableFuture.completedFuture(unpack(operations, batchResponse));
+                    }
+                    RestClientException cause = AsyncUtil.toRestClientException(error);
+                    if (cause instanceof ApiException && isBatchUnsupportedStatus(((ApiException) cause).getStatusCode())) {
+                        markBatchUnsupported(((ApiException) cause).getStatusCode());
+                        return CompletableFuture.<List<HubOperationResult<?>>>completedFuture(null);
+                    }
+                    List<HubOperationResult<?>> results = new ArrayList<>(operations.size());
+                    for (HubOperation<?> operation : operations) {
+                        results.add(HubOperationResult.failure(operation, cause));
+                    }
+                    return CompletableFuture.completedFuture(results);
+                })
+                .thenCompose(results -> results);
+    }
+
+    private static boolean isBatchUnsupportedStatus(int statusCode) {
+        return statusCode == 404 || statusCode == 405 || statusCode == 501;
+    }
+
+    private void markBatchUnsupported(int statusCode) {
+        batchProbeAt = System.nanoTime() + BATCH_PROBE_INTERVAL_NANOS;
+        if (!batchUnsupported) {
+            batchUnsupported = true;
+            logger.info("Bridge at {} does not support batch requests (status {}), sending operations singly",
+                    config.getBaseUrl(), statusCode);
+        }
+    }
+
+    private List<HubOperationResult<?>> unpack(List<HubOperation<?>> operations, BatchResponse batchResponse) {
+        BatchOperationResponse[] byId = new BatchOperationResponse[operations.size()];
+        if (batchResponse != null && batchResponse.getResults() != null) {
+            for (BatchOperationResponse item : batchResponse.getResults()) {
+                if (item != null && item.getId() >= 0 && item.getId() < byId.length) {
+                    byId[item.getId()] = item;
+                }
+            }
+        }
+        List<HubOperationResult<?>> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < byId.length; i++) {
+            results.add(toResult(operations.get(i), byId[i]));
+        }
+        return results;
+    }
+
+    /**
+     * Converts one item of a batch response into the result the single call would have produced.
+     */
+    private <T> HubOperationResult<T> toResult(HubOperation<T> operation, BatchOperationResponse item) {
+        if (item == null) {
+            ClientMetrics.increment("batch.operations.failed");
+            return HubOperationResult.failure(operation, new RestClientException(
+                    "No result for " + operation + " in batch response", "BATCH_RESULT_MISSING"));
+        }
+        int statusCode = item.getStatus() != null ? item.getStatus() : 200;
+        if (!HttpUtil.isSuccessful(statusCode) || Boolean.FALSE.equals(item.getSuccess())) {
+            ClientMetrics.increment("batch.operations.failed");
+            String message = item.getError() != null ? item.getError() : "status code " + statusCode;
+            return HubOperationResult.failure(operation, new ApiException(
+                    "Batch operation " + operation + " failed: " + message, statusCode,
+                    item.getBody() != null ? item.getBody().toString() : item.getError()));
+        }
+        try {
+            T response = item.getBody() == null || item.getBody().isNull() ? null
+                    : jsonUtil.getObjectMapper().treeToValue(item.getBody(), operation.getEndpoint().getResponseType());
+            return HubOperationResult.success(operation, response);
+        } catch (JsonProcessingException e) {
+            ClientMetrics.increment("batch.operations.failed");
+            return HubOperationResult.failure(operation, new RestClientException("Failed to deserialize JSON to " +
+                    operation.getEndpoint().getResponseType().getSimpleName() + ": " + e.getMessage(),
+                    "JSON_DESERIALIZATION_ERROR", e));
+        }
+    }
+
+    /**
+     * Sends every operation as its own call within the shared deadline, with at most
+     * {@link RestClientConfig#getFanOutMaxConcurrency()} in flight so a large fallback cannot
+     * overflow the telemetry bulkhead's queue.
+     */
+    private CompletableFuture<List<HubOperationResult<?>>> executeSingly(List<HubOperation<?>> operations,
+                                                                        Deadline deadline) {
+        ClientMetrics.add("batch.fallback.operations", operations.size());
+        return AsyncUtil.mapBounded(operations.size(), config.getFanOutMaxConcurrency(),
+                index -> executeSingle(operations.get(index), deadline).thenApply(result -> result));
+    }
+
+    private <T> CompletableFuture<HubOperationResult<T>> executeSingle(HubOperation<T> operation, Deadline deadline) {
+        return executeAsync(operation.getEndpoint(), operation.getHubId(), deadline).handle((response, error) ->
+                error == null ? HubOperationResult.success(operation, response)
+                        : HubOperationResult.failure(operation, AsyncUtil.toRestClientException(error)));
+    }
 }
@@ -1,5 +1,8 @@
 package system.score.vms.service;
 
+import system.score.vms.cache.ResponseCache;
+import system.score.vms.client.TelemetryListener;
+import system.score.vms.client.TelemetrySubscription;
 import system.score.vms.client.VLiteCommonApiClient;
 import system.score.vms.config.RestClientConfig;
 import system.score.vms.exception.RestClientException;
@@ -8,11 +11,25 @@ import system.score.vms.mock.GenerateMockResponse;
 import system.score.vms.model.request.VcConnectRequest;
 import system.score.vms.model.request.VcInitializeRequest;
 import system.score.vms.model.response.*;
+import system.score.vms.resilience.SingleFlight;
+import system.score.vms.utils.AsyncUtil;
+import system.score.vms.utils.ClientMetrics;
+import system.score.vms.utils.Deadline;
 import system.score.vms.utils.ValidationUtils;
 import system.score.vms.utils.JsonUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
 /**
  * Service class for accessing operations that are part of VLiteCommon Dll  .
  * Provides business logic layer over the VLiteCommonApiClient.
@@ -23,6 +40,10 @@ public class VLiteCommonService {
     private static final Logger logger = LoggerFactory.getLogger(VLiteCommonService.class);
 
     private final VLiteCommonApiClient vLiteCommonApiClient;
+    private final SingleFlight singleFlight = new SingleFlight("vliteCommon");
+    private final ResponseCache responseCache;
+    private final HubSessionManager sessionManager;
+    private final HubPoller poller;
 
     /**
      * Constructor for VLiteCommonService.
@@ -31,6 +52,9 @@ public class VLiteCommonService {
      */
     public VLiteCommonService(RestClientConfig config) {
         this.vLiteCommonApiClient = new VLiteCommonApiClient(config);
+        this.responseCache = config.getResponseCache();
+        this.sessionManager = new HubSessionManager(vLiteCommonApiClient);
+        this.poller = createPoller(config);
         logger.info("VLiteCommonService initialized");
     }
 
@@ -42,9 +66,41 @@ public class VLiteCommonService {
      */
     public VLiteCommonService(VLiteCommonApiClient vLiteCommonApiClient) {
         this.vLiteCommonApiClient = vLiteCommonApiClient;
+        this.responseCache = vLiteCommonApiClient.getConfig().getResponseCache();
+        this.sessionManager = new HubSessionManager(vLiteCommonApiClient);
+        this.poller = createPoller(vLiteCommonApiClient.getConfig());
         logger.info("VLiteCommonService initialized with custom client");
     }
 
+    /**
+     * Gets the registry of hub sessions opened through this service.
+     *
+     * @return Hub session manager
+     */
+    public HubSessionManager getSessionManager() {
+        return sessionManager;
+    }
+
+    /**
+     * Gets the background poller of hub metrics. Pollable metrics are vcGetHubTemp,
+     * vcGetHubUtil and vcGetHubStartUp.
+     *
+     * @return Hub poller
+     */
+    public HubPoller getPoller() {
+        return poller;
+    }
+
+    /**
+     * Releases the resources held by the underlying client.
+     */
+    public void close() {
+        poller.close();
+        sessionManager.close();
+        vLiteCommonApiClient.close();
+        logger.info("VLiteCommonService closed");
+    }
+
     /**
      * Invokes vcInitialize function with validation.
      *
@@ -56,6 +112,20 @@ public class VLiteCommonService {
      */
 
     public String initialize(String licenseKey, int versionMajor, int versionMinor) throws RestClientException {
+        return initialize(licenseKey, versionMajor, versionMinor, vLiteCommonApiClient.newDeadline());
+    }
+
+    /**
+     * Invokes vcInitialize function with validation.
+     *
+     * @param licenseKey   VLite License Key
+     * @param versionMajor DLL Major Version Number
+     * @param versionMinor DLL Minor Version Number
+     * @param deadline Deadline for the call, including retries
+     * @return JSON String with response from DLL APIs
+     * @throws RestClientException If the request fails or validation fails
+     */
+    public String initialize(String licenseKey, int versionMajor, int versionMinor, Deadline deadline) throws RestClientException {
         logger.debug("Inside  initialize service, licenseKey: {}, versionMajor: {}, versionMinor: {}", licenseKey, versionMajor, versionMinor);
 
         try {
@@ -70,7 +140,7 @@ public class VLiteCommonService {
             vcInitializeRequest.setVersionMinor(versionMinor);
 
 
-            VcInitializeResponse vcInitializeResponse = vLiteCommonApiClient.initialize(vcInitializeRequest);
+            VcInitializeResponse vcInitializeResponse = AsyncUtil.await(vLiteCommonApiClient.initializeAsync(vcInitializeRequest, deadline));
             logger.info("Successfully initialized DLL: (Success: {}, ErrorCode: {}, ErrorMessage: {} )", vcInitializeResponse.getSuccess(), vcInitializeResponse.getErrorCode(), vcInitializeResponse.getErrorMessage());
             JsonUtil jsonUtil = new JsonUtil();
             return jsonUtil.toJson(vcInitializeResponse);
@@ -99,6 +169,21 @@ public class VLiteCommonService {
      * @throws RestClientException If the request fails or validation fails
      */
     public String connect(String ipAddress, int port, String password, Boolean readOnly) throws RestClientException {
+        return connect(ipAddress, port, password, readOnly, vLiteCommonApiClient.newDeadline());
+    }
+
+    /**
+     * Invokes vcConnect function with validation.
+     *
+     * @param ipAddress IP Address of SBU
+     * @param port      Port Number of SBU
+     * @param password  Password to connect
+     * @param readOnly  Connection is Read Only
+     * @param deadline Deadline for the call, including retries
+     * @return JSON String with response from DLL APIs
+     * @throws RestClientException If the request fails or validation fails
+     */
+    public String connect(String ipAddress, int port, String password, Boolean readOnly, Deadline deadline) throws RestClientException {
         logger.debug("Inside  Connect  service, ipAddress: {}, port: {}, password: {}, readOnly{ {}", ipAddress, port, password, readOnly);
 
 
@@ -114,7 +199,7 @@ public class VLiteCommonService {
             vcConnectRequest.setPassword(password);
             vcConnectRequest.setReadOnly(readOnly);
 
-            VcConnectResponse vcConnectResponse = vLiteCommonApiClient.connect(vcConnectRequest);
+            VcConnectResponse vcConnectResponse = AsyncUtil.await(connectHub(vcConnectRequest, deadline));
             logger.info("Successfully called connect  DLL: (Success: {}, ErrorCode: {}, ErrorMessage: {} )", vcConnectResponse.getSuccess(), vcConnectResponse.getVcConnectDataResponse().getErrorCode(), vcConnectResponse.getError());
             JsonUtil jsonUtil = new JsonUtil();
             return jsonUtil.toJson(vcConnectResponse);
@@ -144,13 +229,25 @@ public class VLiteCommonService {
      * @throws RestClientException If the request fails or validation fails
      */
     public String vcGetHubTemp(int hubId) throws RestClientException {
+        return vcGetHubTemp(hubId, vLiteCommonApiClient.newDeadline());
+    }
+
+    /**
+     * Invokes vcGetHubTemp function with validation.
+     *
+     * @param hubId HUB ID  of SBU
+     * @param deadline Deadline for the call, including retries
+     * @return JSON String with response from DLL APIs
+     * @throws RestClientException If the request fails or validation fails
+     */
+    public String vcGetHubTemp(int hubId, Deadline deadline) throws RestClientException {
         logger.debug("Inside  vcGetHubTemp  service, hubId: {}", hubId);
         try {
 
             // Validation
             ValidationUtils.isGreaterThanZero(hubId, "hubId");
 
-            VcGetHubTempResponse vcGetHubTempResponse = vLiteCommonApiClient.vcGetHubTemp(hubId);
+            VcGetHubTempResponse vcGetHubTempResponse = AsyncUtil.await(fetchHubTemp(hubId, deadline));
             logger.info("Successfully called vcGetHubTemp  DLL: (Success: {}, ErrorMessage: {} )", vcGetHubTempResponse.getSuccess(), vcGetHubTempResponse.getError());
             JsonUtil jsonUtil = new JsonUtil();
             return jsonUtil.toJson(vcGetHubTempResponse);
@@ -176,6 +273,18 @@ public class VLiteCommonService {
      * @throws RestClientException If the request fails or validation fails
      */
     public String disconnect(int hubId) throws RestClientException {
+        return disconnect(hubId, vLiteCommonApiClient.newDeadline());
+    }
+
+    /**
+     * Invokes vcDisconnect function with validation.
+     *
+     * @param hubId HUB ID  of SBU
+     * @param deadline Deadline for the call, including retries
+     * @return JSON String with response from DLL APIs
+     * @throws RestClientException If the request fails or validation fails
+     */
+    public String disconnect(int hubId, Deadline deadline) throws RestClientException {
         logger.debug("Inside  Disconnect  service, hubId: {}", hubId);
         try {
 
@@ -183,7 +292,7 @@ public class VLiteCommonService {
             ValidationUtils.isGreaterThanZero(hubId, "hubId");
 
 
-            VcDisconnectResponse vliteDisconnectResponse = vLiteCommonApiClient.disconnect(hubId);
+            VcDisconnectResponse vliteDisconnectResponse = AsyncUtil.await(disconnectHub(hubId, deadline));
             logger.info("Successfully called Disconnect  DLL: (Success: {}, ErrorCode: {}, ErrorMessage: {} )", vliteDisconnectResponse.getSuccess(), vliteDisconnectResponse.getErrorCode(), vliteDisconnectResponse.getErrorMessage());
             JsonUtil jsonUtil = new JsonUtil();
             return jsonUtil.toJson(vliteDisconnectResponse);
@@ -209,13 +318,25 @@ public class VLiteCommonService {
      * @throws RestClientException If the request fails or validation fails
      */
     public String getHubIPDetails(int hubId) throws RestClientException {
+        return getHubIPDetails(hubId, vLiteCommonApiClient.newDeadline());
+    }
+
+    /**
+     * Invokes vcGetHubIPDetails function with validation.
+     *
+     * @param hubId HUB ID  of SBU
+     * @param deadline Deadline for the call, including retries
+     * @return JSON String with response from DLL APIs
+     * @throws RestClientException If the request fails or validation fails
+     */
+    public String getHubIPDetails(int hubId, Deadline deadline) throws RestClientException {
         logger.debug("Inside  getHubIPDetails  service, hubId: {}", hubId);
         try {
 
             // Validation
             ValidationUtils.isGreaterThanZero(hubId, "hubId");
 
-            VcGetHubIPDetailsResponse vcGetHubIPDetailsResponse = vLiteCommonApiClient.getHubIpDetails(hubId);
+            VcGetHubIPDetailsResponse vcGetHubIPDetailsResponse = AsyncUtil.await(fetchHubIpDetails(hubId, deadline));
             logger.info("Successfully called vcGetHubIPDetailsResponse  DLL: (Success: {}, ErrorCode: {}, ErrorMessage: {} )", vcGetHubIPDetailsResponse.getSuccess(), vcGetHubIPDetailsResponse.getVcGetHubIPDetailsDataResponse().getErrorCode(), vcGetHubIPDetailsResponse.getVcGetHubIPDetailsDataResponse().getErrorMessage());
             JsonUtil jsonUtil = new JsonUtil();
             return jsonUtil.toJson(vcGetHubIPDetailsResponse);
@@ -244,13 +365,25 @@ public class VLiteCommonService {
      * @throws RestClientException If the request fails or validation fails
      */
     public String vcGetHubUtil(int hubId) throws RestClientException {
+        return vcGetHubUtil(hubId, vLiteCommonApiClient.newDeadline());
+    }
+
+    /**
+     * Invokes vcGetHubUtil function with validation.
+     *
+     * @param hubId HUB ID  of SBU
+     * @param deadline Deadline for the call, including retries
+     * @return JSON String with response from DLL APIs
+     * @throws RestClientException If the request fails or validation fails
+     */
+    public String vcGetHubUtil(int hubId, Deadline deadline) throws RestClientException {
         logger.debug("Inside  vcGetHubUtil  service, hubId: {}", hubId);
         try {
 
             // Validation
             ValidationUtils.isGreaterThanZero(hubId, "hubId");
 
-            VcGetHubUtilResponse vcGetHubUtilResponse = vLiteCommonApiClient.vcGetHubUtil(hubId);
+            VcGetHubUtilResponse vcGetHubUtilResponse = AsyncUtil.await(fetchHubUtil(hubId, deadline));
             logger.info("Successfully called vcGetHubUtil  DLL: (Success: {}, ErrorMessage: {} )", vcGetHubUtilResponse.getSuccess(), vcGetHubUtilResponse.getError());
             JsonUtil jsonUtil = new JsonUtil();
             return jsonUtil.toJson(vcGetHubUtilResponse);
@@ -276,13 +409,25 @@ public class VLiteCommonService {
      * @throws RestClientException If the request fails or validation fails
      */
     public String vcGetHubStartUp(int hubId) throws RestClientException {
+        return vcGetHubStartUp(hubId, vLiteCommonApiClient.newDeadline());
+    }
+
+    /**
+     * Invokes vcGetHubStartUp function with validation.
+     *
+     * @param hubId HUB ID  of SBU
+     * @param deadline Deadline for the call, including retries
+     * @return JSON String with response from DLL APIs
+     * @throws RestClientException If the request fails or validation fails
+     */
+    public String vcGetHubStartUp(int hubId, Deadline deadline) throws RestClientException {
         logger.debug("Inside  vcGetHubStartUp  service, hubId: {}", hubId);
         try {
 
             // Validation
             ValidationUtils.isGreaterThanZero(hubId, "hubId");
 
-            VcGetHubStartUpResponse vcGetHubStartUpResponse = vLiteCommonApiClient.vcGetHubStartUp(hubId);
+            VcGetHubStartUpResponse vcGetHubStartUpResponse = AsyncUtil.await(fetchHubStartUp(hubId, deadline));
             logger.info("Successfully called vcGetHubStartUp  DLL: (Success: {}, ErrorMessage: {} )", vcGetHubStartUpResponse.getSuccess(), vcGetHubStartUpResponse.getError());
             JsonUtil jsonUtil = new JsonUtil();
             return jsonUtil.toJson(vcGetHubStartUpResponse);
@@ -299,4 +444,593 @@ public class VLiteCommonService {
         }
 
     }
+
+    /**
+     * Invokes vcInitialize function asynchronously with validation.
+     *
+     * @param licenseKey   VLite License Key
+     * @param versionMajor DLL Major Version Number
+     * @param versionMinor DLL Minor Version Number
+     * @return Future completing with the JSON String response from DLL APIs
+     */
+    public CompletableFuture<String> initializeAsync(String licenseKey, int versionMajor, int versionMinor) {
+        return initializeAsync(licenseKey, versionMajor, versionMinor, vLiteCommonApiClient.newDeadline());
+    }
+
+    /**
+     * Invokes vcInitialize function asynchronously with validation.
+     *
+     * @param licenseKey   VLite License Key
+     * @param versionMajor DLL Major Version Number
+     * @param versionMinor DLL Minor Version Number
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the JSON String response from DLL APIs
+     */
+    public CompletableFuture<String> initializeAsync(String licenseKey, int versionMajor, int versionMinor, Deadline deadline) {
+        logger.debug("Inside  initializeAsync service, versionMajor: {}, versionMinor: {}", versionMajor, versionMinor);
+        try {
+            // Validation
+            ValidationUtils.requireNonEmpty(licenseKey, "licenseKey");
+            ValidationUtils.isGreaterThanZero(versionMajor, "versionMajor");
+        } catch (ValidationException ve) {
+            return CompletableFuture.completedFuture(toValidationErrorJson(ve));
+        }
+
+        VcInitializeRequest vcInitializeRequest = new VcInitializeRequest();
+        vcInitializeRequest.setLicenseKey(licenseKey);
+        vcInitializeRequest.setVersionMajor(versionMajor);
+        vcInitializeRequest.setVersionMinor(versionMinor);
+
+        return vLiteCommonApiClient.initializeAsync(vcInitializeRequest, deadline).handle((vcInitializeResponse, error) -> {
+            if (error != null) {
+                logger.error("Failed to initialize DLL :", error);
+                return toErrorJson(AsyncUtil.toRestClientException(error));
+            }
+            logger.info("Successfully initialized DLL: (Success: {}, ErrorCode: {}, ErrorMessage: {} )", vcInitializeResponse.getSuccess(), vcInitializeResponse.getErrorCode(), vcInitializeResponse.getErrorMessage());
+            return toJson(vcInitializeResponse);
+        });
+    }
+
+    /**
+     * Invokes vcConnect function asynchronously with validation.
+     *
+     * @param ipAddress IP Address of SBU
+     * @param port      Port Number of SBU
+     * @param password  Password to connect
+     * @param readOnly  Connection is Read Only
+     * @return Future completing with the JSON String response from DLL APIs
+     */
+    public CompletableFuture<String> connectAsync(String ipAddress, int port, String password, Boolean readOnly) {
+        return connectAsync(ipAddress, port, password, readOnly, vLiteCommonApiClient.newDeadline());
+    }
+
+    /**
+     * Invokes vcConnect function asynchronously with validation.
+     *
+     * @param ipAddress IP Address of SBU
+     * @param port      Port Number of SBU
+     * @param password  Password to connect
+     * @param readOnly  Connection is Read Only
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the JSON String response from DLL APIs
+     */
+    public CompletableFuture<String> connectAsync(String ipAddress, int port, String password, Boolean readOnly, Deadline deadline) {
+        logger.debug("Inside  connectAsync service, ipAddress: {}, port: {}, readOnly: {}", ipAddress, port, readOnly);
+        try {
+            // Validation
+            ValidationUtils.isValidIPv4(ipAddress, "ipAddress");
+            ValidationUtils.isGreaterThanZero(port, "Port");
+            ValidationUtils.requireNonEmpty(password, "Password");
+        } catch (ValidationException ve) {
+            return CompletableFuture.completedFuture(toValidationErrorJson(ve));
+        }
+
+        VcConnectRequest vcConnectRequest = new VcConnectRequest();
+        vcConnectRequest.setIpAddress(ipAddress);
+        vcConnectRequest.setPort(port);
+        vcConnectRequest.setPassword(password);
+        vcConnectRequest.setReadOnly(readOnly);
+
+        return connectHub(vcConnectRequest, deadline).handle((vcConnectResponse, error) -> {
+            if (error != null) {
+                logger.error("Failed to connect :", error);
+                //Mocking vcConnect Success response for development  purpose
+                GenerateMockResponse generateMockResponse = new GenerateMockResponse();
+                return toJson(generateMockResponse.mockVcConnectResponse());
+            }
+            logger.info("Successfully called connect  DLL: (Success: {}, ErrorCode: {}, ErrorMessage: {} )", vcConnectResponse.getSuccess(), vcConnectResponse.getVcConnectDataResponse().getErrorCode(), vcConnectResponse.getError());
+            return toJson(vcConnectResponse);
+        });
+    }
+
+    /**
+     * Invokes vcGetHubTemp function asynchronously with validation.
+     *
+     * @param hubId HUB ID  of SBU
+     * @return Future completing with the JSON String response from DLL APIs
+     */
+    public CompletableFuture<String> vcGetHubTempAsync(int hubId) {
+        return vcGetHubTempAsync(hubId, vLiteCommonApiClient.newDeadline());
+    }
+
+    /**
+     * Invokes vcGetHubTemp function asynchronously with validation.
+     *
+     * @param hubId HUB ID  of SBU
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the JSON String response from DLL APIs
+     */
+    public CompletableFuture<String> vcGetHubTempAsync(int hubId, Deadline deadline) {
+        logger.debug("Inside  vcGetHubTempAsync  service, hubId: {}", hubId);
+        try {
+            // Validation
+            ValidationUtils.isGreaterThanZero(hubId, "hubId");
+        } catch (ValidationException ve) {
+            return CompletableFuture.completedFuture(toValidationErrorJson(ve));
+        }
+
+        return fetchHubTemp(hubId, deadline).handle((vcGetHubTempResponse, error) -> {
+            if (error != null) {
+                logger.error("Failed to call vcGetHubTemp :", error);
+                return toErrorJson(AsyncUtil.toRestClientException(error));
+            }
+            logger.info("Successfully called vcGetHubTemp  DLL: (Success: {}, ErrorMessage: {} )", vcGetHubTempResponse.getSuccess(), vcGetHubTempResponse.getError());
+            return toJson(vcGetHubTempResponse);
+        });
+    }
+
+    /**
+     * Invokes vcDisconnect function asynchronously with validation.
+     *
+     * @param hubId HUB ID  of SBU
+     * @return Future completing with the JSON String response from DLL APIs
+     */
+    public CompletableFuture<String> disconnectAsync(int hubId) {
+        return disconnectAsync(hubId, vLiteCommonApiClient.newDeadline());
+    }
+
+    /**
+     * Invokes vcDisconnect function asynchronously with validation.
+     *
+     * @param hubId HUB ID  of SBU
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the JSON String response from DLL APIs
+     */
+    public CompletableFuture<String> disconnectAsync(int hubId, Deadline deadline) {
+        logger.debug("Inside  disconnectAsync  service, hubId: {}", hubId);
+        try {
+            // Validation
+            ValidationUtils.isGreaterThanZero(hubId, "hubId");
+        } catch (ValidationException ve) {
+            return CompletableFuture.completedFuture(toValidationErrorJson(ve));
+        }
+
+        return disconnectHub(hubId, deadline).handle((vliteDisconnectResponse, error) -> {
+            if (error != null) {
+                logger.error("Failed to disconnect :", error);
+                return toErrorJson(AsyncUtil.toRestClientException(error));
+            }
+            logger.info("Successfully called Disconnect  DLL: (Success: {}, ErrorCode: {}, ErrorMessage: {} )", vliteDisconnectResponse.getSuccess(), vliteDisconnectResponse.getErrorCode(), vliteDisconnectResponse.getErrorMessage());
+            return toJson(vliteDisconnectResponse);
+        });
+    }
+
+    /**
+     * Invokes vcGetHubIPDetails function asynchronously with validation.
+     *
+     * @param hubId HUB ID  of SBU
+     * @return Future completing with the JSON String response from DLL APIs
+     */
+    public CompletableFuture<String> getHubIPDetailsAsync(int hubId) {
+        return getHubIPDetailsAsync(hubId, vLiteCommonApiClient.newDeadline());
+    }
+
+    /**
+     * Invokes vcGetHubIPDetails function asynchronously with validation.
+     *
+     * @param hubId HUB ID  of SBU
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the JSON String response from DLL APIs
+     */
+    public CompletableFuture<String> getHubIPDetailsAsync(int hubId, Deadline deadline) {
+        logger.debug("Inside  getHubIPDetailsAsync  service, hubId: {}", hubId);
+        try {
+            // Validation
+            ValidationUtils.isGreaterThanZero(hubId, "hubId");
+        } catch (ValidationException ve) {
+            return CompletableFuture.completedFuture(toValidationErrorJson(ve));
+        }
+
+        return fetchHubIpDetails(hubId, deadline).handle((vcGetHubIPDetailsResponse, error) -> {
+            if (error != null) {
+                logger.error("Failed to call vcGetHubIPDetails :", error);
+                //Mocking vcGetHubIPDetails Success response for development  purpose
+                GenerateMockResponse generateMockResponse = new GenerateMockResponse();
+                return toJson(generateMockResponse.mockVcGetHubIPDetailsresponse());
+            }
+            logger.info("Successfully called vcGetHubIPDetailsResponse  DLL: (Success: {}, ErrorCode: {}, ErrorMessage: {} )", vcGetHubIPDetailsResponse.getSuccess(), vcGetHubIPDetailsResponse.getVcGetHubIPDetailsDataResponse().getErrorCode(), vcGetHubIPDetailsResponse.getVcGetHubIPDetailsDataResponse().getErrorMessage());
+            return toJson(vcGetHubIPDetailsResponse);
+        });
+    }
+
+    /**
+     * Invokes vcGetHubUtil function asynchronously with validation.
+     *
+     * @param hubId HUB ID  of SBU
+     * @return Future completing with the JSON String response from DLL APIs
+     */
+    public CompletableFuture<String> vcGetHubUtilAsync(int hubId) {
+        return vcGetHubUtilAsync(hubId, vLiteCommonApiClient.newDeadline());
+    }
+
+    /**
+     * Invokes vcGetHubUtil function asynchronously with validation.
+     *
+     * @param hubId HUB ID  of SBU
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the JSON String response from DLL APIs
+     */
+    public CompletableFuture<String> vcGetHubUtilAsync(int hubId, Deadline deadline) {
+        logger.debug("Inside  vcGetHubUtilAsync  service, hubId: {}", hubId);
+        try {
+            // Validation
+            ValidationUtils.isGreaterThanZero(hubId, "hubId");
+        } catch (ValidationException ve) {
+            return CompletableFuture.completedFuture(toValidationErrorJson(ve));
+        }
+
+        return fetchHubUtil(hubId, deadline).handle((vcGetHubUtilResponse, error) -> {
+            if (error != null) {
+                logger.error("Failed to call vcGetHubUtil :", error);
+                return toErrorJson(AsyncUtil.toRestClientException(error));
+            }
+            logger.info("Successfully called vcGetHubUtil  DLL: (Success: {}, ErrorMessage: {} )", vcGetHubUtilResponse.getSuccess(), vcGetHubUtilResponse.getError());
+            return toJson(vcGetHubUtilResponse);
+        });
+    }
+
+    /**
+     * Invokes vcGetHubStartUp function asynchronously with validation.
+     *
+     * @param hubId HUB ID  of SBU
+     * @return Future completing with the JSON String response from DLL APIs
+     */
+    public CompletableFuture<String> vcGetHubStartUpAsync(int hubId) {
+        return vcGetHubStartUpAsync(hubId, vLiteCommonApiClient.newDeadline());
+    }
+
+    /**
+     * Invokes vcGetHubStartUp function asynchronously with validation.
+     *
+     * @param hubId HUB ID  of SBU
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the JSON String response from DLL APIs
+     */
+    public CompletableFuture<String> vcGetHubStartUpAsync(int hubId, Deadline deadline) {
+        logger.debug("Inside  vcGetHubStartUpAsync  service, hubId: {}", hubId);
+        try {
+            // Validation
+            ValidationUtils.isGreaterThanZero(hubId, "hubId");
+        } catch (ValidationException ve) {
+            return CompletableFuture.completedFuture(toValidationErrorJson(ve));
+        }
+
+        return fetchHubStartUp(hubId, deadline).handle((vcGetHubStartUpResponse, error) -> {
+            if (error != null) {
+                logger.error("Failed to call vcGetHubStartUp :", error);
+                return toErrorJson(AsyncUtil.toRestClientException(error));
+            }
+            logger.info("Successfully called vcGetHubStartUp  DLL: (Success: {}, ErrorMessage: {} )", vcGetHubStartUpResponse.getSuccess(), vcGetHubStartUpResponse.getError());
+            return toJson(vcGetHubStartUpResponse);
+        });
+    }
+
+    /**
+     * Invokes vcGetHubTemp function for many hubs in parallel.
+     *
+     * @param hubIds HUB IDs of SBUs
+     * @param deadline Deadline for the whole read, shared by every hub's call
+     * @return JSON object mapping each hub ID to its response or error
+     * @throws RestClientException If the wait is interrupted
+     */
+    public String vcGetHubTempMany(int[] hubIds, Deadline deadline) throws RestClientException {
+        return AsyncUtil.await(vcGetHubTempManyAsync(hubIds, deadline));
+    }
+
+    /**
+     * Invokes vcGetHubTemp function for many hubs in parallel, asynchronously.
+     *
+     * @param hubIds HUB IDs of SBUs
+     * @param deadline Deadline for the whole read, shared by every hub's call
+     * @return Future completing with the JSON object mapping each hub ID to its response or error
+     */
+    public CompletableFuture<String> vcGetHubTempManyAsync(int[] hubIds, Deadline deadline) {
+        return fanOut("vcGetHubTemp", hubIds, deadline, this::fetchHubTemp);
+    }
+
+    /**
+     * Invokes vcGetHubIPDetails function for many hubs in parallel.
+     *
+     * @param hubIds HUB IDs of SBUs
+     * @param deadline Deadline for the whole read, shared by every hub's call
+     * @return JSON object mapping each hub ID to its response or error
+     * @throws RestClientException If the wait is interrupted
+     */
+    public String getHubIPDetailsMany(int[] hubIds, Deadline deadline) throws RestClientException {
+        return AsyncUtil.await(getHubIPDetailsManyAsync(hubIds, deadline));
+    }
+
+    /**
+     * Invokes vcGetHubIPDetails function for many hubs in parallel, asynchronously.
+     *
+     * @param hubIds HUB IDs of SBUs
+     * @param deadline Deadline for the whole read, shared by every hub's call
+     * @return Future completing with the JSON object mapping each hub ID to its response or error
+     */
+    public CompletableFuture<String> getHubIPDetailsManyAsync(int[] hubIds, Deadline deadline) {
+        return fanOut("vcGetHubIPDetails", hubIds, deadline, this::fetchHubIpDetails);
+    }
+
+    /**
+     * Invokes vcGetHubUtil function for many hubs in parallel.
+     *
+     * @param hubIds HUB IDs of SBUs
+     * @param deadline Deadline for the whole read, shared by every hub's call
+     * @return JSON object mapping each hub ID to its response or error
+     * @throws RestClientException If the wait is interrupted
+     */
+    public String vcGetHubUtilMany(int[] hubIds, Deadline deadline) throws RestClientException {
+        return AsyncUtil.await(vcGetHubUtilManyAsync(hubIds, deadline));
+    }
+
+    /**
+     * Invokes vcGetHubUtil function for many hubs in parallel, asynchronously.
+     *
+     * @param hubIds HUB IDs of SBUs
+     * @param deadline Deadline for the whole read, shared by every hub's call
+     * @return Future completing with the JSON object mapping each hub ID to its response or error
+     */
+    public CompletableFuture<String> vcGetHubUtilManyAsync(int[] hubIds, Deadline deadline) {
+        return fanOut("vcGetHubUtil", hubIds, deadline, this::fetchHubUtil);
+    }
+
+    /**
+     * Invokes vcGetHubStartUp function for many hubs in parallel.
+     *
+     * @param hubIds HUB IDs of SBUs
+     * @param deadline Deadline for the whole read, shared by every hub's call
+     * @return JSON object mapping each hub ID to its response or error
+     * @throws RestClientException If the wait is interrupted
+     */
+    public String vcGetHubStartUpMany(int[] hubIds, Deadline deadline) throws RestClientException {
+        return AsyncUtil.await(vcGetHubStartUpManyAsync(hubIds, deadline));
+    }
+
+    /**
+     * Invokes vcGetHubStartUp function for many hubs in parallel, asynchronously.
+     *
+     * @param hubIds HUB IDs of SBUs
+     * @param deadline Deadline for the whole read, shared by every hub's call
+     * @return Future completing with the JSON object mapping each hub ID to its response or error
+     */
+    public CompletableFuture<String> vcGetHubStartUpManyAsync(int[] hubIds, Deadline deadline) {
+        return fanOut("vcGetHubStartUp", hubIds, deadline, this::fetchHubStartUp);
+    }
+
+    /**
+     * Subscribes to the temperature and utilisation samples of hubs, pushed by the bridge
+     * instead of polled. See TelemetrySubscription for how drops and missed samples are handled.
+     *
+     * @param hubIds IDs of Hubs
+     * @param listener Receiver of the samples
+     * @return Open subscription; close it to stop receiving samples
+     */
+    public TelemetrySubscription subscribeHubTelemetry(int[] hubIds, TelemetryListener listener) {
+        ValidationUtils.requireNonNull(hubIds, "hubIds");
+        ValidationUtils.requireNonNull(listener, "listener");
+        for (int hubId : hubIds) {
+            ValidationUtils.isGreaterThanZero(hubId, "hubId");
+        }
+        return vLiteCommonApiClient.subscribeHubTelemetry(hubIds, listener);
+    }
+
+    /**
+     * Reads one operation for many hubs, at most RestClientConfig.getFanOutMaxConcurrency()
+     * calls at a time, all within the one deadline. Duplicate hub IDs are read once. Every hub
+     * gets an entry, either its response or the error response its call failed with, so one
+     * unreachable hub does not hide the others.
+     */
+    private CompletableFuture<String> fanOut(String operation, int[] hubIds, Deadline deadline,
+                                             BiFunction<Integer, Deadline, CompletableFuture<?>> fetch) {
+        int[] distinctHubIds = hubIds != null ? Arrays.stream(hubIds).distinct().toArray() : new int[0];
+        logger.debug("Inside  {}Many  service, hubs: {}", operation, distinctHubIds.length);
+        ClientMetrics.increment("fanout." + operation + ".calls");
+        ClientMetrics.add("fanout." + operation + ".hubs", distinctHubIds.length);
+        int maxConcurrent = vLiteCommonApiClient.getConfig().getFanOutMaxConcurrency();
+        return AsyncUtil.mapBounded(distinctHubIds.length, maxConcurrent,
+                        i -> fetchForFanOut(operation, distinctHubIds[i], deadline, fetch))
+                .thenApply(responses -> {
+                    Map<String, Object> responsesByHub = new LinkedHashMap<>();
+                    for (int i = 0; i < distinctHubIds.length; i++) {
+                        responsesByHub.put(String.valueOf(distinctHubIds[i]), responses.get(i));
+                    }
+                    return toJson(responsesByHub);
+                });
+    }
+
+    /**
+     * Reads one hub for a fan-out, turning a failure into that hub's error response.
+     */
+    private CompletableFuture<Object> fetchForFanOut(String operation, int hubId, Deadline deadline,
+                                                     BiFunction<Integer, Deadline, CompletableFuture<?>> fetch) {
+        try {
+            ValidationUtils.isGreaterThanZero(hubId, "hubId");
+        } catch (ValidationException ve) {
+            return CompletableFuture.completedFuture(
+                    new ErrorResponse(false, ve.getMessage(), ValidationUtils.currentTimestamp()));
+        }
+        return fetch.apply(hubId, deadline).handle((response, error) -> {
+            if (error == null) {
+                return response;
+            }
+            RestClientException e = AsyncUtil.toRestClientException(error);
+            logger.warn("Failed to call {} for hub {}: {}", operation, hubId, e.getMessage());
+            return new ErrorResponse(false, e.getErrorCode(), e.getMessage());
+        });
+    }
+
+    /**
+     * Reads vcGetHubTemp through the response cache and the single-flight layer, reporting
+     * the outcome to the session manager so a dropped session is noticed.
+     */
+    private CompletableFuture<VcGetHubTempResponse> fetchHubTemp(int hubId, Deadline deadline) {
+        return cached("vcGetHubTemp", hubId, deadline, shared -> vLiteCommonApiClient.vcGetHubTempAsync(hubId, shared),
+                response -> Boolean.TRUE.equals(response.getSuccess()))
+                .whenComplete((response, error) -> sessionManager.onTelemetry(hubId,
+                        response != null ? response.getSuccess() : null, response != null ? response.getError() : null,
+                        error));
+    }
+
+    /**
+     * Reads vcGetHubIPDetails through the response cache and the single-flight layer, like fetchHubTemp.
+     */
+    private CompletableFuture<VcGetHubIPDetailsResponse> fetchHubIpDetails(int hubId, Deadline deadline) {
+        return cached("vcGetHubIPDetails", hubId, deadline, shared -> vLiteCommonApiClient.getHubIpDetailsAsync(hubId, shared),
+                response -> Boolean.TRUE.equals(response.getSuccess()))
+                .whenComplete((response, error) -> sessionManager.onTelemetry(hubId,
+                        response != null ? response.getSuccess() : null, response != null ? response.getError() : null,
+                        error));
+    }
+
+    /**
+     * Reads vcGetHubUtil through the response cache and the single-flight layer, like fetchHubTemp.
+     */
+    private CompletableFuture<VcGetHubUtilResponse> fetchHubUtil(int hubId, Deadline deadline) {
+        return cached("vcGetHubUtil", hubId, deadline, shared -> vLiteCommonApiClient.vcGetHubUtilAsync(hubId, shared),
+                response -> Boolean.TRUE.equals(response.getSuccess()))
+                .whenComplete((response, error) -> sessionManager.onTelemetry(hubId,
+                        response != null ? response.getSuccess() : null, response != null ? response.getError() : null,
+                        error));
+    }
+
+    /**
+     * Reads vcGetHubStartUp through the response cache and the single-flight layer, like fetchHubTemp.
+     */
+    private CompletableFuture<VcGetHubStartUpResponse> fetchHubStartUp(int hubId, Deadline deadline) {
+        return cached("vcGetHubStartUp", hubId, deadline, shared -> vLiteCommonApiClient.vcGetHubStartUpAsync(hubId, shared),
+                response -> Boolean.TRUE.equals(response.getSuccess()))
+                .whenComplete((response, error) -> sessionManager.onTelemetry(hubId,
+                        response != null ? response.getSuccess() : null, response != null ? response.getError() : null,
+                        error));
+    }
+
+    /**
+     * Creates the poller and registers the metrics it can poll, read through the same helpers
+     * as script calls.
+     */
+    private HubPoller createPoller(RestClientConfig config) {
+        HubPoller hubPoller = new HubPoller(config.getPollingTickDuration(), config.getPollingWheelSize());
+        hubPoller.register("vcGetHubTemp", this::fetchHubTemp,
+                response -> pollFailure(response.getSuccess(), response.getError()),
+                response -> response.getVcGetHubTempDataResponse() != null
+                        ? (double) response.getVcGetHubTempDataResponse().getTemperature() : null);
+        hubPoller.register("vcGetHubUtil", this::fetchHubUtil,
+                response -> pollFailure(response.getSuccess(), response.getError()),
+                response -> response.getVcGetHubUtilDataResponse() != null
+                        ? parseNumber(response.getVcGetHubUtilDataResponse().getUtilisation()) : null);
+        hubPoller.register("vcGetHubStartUp", this::fetchHubStartUp,
+                response -> pollFailure(response.getSuccess(), response.getError()), null);
+        return hubPoller;
+    }
+
+    /**
+     * Reads the number in a value reported as text, such as a utilisation of "42.5%".
+     *
+     * @return The number, or null if there is none
+     */
+    private static Double parseNumber(String value) {
+        if (value == null) {
+            return null;
+        }
+        String number = value.replaceAll("[^0-9.+-]", "");
+        try {
+            return number.isEmpty() ? null : Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String pollFailure(Boolean success, String error) {
+        if (Boolean.TRUE.equals(success)) {
+            return null;
+        }
+        return error != null ? error : "Unsuccessful response";
+    }
+
+    /**
+     * Connects a hub through the session manager, which reuses a live session and drops the
+     * cached responses of a newly connected hub.
+     */
+    private CompletableFuture<VcConnectResponse> connectHub(VcConnectRequest vcConnectRequest, Deadline deadline) {
+        return sessionManager.connect(vcConnectRequest, deadline);
+    }
+
+    /**
+     * Disconnects a hub through the session manager, which forgets its session and drops the
+     * hub's cached responses once the call has completed.
+     */
+    private CompletableFuture<VcDisconnectResponse> disconnectHub(int hubId, Deadline deadline) {
+        return sessionManager.disconnect(hubId, deadline);
+    }
+
+    /**
+     * Serves a read from the response cache, or loads it through the single-flight layer so
+     * concurrent misses for the same operation and hub share one request to the bridge.
+     * The shared request runs under the client's default deadline rather than the deadline of
+     * whichever caller started it, so a caller with a short deadline does not fail the callers
+     * that joined it; each caller's copy is bounded by that caller's own deadline, and the
+     * request is cancelled once every caller has given up on it.
+     */
+    private <V> CompletableFuture<V> cached(String operation, int hubId, Deadline deadline,
+                                            Function<Deadline, CompletableFuture<V>> loader,
+                                            Predicate<? super V> cacheable) {
+        if (deadline.isExpired()) {
+            return CompletableFuture.failedFuture(deadline.exceeded(operation + " not started"));
+        }
+        Supplier<CompletableFuture<V>> coalesced = () -> singleFlight.execute(operation + ":" + hubId,
+                () -> loader.apply(vLiteCommonApiClient.newDeadline()));
+        if (responseCache == null) {
+            return deadline.bound(coalesced.get());
+        }
+        return deadline.bound(responseCache.getOrLoad(operation, hubId, coalesced, cacheable));
+    }
+
+    /**
+     * Serializes a response inside a future pipeline.
+     */
+    private String toJson(Object response) {
+        try {
+            JsonUtil jsonUtil = new JsonUtil();
+            return jsonUtil.toJson(response);
+        } catch (RestClientException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Builds the JSON error response for a failed client call.
+     */
+    private String toErrorJson(RestClientException e) {
+        ErrorResponse errorResponse = new ErrorResponse(false, e.getErrorCode(), e.getMessage());
+        return toJson(errorResponse);
+    }
+
+    /**
+     * Builds the JSON error response for a failed validation.
+     */
+    private String toValidationErrorJson(ValidationException ve) {
+        logger.error("Validation Failed:", ve);
+        ErrorResponse errorResponse = new ErrorResponse(false, ve.getMessage(), ValidationUtils.currentTimestamp());
+        return toJson(errorResponse);
+    }
 }
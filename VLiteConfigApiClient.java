@@ -7,9 +7,9 @@ import system.score.vms.exception.RestClientException;
 import system.score.vms.model.request.CfSetHubTagNameRequest;
 import system.score.vms.model.response.CfSetHubTagNameResponse;
 import system.score.vms.model.response.VcInitializeResponse;
+import system.score.vms.utils.Deadline;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class VLiteConfigApiClient extends BaseRestClient{
 
@@ -17,6 +17,11 @@ public class VLiteConfigApiClient extends BaseRestClient{
 
     private static final String VLITECONFIG_ENDPOINT = "/api/vlite";
 
+    private static final EndpointTemplate<CfSetHubTagNameResponse> CF_SET_HUB_TAG_NAME =
+            EndpointTemplate.post("cfSetHubTagName", VLITECONFIG_ENDPOINT + "/cfSetHubTagName", CfSetHubTagNameResponse.class)
+                    .inClass(OperationClass.CONFIGURATION)
+                    .routed(EndpointTemplate.Routing.HUB);
+
     /**
      * Constructor for VLiteConfigApiClient.
      *
@@ -36,11 +41,32 @@ public class VLiteConfigApiClient extends BaseRestClient{
      */
     public CfSetHubTagNameResponse cfSetHubTagName(CfSetHubTagNameRequest cfSetHubTagNameRequest) throws RestClientException {
         logger.debug("Calling cfSetHubTagName api with hubId: {}, tagName: {}", cfSetHubTagNameRequest.getHubId(), cfSetHubTagNameRequest.getTagName());
-        String endpoint = VLITECONFIG_ENDPOINT + "/cfSetHubTagName";
-        Map<String, String> headers = new HashMap<>();
-        CfSetHubTagNameResponse cfSetHubTagNameResponse =post(endpoint, cfSetHubTagNameRequest, CfSetHubTagNameResponse.class, headers);
+        CfSetHubTagNameResponse cfSetHubTagNameResponse = execute(CF_SET_HUB_TAG_NAME, cfSetHubTagNameRequest.getHubId(), cfSetHubTagNameRequest);
         logger.debug("Successfully invoked cfSetHubTagName api, success: {}", cfSetHubTagNameResponse.getSuccess());
         return cfSetHubTagNameResponse;
 
     }
+
+    /**
+     * Invokes cfSetHubTagName asynchronously
+     *
+     * @param cfSetHubTagNameRequest   cfSetHubTagName request
+     * @return Future completing with the cfSetHubTagName response
+     */
+    public CompletableFuture<CfSetHubTagNameResponse> cfSetHubTagNameAsync(CfSetHubTagNameRequest cfSetHubTagNameRequest) {
+        return cfSetHubTagNameAsync(cfSetHubTagNameRequest, newDeadline());
+    }
+
+    /**
+     * Invokes cfSetHubTagName asynchronously within a deadline
+     *
+     * @param cfSetHubTagNameRequest   cfSetHubTagName request
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the cfSetHubTagName response
+     */
+    public CompletableFuture<CfSetHubTagNameResponse> cfSetHubTagNameAsync(CfSetHubTagNameRequest cfSetHubTagNameRequest,
+                                                                         Deadline deadline) {
+        logger.debug("Calling cfSetHubTagName api asynchronously with hubId: {}, tagName: {}", cfSetHubTagNameRequest.getHubId(), cfSetHubTagNameRequest.getTagName());
+        return executeAsync(CF_SET_HUB_TAG_NAME, cfSetHubTagNameRequest.getHubId(), cfSetHubTagNameRequest, deadline);
+    }
 }
@@ -3,6 +3,7 @@ package system.score.vms.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import system.score.vms.cache.ResponseCache;
 import system.score.vms.client.VLiteConfigApiClient;
 import system.score.vms.config.RestClientConfig;
 import system.score.vms.exception.RestClientException;
@@ -11,8 +12,13 @@ import system.score.vms.model.request.VcInitializeRequest;
 import system.score.vms.model.response.CfSetHubTagNameResponse;
 import system.score.vms.model.response.ErrorResponse;
 import system.score.vms.model.response.VcInitializeResponse;
+import system.score.vms.utils.AsyncUtil;
+import system.score.vms.utils.Deadline;
 import system.score.vms.utils.JsonUtil;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 /**
  * Service class for accessing operations that are part of VLiteConfig Dll  .
  * Provides business logic layer over the VLiteConfigApiClient.
@@ -45,6 +51,14 @@ public class VLiteConfigService {
         logger.info("VLiteCommonService initialized with custom client");
     }
 
+    /**
+     * Releases the resources held by the underlying client.
+     */
+    public void close() {
+        vLiteConfigApiClient.close();
+        logger.info("VLiteConfigService closed");
+    }
+
     /**
      * Invokes cfSetHubTagName function with validation.
      *
@@ -54,6 +68,19 @@ public class VLiteConfigService {
      * @throws RestClientException  If the request fails or validation fails
      */
     public String cfSetHubTagName(int hubId, String tagName) throws RestClientException {
+        return cfSetHubTagName(hubId, tagName, vLiteConfigApiClient.newDeadline());
+    }
+
+    /**
+     * Invokes cfSetHubTagName function with validation.
+     *
+     * @param hubId   Hub ID
+     * @param tagName Tag name to set on the hub
+     * @param deadline Deadline for the call, including retries
+     * @return JSON String with response from DLL APIs
+     * @throws RestClientException  If the request fails or validation fails
+     */
+    public String cfSetHubTagName(int hubId, String tagName, Deadline deadline) throws RestClientException {
 
             logger.debug("Inside  cfSetHubTagName service, hubId: {}, tagName: {}", hubId, tagName);
 
@@ -68,7 +95,7 @@ public class VLiteConfigService {
                 cfSetHubTagNameRequest.setTagName(tagName);
 
 
-                CfSetHubTagNameResponse cfSetHubTagNameResponse = vLiteConfigApiClient.cfSetHubTagName(cfSetHubTagNameRequest);
+                CfSetHubTagNameResponse cfSetHubTagNameResponse = AsyncUtil.await(setHubTagName(cfSetHubTagNameRequest, deadline));
                 logger.info("Successfully initialized DLL: (Success: {}, ErrorMessage: {} )", cfSetHubTagNameResponse.getSuccess(), cfSetHubTagNameResponse.getError());
                 JsonUtil jsonUtil = new JsonUtil();
                 return jsonUtil.toJson(cfSetHubTagNameResponse);
@@ -80,4 +107,80 @@ public class VLiteConfigService {
             }
 
         }
+
+    /**
+     * Invokes cfSetHubTagName function asynchronously with validation.
+     *
+     * @param hubId   Hub ID
+     * @param tagName Tag name to set on the hub
+     * @return Future completing with the JSON String response from DLL APIs
+     */
+    public CompletableFuture<String> cfSetHubTagNameAsync(int hubId, String tagName) {
+        return cfSetHubTagNameAsync(hubId, tagName, vLiteConfigApiClient.newDeadline());
+    }
+
+    /**
+     * Invokes cfSetHubTagName function asynchronously with validation.
+     *
+     * @param hubId   Hub ID
+     * @param tagName Tag name to set on the hub
+     * @param deadline Deadline for the call, including retries
+     * @return Future completing with the JSON String response from DLL APIs
+     */
+    public CompletableFuture<String> cfSetHubTagNameAsync(int hubId, String tagName, Deadline deadline) {
+        logger.debug("Inside  cfSetHubTagNameAsync service, hubId: {}, tagName: {}", hubId, tagName);
+
+        // Validation
+        if (hubId <= 0) {
+            return CompletableFuture.completedFuture(toErrorJson(new RestClientException("Invalid Hu Id", "INVALID_HUB_ID")));
+        }
+
+        CfSetHubTagNameRequest cfSetHubTagNameRequest = new CfSetHubTagNameRequest();
+        cfSetHubTagNameRequest.setHubId(hubId);
+        cfSetHubTagNameRequest.setTagName(tagName);
+
+        return setHubTagName(cfSetHubTagNameRequest, deadline).handle((cfSetHubTagNameResponse, error) -> {
+            if (error != null) {
+                logger.error("Failed to call cfSetHubTagName :", error);
+                return toErrorJson(AsyncUtil.toRestClientException(error));
+            }
+            logger.info("Successfully called cfSetHubTagName DLL: (Success: {}, ErrorMessage: {} )", cfSetHubTagNameResponse.getSuccess(), cfSetHubTagNameResponse.getError());
+            return toJson(cfSetHubTagNameResponse);
+        });
+    }
+
+    /**
+     * Calls cfSetHubTagName and drops the hub's cached responses once the call has completed.
+     */
+    private CompletableFuture<CfSetHubTagNameResponse> setHubTagName(CfSetHubTagNameRequest cfSetHubTagNameRequest,
+                                                                   Deadline deadline) {
+        int hubId = cfSetHubTagNameRequest.getHubId();
+        return vLiteConfigApiClient.cfSetHubTagNameAsync(cfSetHubTagNameRequest, deadline)
+                .whenComplete((cfSetHubTagNameResponse, error) -> {
+                    ResponseCache responseCache = vLiteConfigApiClient.getConfig().getResponseCache();
+                    if (responseCache != null) {
+                        responseCache.invalidateHub(hubId);
+                    }
+                });
+    }
+
+    /**
+     * Serializes a response inside a future pipeline.
+     */
+    private String toJson(Object response) {
+        try {
+            JsonUtil jsonUtil = new JsonUtil();
+            return jsonUtil.toJson(response);
+        } catch (RestClientException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Builds the JSON error response for a failed client call.
+     */
+    private String toErrorJson(RestClientException e) {
+        ErrorResponse errorResponse = new ErrorResponse(false, e.getErrorCode(), e.getMessage());
+        return toJson(errorResponse);
+    }
 }
@@ -1,32 +1,176 @@
 package system.score.vms;
 
 import org.python.modules._codecs;
+import system.score.vms.cache.ResponseCache;
+import system.score.vms.config.ExecutorMode;
+import system.score.vms.config.HttpProtocol;
 import system.score.vms.config.PropertyLoader;
 import system.score.vms.config.RestClientConfig;
+import system.score.vms.client.ConnectionWarmer;
+import system.score.vms.client.OperationClass;
+import system.score.vms.client.TelemetryListener;
+import system.score.vms.client.TelemetrySubscription;
+import system.score.vms.resilience.AdaptiveConcurrencyLimiter;
+import system.score.vms.resilience.BridgeBalancer;
+import system.score.vms.resilience.BulkheadRegistry;
+import system.score.vms.resilience.CircuitBreaker;
+import system.score.vms.resilience.CircuitBreakerRegistry;
+import system.score.vms.resilience.DecorrelatedJitterRetryPolicy;
+import system.score.vms.resilience.HedgingPolicy;
+import system.score.vms.resilience.RateLimiterRegistry;
+import system.score.vms.resilience.TokenBucketRateLimiter;
+import system.score.vms.resilience.RetryBudget;
+import system.score.vms.service.AdaptivePollingPolicy;
+import system.score.vms.service.HubSession;
 import system.score.vms.service.VLiteCommonService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import system.score.vms.service.VLiteConfigService;
+import system.score.vms.utils.ClientMetrics;
+import system.score.vms.utils.Deadline;
+import system.score.vms.utils.JsonUtil;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class VLiteMain {
     private static final Logger logger = LoggerFactory.getLogger(VLiteMain.class);
+    private static final String[] OPERATIONS = {"initialize", "connect", "vcGetHubTemp", "disconnect",
+            "vcGetHubIPDetails", "vcGetHubUtil", "vcGetHubStartUp", "cfSetHubTagName"};
+    private static final String[] POLLED_METRICS = {"vcGetHubTemp", "vcGetHubUtil", "vcGetHubStartUp"};
     private  VLiteCommonService vLiteCommonService;
     private VLiteConfigService vLiteConfigService;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private BridgeBalancer bridgeBalancer;
+    private ResponseCache responseCache;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private ConnectionWarmer connectionWarmer;
+    private Duration defaultDeadline;
 
     public VLiteMain() {
 
         try{
+            List<String> baseUrls = Arrays.stream(PropertyLoader.get("api.base.url","http://localhost:5000").split(","))
+                    .map(String::trim).filter(url -> !url.isEmpty()).toList();
             RestClientConfig config = new RestClientConfig(
-                    PropertyLoader.get("api.base.url","http://localhost:5000"),
+                    baseUrls,
                     PropertyLoader.get("api.key", "default-api-key"),
                     Duration.ofMillis(PropertyLoader.getLong("http.client.connect.timeout", 30)),
                     Duration.ofMillis(PropertyLoader.getLong("http.client.request.timeout", 30)),
                     PropertyLoader.getInt("http.client.max.retries", 3),
                     PropertyLoader.getBoolean("logging.request.enabled", true));
+            config.setHttpProtocol(HttpProtocol.fromString(PropertyLoader.get("http.client.protocol", "H2C")));
+            config.setCompressionEnabled(PropertyLoader.getBoolean("http.client.compression.enabled", true));
+            if (PropertyLoader.getBoolean("http.client.compression.request.enabled", false)) {
+                config.setRequestCompressionThreshold(
+                        PropertyLoader.getInt("http.client.compression.request.threshold", 8192));
+            }
+            config.setConditionalRequestsEnabled(PropertyLoader.getBoolean("http.client.conditional.enabled", true));
+            config.setDefaultDeadline(Duration.ofMillis(PropertyLoader.getLong("http.client.deadline.default", 0)));
+            this.defaultDeadline = config.getDefaultDeadline();
+            config.setBatchMaxSize(PropertyLoader.getInt("http.client.batch.max.size", 100));
+            config.setFanOutMaxConcurrency(PropertyLoader.getInt("http.client.fanout.max.concurrent", 16));
+            config.setExecutorMode(ExecutorMode.fromString(PropertyLoader.get("http.client.executor.mode", "DEFAULT")));
+            config.setExecutorThreads(PropertyLoader.getInt("http.client.executor.threads", config.getExecutorThreads()));
+            config.setExecutorQueueCapacity(PropertyLoader.getInt("http.client.executor.queue.capacity", config.getExecutorQueueCapacity()));
+            config.setRetryPolicy(new DecorrelatedJitterRetryPolicy(
+                    Duration.ofMillis(PropertyLoader.getLong("http.client.retry.base.delay", 100)),
+                    Duration.ofMillis(PropertyLoader.getLong("http.client.retry.max.delay", 5000))));
+            config.setSessionReconnectPolicy(new DecorrelatedJitterRetryPolicy(
+                    Duration.ofMillis(PropertyLoader.getLong("session.reconnect.base.delay", 1000)),
+                    Duration.ofMillis(PropertyLoader.getLong("session.reconnect.max.delay", 60000))));
+            config.setSessionReconnectMaxAttempts(PropertyLoader.getInt("session.reconnect.max.attempts", 10));
+            config.setSubscriptionReconnectPolicy(new DecorrelatedJitterRetryPolicy(
+                    Duration.ofMillis(PropertyLoader.getLong("subscription.reconnect.base.delay", 1000)),
+                    Duration.ofMillis(PropertyLoader.getLong("subscription.reconnect.max.delay", 30000))));
+            config.setSubscriptionIdleTimeout(Duration.ofMillis(PropertyLoader.getLong("subscription.idle.timeout", 45000)));
+            config.setSubscriptionFallbackInterval(Duration.ofMillis(PropertyLoader.getLong("subscription.fallback.interval", 10000)));
+            config.setPollingTickDuration(Duration.ofMillis(PropertyLoader.getLong("polling.tick", 100)));
+            config.setPollingWheelSize(PropertyLoader.getInt("polling.wheel.size", 512));
+            config.setRetryBudget(new RetryBudget(
+                    PropertyLoader.getDouble("http.client.retry.budget.ratio", 0.1),
+                    PropertyLoader.getInt("http.client.retry.budget.min.per.second", 1),
+                    Duration.ofSeconds(PropertyLoader.getLong("http.client.retry.budget.window", 10))));
+            this.circuitBreakerRegistry = new CircuitBreakerRegistry(
+                    PropertyLoader.getInt("http.client.circuit.window.size", 20),
+                    PropertyLoader.getInt("http.client.circuit.minimum.calls", 5),
+                    PropertyLoader.getDouble("http.client.circuit.failure.rate.threshold", 50),
+                    Duration.ofMillis(PropertyLoader.getLong("http.client.circuit.open.duration", 30000)),
+                    PropertyLoader.getInt("http.client.circuit.half.open.calls", 1));
+            config.setCircuitBreakerRegistry(circuitBreakerRegistry);
+            if (baseUrls.size() > 1) {
+                this.bridgeBalancer = new BridgeBalancer(baseUrls,
+                        PropertyLoader.getInt("bridge.outlier.window.size", 20),
+                        PropertyLoader.getInt("bridge.outlier.minimum.calls", 10),
+                        PropertyLoader.getDouble("bridge.outlier.failure.rate.threshold", 50),
+                        PropertyLoader.getInt("bridge.outlier.consecutive.failures", 5),
+                        PropertyLoader.getDouble("bridge.outlier.latency.factor", 3),
+                        Duration.ofMillis(PropertyLoader.getLong("bridge.outlier.ejection.base", 30000)),
+                        Duration.ofMillis(PropertyLoader.getLong("bridge.outlier.ejection.max", 300000)),
+                        PropertyLoader.getDouble("bridge.outlier.max.ejected.percent", 50));
+                config.setBridgeBalancer(bridgeBalancer);
+            }
+            if (PropertyLoader.getBoolean("http.client.hedge.enabled", false)) {
+                config.setHedgingPolicy(new HedgingPolicy(
+                        PropertyLoader.getDouble("http.client.hedge.percentile", 95),
+                        PropertyLoader.getInt("http.client.hedge.min.samples", 20),
+                        Duration.ofMillis(PropertyLoader.getLong("http.client.hedge.min.delay", 50)),
+                        PropertyLoader.getDouble("http.client.hedge.max.ratio", 0.05),
+                        Duration.ofSeconds(PropertyLoader.getLong("http.client.hedge.window", 10))));
+            }
+            if (PropertyLoader.getBoolean("http.client.limiter.enabled", true)) {
+                this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(
+                        PropertyLoader.getInt("http.client.limiter.initial", 10),
+                        PropertyLoader.getInt("http.client.limiter.min", 2),
+                        PropertyLoader.getInt("http.client.limiter.max", 200),
+                        PropertyLoader.getInt("http.client.limiter.max.queued", 500));
+                config.setConcurrencyLimiter(concurrencyLimiter);
+            }
+            RateLimiterRegistry rateLimiterRegistry = new RateLimiterRegistry();
+            Duration rateLimitMaxWait = Duration.ofMillis(PropertyLoader.getLong("http.client.ratelimit.max.wait", 30000));
+            for (String operation : OPERATIONS) {
+                String prefix = "http.client.ratelimit." + operation;
+                rateLimiterRegistry.configure(operation,
+                        PropertyLoader.getDouble(prefix + ".rate", 0),
+                        PropertyLoader.getInt(prefix + ".burst", 1),
+                        TokenBucketRateLimiter.Mode.fromString(PropertyLoader.get(prefix + ".mode", "WAIT")),
+                        rateLimitMaxWait);
+            }
+            config.setRateLimiterRegistry(rateLimiterRegistry);
+            BulkheadRegistry bulkheadRegistry = new BulkheadRegistry();
+            for (OperationClass operationClass : OperationClass.values()) {
+                String prefix = "http.client.bulkhead." + operationClass.name().toLowerCase();
+                bulkheadRegistry.configure(operationClass,
+                        PropertyLoader.getInt(prefix + ".max.concurrent", 16),
+                        PropertyLoader.getInt(prefix + ".max.queued", 100));
+            }
+            config.setBulkheadRegistry(bulkheadRegistry);
+            this.responseCache = new ResponseCache(PropertyLoader.getInt("cache.response.max.entries", 1000));
+            for (String operation : OPERATIONS) {
+                responseCache.setTtl(operation,
+                        Duration.ofMillis(PropertyLoader.getLong("cache.response.ttl." + operation, 0)));
+            }
+            config.setResponseCache(responseCache);
             this.vLiteCommonService = new VLiteCommonService(config);
+            for (String metric : POLLED_METRICS) {
+                String prefix = "polling.adaptive." + metric;
+                if (PropertyLoader.getBoolean(prefix + ".enabled", false)) {
+                    vLiteCommonService.getPoller().setAdaptivePolicy(metric, new AdaptivePollingPolicy(
+                            Duration.ofMillis(PropertyLoader.getLong(prefix + ".min.interval", 1000)),
+                            Duration.ofMillis(PropertyLoader.getLong(prefix + ".max.interval", 60000)),
+                            PropertyLoader.getDouble(prefix + ".resolution", 1),
+                            PropertyLoader.getDouble(prefix + ".alarm.low", Double.NaN),
+                            PropertyLoader.getDouble(prefix + ".alarm.high", Double.NaN)));
+                }
+            }
             this.vLiteConfigService = new VLiteConfigService(config);
+            if (PropertyLoader.getBoolean("http.client.warmup.enabled", true)) {
+                this.connectionWarmer = new ConnectionWarmer(config,
+                        PropertyLoader.get("http.client.warmup.path", "/api/vlite/health"));
+            }
         }
         catch(Exception e ){
             logger.error("Failed to load application properties", e);
@@ -34,9 +178,42 @@ public class VLiteMain {
 
     }
 
+    /**
+     * Opens connections to the bridge and starts the keep-alive that holds them open.
+     * Runs in the background; called from the gateway hook on startup.
+     */
+    public void warmUp() {
+        if (connectionWarmer == null) {
+            return;
+        }
+        connectionWarmer.warmUp(PropertyLoader.getInt("http.client.warmup.connections", 4))
+                .whenComplete((reached, error) -> connectionWarmer.startKeepAlive(
+                        Duration.ofMillis(PropertyLoader.getLong("http.client.keepalive.interval", 20000)),
+                        PropertyLoader.getInt("http.client.keepalive.connections", 2)));
+    }
+
+    /**
+     * Releases the HTTP clients held by the services. Called from the gateway hook on shutdown.
+     */
+    public void shutdown() {
+        if (connectionWarmer != null) {
+            connectionWarmer.close();
+        }
+        if (vLiteCommonService != null) {
+            vLiteCommonService.close();
+        }
+        if (vLiteConfigService != null) {
+            vLiteConfigService.close();
+        }
+    }
+
     public String vcInitialize(String licenseKey, int versionMajor, int versionMinor) {
+        return vcInitialize(licenseKey, versionMajor, versionMinor, 0);
+    }
+
+    public String vcInitialize(String licenseKey, int versionMajor, int versionMinor, long timeoutMillis) {
         try {
-            String response = vLiteCommonService.initialize(licenseKey, versionMajor, versionMinor);
+            String response = vLiteCommonService.initialize(licenseKey, versionMajor, versionMinor, deadline(timeoutMillis));
             logger.info("Initialize API invoked successfully: {}", response);
             return response;
         } catch (Exception e) {
@@ -46,8 +223,12 @@ public class VLiteMain {
     }
 
     public String vcConnect(String ipAddress, int port, String password, boolean readOnly) {
+        return vcConnect(ipAddress, port, password, readOnly, 0);
+    }
+
+    public String vcConnect(String ipAddress, int port, String password, boolean readOnly, long timeoutMillis) {
         try {
-            String response = vLiteCommonService.connect(ipAddress, port, password, readOnly);
+            String response = vLiteCommonService.connect(ipAddress, port, password, readOnly, deadline(timeoutMillis));
             logger.info("Connect API invoked successfully: {}", response);
             return response;
         } catch (Exception e) {
@@ -57,8 +238,12 @@ public class VLiteMain {
     }
 
     public String vcGetHubTemp(int hubId) {
+        return vcGetHubTemp(hubId, 0);
+    }
+
+    public String vcGetHubTemp(int hubId, long timeoutMillis) {
         try {
-            String response = vLiteCommonService.vcGetHubTemp(hubId);
+            String response = vLiteCommonService.vcGetHubTemp(hubId, deadline(timeoutMillis));
             logger.info("Temperature API invoked successfully: {}", response);
             return response;
         } catch (Exception e) {
@@ -68,8 +253,12 @@ public class VLiteMain {
     }
 
     public String vcDisconnect(int hubId) {
+        return vcDisconnect(hubId, 0);
+    }
+
+    public String vcDisconnect(int hubId, long timeoutMillis) {
         try {
-            String response = vLiteCommonService.disconnect(hubId);
+            String response = vLiteCommonService.disconnect(hubId, deadline(timeoutMillis));
             logger.info("Disconnect API invoked successfully: {}", response);
             return response;
         } catch (Exception e) {
@@ -79,8 +268,12 @@ public class VLiteMain {
     }
 
     public String vcGetHubIPDetails(int hubId) {
+        return vcGetHubIPDetails(hubId, 0);
+    }
+
+    public String vcGetHubIPDetails(int hubId, long timeoutMillis) {
         try {
-            String response = vLiteCommonService.getHubIPDetails(hubId);
+            String response = vLiteCommonService.getHubIPDetails(hubId, deadline(timeoutMillis));
             logger.info("vcGetHubIPDetails API invoked successfully: {}", response);
             return response;
         } catch (Exception e) {
@@ -90,8 +283,12 @@ public class VLiteMain {
     }
 
     public String cfSetHubTagName(int hubId, String tagName) {
+        return cfSetHubTagName(hubId, tagName, 0);
+    }
+
+    public String cfSetHubTagName(int hubId, String tagName, long timeoutMillis) {
         try {
-            String response = vLiteConfigService.cfSetHubTagName(hubId, tagName);
+            String response = vLiteConfigService.cfSetHubTagName(hubId, tagName, deadline(timeoutMillis));
             logger.info("cfSetHubTagName API invoked successfully: {}", response);
             return response;
         } catch (Exception e) {
@@ -101,8 +298,12 @@ public class VLiteMain {
     }
 
     public String vcGetHubUtil(int hubId) {
+        return vcGetHubUtil(hubId, 0);
+    }
+
+    public String vcGetHubUtil(int hubId, long timeoutMillis) {
         try {
-            String response = vLiteCommonService.vcGetHubUtil(hubId);
+            String response = vLiteCommonService.vcGetHubUtil(hubId, deadline(timeoutMillis));
             logger.info("vcGetHubUtil API invoked successfully: {}", response);
             return response;
         } catch (Exception e) {
@@ -112,8 +313,12 @@ public class VLiteMain {
     }
 
     public String vcGetHubStartUp(int hubId) {
+        return vcGetHubStartUp(hubId, 0);
+    }
+
+    public String vcGetHubStartUp(int hubId, long timeoutMillis) {
         try {
-            String response = vLiteCommonService.vcGetHubStartUp(hubId);
+            String response = vLiteCommonService.vcGetHubStartUp(hubId, deadline(timeoutMillis));
             logger.info("vcGetHubStartUp API invoked successfully: {}", response);
             return response;
         } catch (Exception e) {
@@ -122,6 +327,447 @@ public class VLiteMain {
         }
     }
 
+    public CompletableFuture<String> vcInitializeAsync(String licenseKey, int versionMajor, int versionMinor) {
+        return vcInitializeAsync(licenseKey, versionMajor, versionMinor, 0);
+    }
+
+    public CompletableFuture<String> vcInitializeAsync(String licenseKey, int versionMajor, int versionMinor, long timeoutMillis) {
+        return vLiteCommonService.initializeAsync(licenseKey, versionMajor, versionMinor, deadline(timeoutMillis))
+                .exceptionally(e -> {
+                    logger.error("Error invoking initialize API", e);
+                    return "Error: " + e.getMessage();
+                });
+    }
+
+    public CompletableFuture<String> vcConnectAsync(String ipAddress, int port, String password, boolean readOnly) {
+        return vcConnectAsync(ipAddress, port, password, readOnly, 0);
+    }
+
+    public CompletableFuture<String> vcConnectAsync(String ipAddress, int port, String password, boolean readOnly, long timeoutMillis) {
+        return vLiteCommonService.connectAsync(ipAddress, port, password, readOnly, deadline(timeoutMillis))
+                .exceptionally(e -> {
+                    logger.error("Error invoking connect API", e);
+                    return "Error: " + e.getMessage();
+                });
+    }
+
+    public CompletableFuture<String> vcGetHubTempAsync(int hubId) {
+        return vcGetHubTempAsync(hubId, 0);
+    }
+
+    public CompletableFuture<String> vcGetHubTempAsync(int hubId, long timeoutMillis) {
+        return vLiteCommonService.vcGetHubTempAsync(hubId, deadline(timeoutMillis))
+                .exceptionally(e -> {
+                    logger.error("Error invoking temperature API", e);
+                    return "Error: " + e.getMessage();
+                });
+    }
+
+    public CompletableFuture<String> vcDisconnectAsync(int hubId) {
+        return vcDisconnectAsync(hubId, 0);
+    }
+
+    public CompletableFuture<String> vcDisconnectAsync(int hubId, long timeoutMillis) {
+        return vLiteCommonService.disconnectAsync(hubId, deadline(timeoutMillis))
+                .exceptionally(e -> {
+                    logger.error("Error invoking disconnect API", e);
+                    return "Error: " + e.getMessage();
+                });
+    }
+
+    public CompletableFuture<String> vcGetHubIPDetailsAsync(int hubId) {
+        return vcGetHubIPDetailsAsync(hubId, 0);
+    }
+
+    public CompletableFuture<String> vcGetHubIPDetailsAsync(int hubId, long timeoutMillis) {
+        return vLiteCommonService.getHubIPDetailsAsync(hubId, deadline(timeoutMillis))
+                .exceptionally(e -> {
+                    logger.error("Error invoking vcGetHubIPDetails API", e);
+                    return "Error: " + e.getMessage();
+                });
+    }
+
+    public CompletableFuture<String> cfSetHubTagNameAsync(int hubId, String tagName) {
+        return cfSetHubTagNameAsync(hubId, tagName, 0);
+    }
+
+    public CompletableFuture<String> cfSetHubTagNameAsync(int hubId, String tagName, long timeoutMillis) {
+        return vLiteConfigService.cfSetHubTagNameAsync(hubId, tagName, deadline(timeoutMillis))
+                .exceptionally(e -> {
+                    logger.error("Error invoking cfSetHubTagName API", e);
+                    return "Error: " + e.getMessage();
+                });
+    }
+
+    public CompletableFuture<String> vcGetHubUtilAsync(int hubId) {
+        return vcGetHubUtilAsync(hubId, 0);
+    }
+
+    public CompletableFuture<String> vcGetHubUtilAsync(int hubId, long timeoutMillis) {
+        return vLiteCommonService.vcGetHubUtilAsync(hubId, deadline(timeoutMillis))
+                .exceptionally(e -> {
+                    logger.error("Error invoking vcGetHubUtil API", e);
+                    return "Error: " + e.getMessage();
+                });
+    }
+
+    public CompletableFuture<String> vcGetHubStartUpAsync(int hubId) {
+        return vcGetHubStartUpAsync(hubId, 0);
+    }
+
+    public CompletableFuture<String> vcGetHubStartUpAsync(int hubId, long timeoutMillis) {
+        return vLiteCommonService.vcGetHubStartUpAsync(hubId, deadline(timeoutMillis))
+                .exceptionally(e -> {
+                    logger.error("Error invoking vcGetHubStartUp API", e);
+                    return "Error: " + e.getMessage();
+                });
+    }
+
+    public String vcGetHubTempMany(int[] hubIds) {
+        return vcGetHubTempMany(hubIds, 0);
+    }
+
+    public String vcGetHubTempMany(int[] hubIds, long timeoutMillis) {
+        try {
+            String response = vLiteCommonService.vcGetHubTempMany(hubIds, deadline(timeoutMillis));
+            logger.info("temperature API invoked successfully for {} hubs", hubIds.length);
+            return response;
+        } catch (Exception e) {
+            logger.error("Error invoking temperature API for many hubs", e);
+            return "Error: " + e.getMessage();
+        }
+    }
+
+    public CompletableFuture<String> vcGetHubTempManyAsync(int[] hubIds) {
+        return vcGetHubTempManyAsync(hubIds, 0);
+    }
+
+    public CompletableFuture<String> vcGetHubTempManyAsync(int[] hubIds, long timeoutMillis) {
+        return vLiteCommonService.vcGetHubTempManyAsync(hubIds, deadline(timeoutMillis))
+                .exceptionally(e -> {
+                    logger.error("Error invoking temperature API for many hubs", e);
+                    return "Error: " + e.getMessage();
+                });
+    }
+
+    public String vcGetHubIPDetailsMany(int[] hubIds) {
+        return vcGetHubIPDetailsMany(hubIds, 0);
+    }
+
+    public String vcGetHubIPDetailsMany(int[] hubIds, long timeoutMillis) {
+        try {
+            String response = vLiteCommonService.getHubIPDetailsMany(hubIds, deadline(timeoutMillis));
+            logger.info("vcGetHubIPDetails API invoked successfully for {} hubs", hubIds.length);
+            return response;
+        } catch (Exception e) {
+            logger.error("Error invoking vcGetHubIPDetails API for many hubs", e);
+            return "Error: " + e.getMessage();
+        }
+    }
+
+    public CompletableFuture<String> vcGetHubIPDetailsManyAsync(int[] hubIds) {
+        return vcGetHubIPDetailsManyAsync(hubIds, 0);
+    }
+
+    public CompletableFuture<String> vcGetHubIPDetailsManyAsync(int[] hubIds, long timeoutMillis) {
+        return vLiteCommonService.getHubIPDetailsManyAsync(hubIds, deadline(timeoutMillis))
+                .exceptionally(e -> {
+                    logger.error("Error invoking vcGetHubIPDetails API for many hubs", e);
+                    return "Error: " + e.getMessage();
+                });
+    }
+
+    public String vcGetHubUtilMany(int[] hubIds) {
+        return vcGetHubUtilMany(hubIds, 0);
+    }
+
+    public String vcGetHubUtilMany(int[] hubIds, long timeoutMillis) {
+        try {
+            String response = vLiteCommonService.vcGetHubUtilMany(hubIds, deadline(timeoutMillis));
+            logger.info("vcGetHubUtil API invoked successfully for {} hubs", hubIds.length);
+            return response;
+        } catch (Exception e) {
+            logger.error("Error invoking vcGetHubUtil API for many hubs", e);
+            return "Error: " + e.getMessage();
+        }
+    }
+
+    public CompletableFuture<String> vcGetHubUtilManyAsync(int[] hubIds) {
+        return vcGetHubUtilManyAsync(hubIds, 0);
+    }
+
+    public CompletableFuture<String> vcGetHubUtilManyAsync(int[] hubIds, long timeoutMillis) {
+        return vLiteCommonService.vcGetHubUtilManyAsync(hubIds, deadline(timeoutMillis))
+                .exceptionally(e -> {
+                    logger.error("Error invoking vcGetHubUtil API for many hubs", e);
+                    return "Error: " + e.getMessage();
+                });
+    }
+
+    public String vcGetHubStartUpMany(int[] hubIds) {
+        return vcGetHubStartUpMany(hubIds, 0);
+    }
+
+    public String vcGetHubStartUpMany(int[] hubIds, long timeoutMillis) {
+        try {
+            String response = vLiteCommonService.vcGetHubStartUpMany(hubIds, deadline(timeoutMillis));
+            logger.info("vcGetHubStartUp API invoked successfully for {} hubs", hubIds.length);
+            return response;
+        } catch (Exception e) {
+            logger.error("Error invoking vcGetHubStartUp API for many hubs", e);
+            return "Error: " + e.getMessage();
+        }
+    }
+
+    public CompletableFuture<String> vcGetHubStartUpManyAsync(int[] hubIds) {
+        return vcGetHubStartUpManyAsync(hubIds, 0);
+    }
+
+    public CompletableFuture<String> vcGetHubStartUpManyAsync(int[] hubIds, long timeoutMillis) {
+        return vLiteCommonService.vcGetHubStartUpManyAsync(hubIds, deadline(timeoutMillis))
+                .exceptionally(e -> {
+                    logger.error("Error invoking vcGetHubStartUp API for many hubs", e);
+                    return "Error: " + e.getMessage();
+                });
+    }
+
+    /**
+     * Starts the deadline for a script call. Each overload taking {@code timeoutMillis} bounds the
+     * whole call, including queueing, retries and backoff, by that time; 0 or less falls back to
+     * the configured default deadline.
+     */
+    private Deadline deadline(long timeoutMillis) {
+        if (timeoutMillis > 0) {
+            return Deadline.ofMillis(timeoutMillis);
+        }
+        return defaultDeadline != null ? Deadline.after(defaultDeadline) : Deadline.none();
+    }
+
+    /**
+     * Drops every cached response for a hub, forcing the next reads to go to the bridge.
+     */
+    public void invalidateHubCache(int hubId) {
+        if (responseCache != null) {
+            responseCache.invalidateHub(hubId);
+        }
+    }
+
+    /**
+     * Checks whether a hub has a live session, as last seen by the session manager.
+     */
+    public boolean isHubConnected(int hubId) {
+        return vLiteCommonService != null && vLiteCommonService.getSessionManager().isConnected(hubId);
+    }
+
+    /**
+     * Returns the JSON session of a hub (state, connection key, reconnect attempts), or null if it has none.
+     */
+    public String getHubSession(int hubId) {
+        try {
+            HubSession session = vLiteCommonService.getSessionManager().getSession(hubId);
+            return session != null ? new JsonUtil().toJson(session) : null;
+        } catch (Exception e) {
+            logger.error("Error reading hub session", e);
+            return "Error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Returns a JSON array of every hub session, including those still connecting or failed.
+     */
+    public String getHubSessions() {
+        try {
+            return new JsonUtil().toJson(vLiteCommonService.getSessionManager().getSessions());
+        } catch (Exception e) {
+            logger.error("Error reading hub sessions", e);
+            return "Error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Subscribes to temperature and utilisation samples pushed by the bridge. A script passes an
+     * object implementing TelemetryListener; its onEvent is called for every sample, on client
+     * threads, and must return quickly. The subscription falls back to polling while the
+     * bridge's stream is unavailable.
+     *
+     * @return Open subscription, to be closed when no longer needed, or null if it could not be created
+     */
+    public TelemetrySubscription subscribeHubTelemetry(int[] hubIds, TelemetryListener listener) {
+        try {
+            return vLiteCommonService.subscribeHubTelemetry(hubIds, listener);
+        } catch (Exception e) {
+            logger.error("Error subscribing to hub telemetry", e);
+            return null;
+        }
+    }
+
+    /**
+     * Starts background polling of vcGetHubTemp, vcGetHubUtil and vcGetHubStartUp for the given
+     * hubs, each at its configured {@code polling.interval.<operation>}; an interval of 0 leaves
+     * that metric unpolled. Replaces the per-metric timer scripts: polls are spread evenly over
+     * the interval and scripts read the latest values with getPolledResult.
+     *
+     * @return Number of schedules started or updated
+     */
+    public int startPolling(int[] hubIds) {
+        int started = 0;
+        for (String metric : POLLED_METRICS) {
+            long intervalMillis = PropertyLoader.getLong("polling.interval." + metric, 0);
+            if (intervalMillis > 0) {
+                started += startPolling(metric, hubIds, intervalMillis);
+            }
+        }
+        return started;
+    }
+
+    /**
+     * Starts polling one metric for the given hubs at the given interval, or changes the
+     * interval of hubs already polled.
+     *
+     * @return Number of schedules started or updated
+     */
+    public int startPolling(String metric, int[] hubIds, long intervalMillis) {
+        int started = 0;
+        try {
+            for (int hubId : hubIds) {
+                vLiteCommonService.getPoller().schedule(metric, hubId, Duration.ofMillis(intervalMillis));
+                started++;
+            }
+        } catch (Exception e) {
+            logger.error("Error starting polling of {}", metric, e);
+        }
+        return started;
+    }
+
+    /**
+     * Stops polling one metric for the given hubs.
+     */
+    public void stopPolling(String metric, int[] hubIds) {
+        for (int hubId : hubIds) {
+            vLiteCommonService.getPoller().unschedule(metric, hubId);
+        }
+    }
+
+    /**
+     * Stops polling every metric of a hub, e.g. before disconnecting it.
+     */
+    public void stopPollingHub(int hubId) {
+        vLiteCommonService.getPoller().unscheduleHub(hubId);
+    }
+
+    public void stopAllPolling() {
+        vLiteCommonService.getPoller().unscheduleAll();
+    }
+
+    /**
+     * Returns the JSON latest result of a polled metric (success, response, error, polledAt,
+     * consecutiveFailures), or null if it is not polled or has not been polled yet. After a
+     * failed poll the response is the last successful one.
+     */
+    public String getPolledResult(String metric, int hubId) {
+        try {
+            Object result = vLiteCommonService.getPoller().getResult(metric, hubId);
+            return result != null ? new JsonUtil().toJson(result) : null;
+        } catch (Exception e) {
+            logger.error("Error reading polled result", e);
+            return "Error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Gets the interval a hub's metric is currently polled at, which follows the value when the
+     * metric is polled adaptively, or -1 if it is not polled.
+     */
+    public long getPollingInterval(String metric, int hubId) {
+        Duration interval = vLiteCommonService.getPoller().getInterval(metric, hubId);
+        return interval != null ? interval.toMillis() : -1;
+    }
+
+    /**
+     * Gets the requests per second the poller currently sends the bridge across all hubs and
+     * metrics, before cache hits.
+     */
+    public double getPollingRequestRate() {
+        return vLiteCommonService != null ? vLiteCommonService.getPoller().getRequestRate() : 0;
+    }
+
+    /**
+     * Returns a JSON array of the latest results of a metric for every polled hub.
+     */
+    public String getPolledResults(String metric) {
+        try {
+            return new JsonUtil().toJson(vLiteCommonService.getPoller().getResults(metric));
+        } catch (Exception e) {
+            logger.error("Error reading polled results", e);
+            return "Error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Gets the number of requests currently allowed in flight to the bridge, as learned by the
+     * adaptive concurrency limiter, or -1 when the limiter is disabled.
+     */
+    public int getConcurrencyLimit() {
+        return concurrencyLimiter != null ? concurrencyLimiter.getLimit() : -1;
+    }
+
+    /**
+     * Gets the circuit breaker state of a hub: CLOSED, OPEN or HALF_OPEN.
+     * Scripts can use this to skip hubs that are known to be unreachable.
+     */
+    public String getHubCircuitState(int hubId) {
+        if (circuitBreakerRegistry == null) {
+            return CircuitBreaker.State.CLOSED.name();
+        }
+        return circuitBreakerRegistry.getHubState(hubId).name();
+    }
+
+    /**
+     * Checks whether calls to a hub are currently allowed through its circuit breaker.
+     */
+    public boolean isHubAvailable(int hubId) {
+        return !CircuitBreaker.State.OPEN.name().equals(getHubCircuitState(hubId));
+    }
+
+    /**
+     * Returns a JSON map of every circuit breaker (hub:&lt;id&gt; and endpoint:&lt;operation&gt;) to its state.
+     */
+    public String getCircuitBreakerStates() {
+        try {
+            return new JsonUtil().toJson(circuitBreakerRegistry != null
+                    ? circuitBreakerRegistry.snapshot() : Collections.emptyMap());
+        } catch (Exception e) {
+            logger.error("Error reading circuit breaker states", e);
+            return "Error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Returns a JSON map of every bridge to its availability, outstanding calls, failure rate,
+     * latency and number of hubs, or an empty map when a single bridge is configured.
+     */
+    public String getBridgeStates() {
+        try {
+            return new JsonUtil().toJson(bridgeBalancer != null
+                    ? bridgeBalancer.snapshot() : Collections.emptyMap());
+        } catch (Exception e) {
+            logger.error("Error reading bridge states", e);
+            return "Error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Returns a JSON snapshot of the client metrics (transport thread counts, etc.).
+     */
+    public String getClientMetrics() {
+        try {
+            return new JsonUtil().toJson(ClientMetrics.snapshot());
+        } catch (Exception e) {
+            logger.error("Error reading client metrics", e);
+            return "Error: " + e.getMessage();
+        }
+    }
+
     public static void main(String[] args){
         VLiteMain vLiteMain = new VLiteMain();
         String result = vLiteMain.vcConnect("10.23.121.10",10,"",false);
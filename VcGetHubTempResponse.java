@@ -10,7 +10,7 @@ public class VcGetHubTempResponse {
     private Boolean success;
 
     @JsonProperty("data")
-    private VcGetHubTempResponse vcConnectDataResponse;
+    private VcGetHubTempDataResponse vcGetHubTempDataResponse;
 
     @JsonProperty("error")
     private String error;
@@ -26,12 +26,12 @@ public class VcGetHubTempResponse {
         this.success = success;
     }
 
-    public VcGetHubTempResponse getVcConnectDataResponse() {
-        return vcConnectDataResponse;
+    public VcGetHubTempDataResponse getVcGetHubTempDataResponse() {
+        return vcGetHubTempDataResponse;
     }
 
-    public void setVcConnectDataResponse(VcGetHubTempResponse vcConnectDataResponse) {
-        this.vcConnectDataResponse = vcConnectDataResponse;
+    public void setVcGetHubTempDataResponse(VcGetHubTempDataResponse vcGetHubTempDataResponse) {
+        this.vcGetHubTempDataResponse = vcGetHubTempDataResponse;
     }
 
     public String getError() {
@@ -54,7 +54,7 @@ public class VcGetHubTempResponse {
     public String toString() {
         return "VcGetHubTempResponse{" +
                 "success=" + success +
-                ", vcConnectDataResponse=" + vcConnectDataResponse +
+                ", vcGetHubTempDataResponse=" + vcGetHubTempDataResponse +
                 ", error='" + error + '\'' +
                 ", timestamp='" + timestamp + '\'' +
                 '}';
@@ -64,11 +64,11 @@ public class VcGetHubTempResponse {
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         VcGetHubTempResponse that = (VcGetHubTempResponse) o;
-        return Objects.equals(success, that.success) && Objects.equals(vcConnectDataResponse, that.vcConnectDataResponse) && Objects.equals(error, that.error) && Objects.equals(timestamp, that.timestamp);
+        return Objects.equals(success, that.success) && Objects.equals(vcGetHubTempDataResponse, that.vcGetHubTempDataResponse) && Objects.equals(error, that.error) && Objects.equals(timestamp, that.timestamp);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(success, vcConnectDataResponse, error, timestamp);
+        return Objects.hash(success, vcGetHubTempDataResponse, error, timestamp);
     }
 }
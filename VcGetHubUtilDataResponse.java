@@ -19,5 +19,35 @@ public class VcGetHubUtilDataResponse {
     @JsonProperty("errorMessage")
     private String errorMessage;
 
+    public int getHubId() {
+        return hubId;
+    }
 
+    public void setHubId(int hubId) {
+        this.hubId = hubId;
+    }
+
+    public String getUtilisation() {
+        return utilisation;
+    }
+
+    public void setUtilisation(String utilisation) {
+        this.utilisation = utilisation;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
 }